@@ -24,25 +24,36 @@ public class ScoreCalculator {
 
         for (Piece colocada : piezasColocadas) {
             if (idsCorrectas.contains(colocada.getId())) {
-                score += switch (colocada.getLevel()) {
-                    case 1 -> 50;
-                    case 2 -> 100;
-                    case 3 -> 150;
-                    case 4 -> 200;
-                    default -> 0;
-                };
-
-                if (colocada.isSpecial()) {
-                    score += 200;
-                }
-                if (colocada.isComboVisual()) {
-                    score += 100;
-                }
+                score += pieceScore(colocada);
             } else {
                 score -= 30;
             }
         }
 
+        return finalScore(score, errores, duration, primeraVezCompletado);
+    }
+
+    public static int pieceScore(Piece pieza) {
+        int score = switch (pieza.getLevel()) {
+            case 1 -> 50;
+            case 2 -> 100;
+            case 3 -> 150;
+            case 4 -> 200;
+            default -> 0;
+        };
+
+        if (pieza.isSpecial()) {
+            score += 200;
+        }
+        if (pieza.isComboVisual()) {
+            score += 100;
+        }
+        return score;
+    }
+
+    public static int finalScore(int puntosPiezas, int errores, long duration, boolean primeraVezCompletado) {
+        int score = puntosPiezas;
+
         score -= errores * 30;
 
         if (duration < 60) {
@@ -62,4 +73,4 @@ public class ScoreCalculator {
         return Math.max(score, 0);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.common.constant.logic;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Plan inmutable compilado una vez por versión del personaje: puntúa un build en una sola pasada
+public final class ValidationPlan {
+
+    private static final int PROGRESO_POR_PIEZA = 33;
+    private static final Power[] PODERES = Power.values();
+
+    private final Map<String, Integer> posicionPorId;
+    private final int[] puntosPorPieza;
+    private final Power[] poderPorPieza;
+
+    private ValidationPlan(Map<String, Integer> posicionPorId, int[] puntosPorPieza, Power[] poderPorPieza) {
+        this.posicionPorId = posicionPorId;
+        this.puntosPorPieza = puntosPorPieza;
+        this.poderPorPieza = poderPorPieza;
+    }
+
+    public static ValidationPlan compile(Character character) {
+        List<Piece> piezas = character.getPieces() == null
+                ? List.of()
+                : character.getPieces().stream().filter(p -> !p.isFake()).toList();
+
+        Map<String, Integer> posicionPorId = new HashMap<>();
+        int[] puntos = new int[piezas.size()];
+        Power[] poderes = new Power[piezas.size()];
+
+        for (int i = 0; i < piezas.size(); i++) {
+            Piece pieza = piezas.get(i);
+            posicionPorId.put(pieza.getId(), i);
+            puntos[i] = ScoreCalculator.pieceScore(pieza);
+            poderes[i] = pieza.getPower();
+        }
+
+        return new ValidationPlan(posicionPorId, puntos, poderes);
+    }
+
+    public int size() {
+        return puntosPorPieza.length;
+    }
+
+    public Resultado evaluar(List<String> piezasColocadasIds) {
+        boolean[] colocadas = new boolean[puntosPorPieza.length];
+        int[] progreso = new int[PODERES.length];
+        int puntosPiezas = 0;
+        int errores = 0;
+
+        for (String id : piezasColocadasIds) {
+            Integer posicion = posicionPorId.get(id);
+            if (posicion == null) {
+                errores++;
+                continue;
+            }
+            // Una pieza correcta colocada varias veces solo puntúa una vez
+            if (colocadas[posicion]) {
+                continue;
+            }
+            colocadas[posicion] = true;
+            puntosPiezas += puntosPorPieza[posicion];
+
+            Power poder = poderPorPieza[posicion];
+            if (poder != null) {
+                progreso[poder.ordinal()] += PROGRESO_POR_PIEZA;
+            }
+        }
+
+        Map<Power, Integer> progresion = new EnumMap<>(Power.class);
+        for (int i = 0; i < progreso.length; i++) {
+            if (progreso[i] != 0) {
+                progresion.put(PODERES[i], progreso[i]);
+            }
+        }
+
+        return new Resultado(puntosPiezas, errores, progresion);
+    }
+
+    public record Resultado(int puntosPiezas, int errores, Map<Power, Integer> progresionPoderes) {}
+}
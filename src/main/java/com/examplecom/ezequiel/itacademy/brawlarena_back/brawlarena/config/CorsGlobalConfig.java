@@ -20,8 +20,8 @@ public class CorsGlobalConfig {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowedOrigins(allowedOrigins);
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE"));
-        config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
-        config.setExposedHeaders(List.of("Authorization"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-None-Match", "If-Modified-Since"));
+        config.setExposedHeaders(List.of("Authorization", "X-Next-Cursor", "ETag"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
@@ -0,0 +1,15 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "gallery.stream")
+public class GalleryStreamConfig {
+    // Eventos pendientes por suscriptor; si un cliente lento lo llena se descartan los más antiguos
+    private int bufferSize = 64;
+}
@@ -0,0 +1,19 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "health.probe")
+public class HealthProbeConfig {
+    // Cada comprobación de dependencia se da por caída si no responde en este tiempo
+    private Duration timeout = Duration.ofMillis(500);
+    // Durante este intervalo las sondas reutilizan el último resultado sin tocar las bases de datos
+    private Duration cacheTtl = Duration.ofSeconds(5);
+}
@@ -0,0 +1,45 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "http.cache")
+public class HttpCacheConfig {
+    // max-age por ruta; 0 obliga al cliente a revalidar siempre con If-None-Match
+    private Duration catalogMaxAge = Duration.ofMinutes(5);
+    private Duration galleryMaxAge = Duration.ZERO;
+    private Duration highlightedMaxAge = Duration.ofSeconds(30);
+
+    public CacheControl catalogPolicy() {
+        return policy(catalogMaxAge, true);
+    }
+
+    // Rutas autenticadas del catálogo: solo la caché del propio cliente, nunca proxies compartidos
+    public CacheControl authenticatedCatalogPolicy() {
+        return policy(catalogMaxAge, false);
+    }
+
+    public CacheControl galleryPolicy() {
+        return policy(galleryMaxAge, true);
+    }
+
+    public CacheControl highlightedPolicy() {
+        return policy(highlightedMaxAge, true);
+    }
+
+    private static CacheControl policy(Duration maxAge, boolean publica) {
+        if (maxAge.isZero()) {
+            return publica ? CacheControl.noCache() : CacheControl.noCache().cachePrivate();
+        }
+        CacheControl cacheControl = CacheControl.maxAge(maxAge);
+        return publica ? cacheControl.cachePublic() : cacheControl.cachePrivate();
+    }
+}
@@ -0,0 +1,23 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.converter.LegacyPowerListReadConverter;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.converter.PowerSetReadConverter;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.converter.PowerSetWriteConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+
+@Configuration
+public class MongoConversionsConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                new PowerSetWriteConverter(),
+                new PowerSetReadConverter(),
+                new LegacyPowerListReadConverter()
+        ));
+    }
+}
@@ -0,0 +1,19 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "cache.pieces")
+public class PiecesCacheConfig {
+    // Peso total máximo: cada plan pesa 1 + número de piezas válidas del personaje
+    private long maxWeight = 5000;
+    private Duration expireAfterWrite = Duration.ofMinutes(30);
+    private Duration refreshAfterWrite = Duration.ofMinutes(5);
+}
@@ -0,0 +1,53 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.health;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config.HealthProbeConfig;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Component
+public class DependencyProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyProbe.class);
+
+    public static final String UP = "UP";
+    public static final String DOWN = "DOWN";
+
+    public record Estado(String mongo, String mysql, Instant checkedAt) {
+        public boolean up() {
+            return UP.equals(mongo) && UP.equals(mysql);
+        }
+    }
+
+    private final Mono<Estado> comprobacion;
+
+    public DependencyProbe(ReactiveMongoTemplate mongoTemplate, UserRepository userRepository, HealthProbeConfig config) {
+        Mono<String> mongo = comprobar("Mongo",
+                mongoTemplate.executeCommand("{ ping: 1 }"), config);
+        Mono<String> mysql = comprobar("MySQL", userRepository.ping(), config);
+
+        // Peticiones concurrentes comparten la misma comprobación y el resultado se reutiliza durante cacheTtl
+        this.comprobacion = Mono.zip(mongo, mysql)
+                .map(resultado -> new Estado(resultado.getT1(), resultado.getT2(), Instant.now()))
+                .cache(config.getCacheTtl());
+    }
+
+    public Mono<Estado> check() {
+        return comprobacion;
+    }
+
+    private static Mono<String> comprobar(String nombre, Mono<?> consulta, HealthProbeConfig config) {
+        return consulta
+                .thenReturn(UP)
+                .timeout(config.getTimeout())
+                .onErrorResume(error -> {
+                    logger.warn("Sonda de {} fallida: {}", nombre, error.toString());
+                    return Mono.just(DOWN);
+                });
+    }
+}
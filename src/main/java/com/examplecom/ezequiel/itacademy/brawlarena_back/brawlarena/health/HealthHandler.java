@@ -0,0 +1,59 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.health;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.ValidationPlanCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Component
+public class HealthHandler {
+
+    private final DependencyProbe dependencyProbe;
+    private final CharacterCatalog characterCatalog;
+    private final ValidationPlanCache planesCache;
+
+    public HealthHandler(DependencyProbe dependencyProbe, CharacterCatalog characterCatalog, ValidationPlanCache planesCache) {
+        this.dependencyProbe = dependencyProbe;
+        this.characterCatalog = characterCatalog;
+        this.planesCache = planesCache;
+    }
+
+    public record Readiness(
+            String status,
+            String mongo,
+            String mysql,
+            boolean catalogLoaded,
+            long catalogVersion,
+            long validationPlans,
+            Instant checkedAt
+    ) {}
+
+    // El proceso responde: no depende de Mongo ni de MySQL para no reiniciar la instancia por una caída externa
+    public Mono<ServerResponse> liveness(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(Map.of("status", DependencyProbe.UP));
+    }
+
+    // Lista para recibir tráfico si ambas bases de datos responden; el estado de las cachés es informativo
+    public Mono<ServerResponse> readiness(ServerRequest request) {
+        return dependencyProbe.check()
+                .flatMap(estado -> {
+                    Readiness readiness = new Readiness(
+                            estado.up() ? DependencyProbe.UP : DependencyProbe.DOWN,
+                            estado.mongo(),
+                            estado.mysql(),
+                            characterCatalog.current().isPresent(),
+                            characterCatalog.version(),
+                            planesCache.size(),
+                            estado.checkedAt());
+
+                    return ServerResponse.status(estado.up() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                            .bodyValue(readiness);
+                });
+    }
+}
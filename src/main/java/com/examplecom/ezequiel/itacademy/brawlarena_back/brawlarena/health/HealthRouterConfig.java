@@ -0,0 +1,20 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.health;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class HealthRouterConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> healthRoutes(HealthHandler handler) {
+        return route()
+                .GET("/health/live", handler::liveness)
+                .GET("/health/ready", handler::readiness)
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterResponse;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterSummary;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Caché por proceso: se asume un único nodo, igual que GalleryVersion y los ETags de ConditionalGetFilter.
+// Las escrituras de catálogo pasan por este mismo proceso e invalidan aquí; con varias instancias haría
+// falta un canal de invalidación compartido (no bastaría un TTL: los contadores de versión también son locales)
+@Component
+public class CharacterCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(CharacterCatalog.class);
+
+    private final CharacterRepository characterRepository;
+    private final ObjectMapper objectMapper;
+
+    // Versión y snapshot viajan juntos para que una carga lenta no pise una invalidación posterior
+    private final AtomicReference<Estado> estado = new AtomicReference<>(new Estado(new VersionStamp(0, Instant.now()), null, null));
+
+    public CharacterCatalog(CharacterRepository characterRepository, ObjectMapper objectMapper) {
+        this.characterRepository = characterRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public record Snapshot(long version, List<Character> characters, Map<String, Character> byId,
+                           List<String> freeCharacterIds, byte[] json, byte[] summaryJson) {
+    }
+
+    // carga: lectura de Mongo en curso para esta versión, compartida por todas las peticiones que llegan mientras tanto
+    private record Estado(VersionStamp stamp, Snapshot snapshot, Mono<Snapshot> carga) {
+    }
+
+    public Mono<Snapshot> snapshot() {
+        return Mono.defer(() -> {
+            Estado actual = estado.get();
+            if (actual.snapshot() != null) {
+                return Mono.just(actual.snapshot());
+            }
+            if (actual.carga() != null) {
+                return actual.carga();
+            }
+
+            // Solo quien instala la carga la lanza: tras invalidar hay un único findAll() por versión
+            Estado cargando = new Estado(actual.stamp(), null, cargar(actual.stamp()));
+            return estado.compareAndSet(actual, cargando) ? cargando.carga() : snapshot();
+        });
+    }
+
+    private Mono<Snapshot> cargar(VersionStamp stamp) {
+        return characterRepository.findAll()
+                .collectList()
+                .map(personajes -> construir(stamp.version(), personajes))
+                .doOnNext(snapshot -> {
+                    // Si se invalidó mientras tanto la versión ya es otra y el resultado no se conserva
+                    Estado anterior = estado.getAndUpdate(e -> cargandoVersion(e, stamp) ? new Estado(stamp, snapshot, null) : e);
+                    if (cargandoVersion(anterior, stamp)) {
+                        logger.info("Catálogo de personajes cargado en memoria: {} personajes (versión {})",
+                                snapshot.characters().size(), snapshot.version());
+                    }
+                })
+                // Un error no se queda cacheado: la siguiente petición vuelve a intentarlo
+                .doOnError(error -> estado.updateAndGet(e -> cargandoVersion(e, stamp) ? new Estado(stamp, null, null) : e))
+                .cache();
+    }
+
+    private static boolean cargandoVersion(Estado e, VersionStamp stamp) {
+        return e.stamp() == stamp && e.snapshot() == null;
+    }
+
+    // Personajes de coste 0 que recibe cada usuario nuevo; se recalculan con cada versión del catálogo
+    public Mono<List<String>> freeCharacterIds() {
+        return snapshot().map(Snapshot::freeCharacterIds);
+    }
+
+    // Snapshot vigente sin disparar una carga; vacío si aún no se ha cargado o se acaba de invalidar
+    public Optional<Snapshot> current() {
+        return Optional.ofNullable(estado.get().snapshot());
+    }
+
+    public void invalidate() {
+        long version = estado.updateAndGet(actual -> new Estado(actual.stamp().next(), null, null)).stamp().version();
+        logger.info("Catálogo de personajes invalidado (versión {})", version);
+    }
+
+    public long version() {
+        return estado.get().stamp().version();
+    }
+
+    public VersionStamp stamp() {
+        return estado.get().stamp();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargar() {
+        snapshot().subscribe(
+                snapshot -> { },
+                error -> logger.warn("No se pudo precargar el catálogo de personajes: {}", error.getMessage()));
+    }
+
+    private Snapshot construir(long version, List<Character> personajes) {
+        List<Character> characters = List.copyOf(personajes);
+        Map<String, Character> byId = characters.stream()
+                .collect(Collectors.toUnmodifiableMap(Character::getId, Function.identity()));
+        List<String> gratuitos = characters.stream()
+                .filter(character -> Objects.equals(character.getCost(), 0))
+                .map(Character::getId)
+                .toList();
+
+        // Las vistas pública y resumida se serializan una sola vez por versión del catálogo
+        List<CharacterResponse> publico = characters.stream()
+                .map(character -> CharacterResponse.from(character, false))
+                .toList();
+        List<CharacterSummary> resumen = characters.stream()
+                .map(CharacterSummary::from)
+                .toList();
+        try {
+            return new Snapshot(version, characters, byId, gratuitos,
+                    objectMapper.writeValueAsBytes(publico), objectMapper.writeValueAsBytes(resumen));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el catálogo de personajes", e);
+        }
+    }
+}
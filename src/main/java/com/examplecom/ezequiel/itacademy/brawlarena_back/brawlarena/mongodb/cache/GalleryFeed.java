@@ -0,0 +1,44 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config.GalleryStreamConfig;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+@Component
+public class GalleryFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(GalleryFeed.class);
+
+    // Sin réplica ni buffer compartido: cada suscriptor recibe solo lo publicado mientras está conectado
+    private final Sinks.Many<GalleryEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final int bufferSize;
+
+    public GalleryFeed(GalleryStreamConfig config) {
+        this.bufferSize = config.getBufferSize();
+    }
+
+    // Se llama tras cada escritura confirmada en la galería, igual que GalleryVersion.bump()
+    public synchronized void publish(GalleryEvent event) {
+        Sinks.EmitResult resultado = sink.tryEmitNext(event);
+        if (resultado.isFailure() && resultado != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            logger.warn("No se pudo publicar el evento de galería {} ({})", event.type(), resultado);
+        }
+    }
+
+    // Buffer acotado por suscriptor: un cliente lento pierde los eventos más antiguos sin frenar al resto
+    public Flux<GalleryEvent> events() {
+        return sink.asFlux()
+                .onBackpressureBuffer(bufferSize,
+                        descartado -> logger.debug("Evento de galería descartado para un suscriptor lento: {}", descartado.type()),
+                        BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    public int subscribers() {
+        return sink.currentSubscriberCount();
+    }
+}
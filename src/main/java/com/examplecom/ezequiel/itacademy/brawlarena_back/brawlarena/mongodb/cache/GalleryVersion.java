@@ -0,0 +1,21 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class GalleryVersion {
+
+    private final AtomicReference<VersionStamp> actual = new AtomicReference<>(new VersionStamp(0, Instant.now()));
+
+    public VersionStamp stamp() {
+        return actual.get();
+    }
+
+    // Se llama tras cada escritura confirmada en la galería
+    public void bump() {
+        actual.updateAndGet(VersionStamp::next);
+    }
+}
@@ -0,0 +1,101 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.FeaturedModel;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.FeaturedModelRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.SharedModelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class HighlightedModelCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(HighlightedModelCache.class);
+
+    private final FeaturedModelRepository featuredModelRepository;
+    private final SharedModelRepository sharedModelRepository;
+
+    // destacado == null: aún no cargado o invalidado; Optional.empty(): no hay destacado
+    private final AtomicReference<Estado> estado = new AtomicReference<>(new Estado(0, null, null));
+
+    public HighlightedModelCache(FeaturedModelRepository featuredModelRepository, SharedModelRepository sharedModelRepository) {
+        this.featuredModelRepository = featuredModelRepository;
+        this.sharedModelRepository = sharedModelRepository;
+    }
+
+    private record Estado(long version, Instant featuredAt, Optional<SharedModel> destacado) {
+    }
+
+    public Mono<Optional<SharedModel>> highlighted() {
+        Estado actual = estado.get();
+        if (actual.destacado() != null) {
+            return Mono.just(actual.destacado().map(HighlightedModelCache::copia));
+        }
+
+        return featuredModelRepository.findById(FeaturedModel.ID)
+                .switchIfEmpty(Mono.defer(this::migrarDestacadoAntiguo))
+                .flatMap(puntero -> sharedModelRepository.findById(puntero.getSharedModelId())
+                        .map(model -> new Estado(actual.version(), puntero.getFeaturedAt(), Optional.of(marcar(model)))))
+                .defaultIfEmpty(new Estado(actual.version(), null, Optional.empty()))
+                // Si entre medias se ha destacado o invalidado, la carga no pisa el estado más nuevo
+                .doOnNext(cargado -> {
+                    if (estado.compareAndSet(actual, cargado)) {
+                        logger.info("Modelo destacado cargado en memoria: {}",
+                                cargado.destacado().map(SharedModel::getId).orElse("ninguno"));
+                    }
+                })
+                .map(cargado -> cargado.destacado().map(HighlightedModelCache::copia));
+    }
+
+    // Se llama tras mover el puntero; un cambio más antiguo que llega tarde no reemplaza al vigente
+    public void highlight(SharedModel model, Instant featuredAt) {
+        estado.updateAndGet(actual -> actual.featuredAt() != null && featuredAt.isBefore(actual.featuredAt())
+                ? actual
+                : new Estado(actual.version() + 1, featuredAt, Optional.of(marcar(model))));
+    }
+
+    public void clear() {
+        estado.updateAndGet(actual -> new Estado(actual.version() + 1, null, Optional.empty()));
+    }
+
+    // Fuerza una recarga, p. ej. cuando cambia la ficha de personaje copiada en el modelo
+    public void invalidate() {
+        estado.updateAndGet(actual -> new Estado(actual.version() + 1, null, null));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargar() {
+        highlighted().subscribe(
+                destacado -> { },
+                error -> logger.warn("No se pudo precargar el modelo destacado: {}", error.getMessage()));
+    }
+
+    // Bases de datos anteriores al puntero: el destacado marcado con highlighted=true pasa a gallery_featured
+    private Mono<FeaturedModel> migrarDestacadoAntiguo() {
+        return sharedModelRepository.findLegacyHighlighted()
+                .flatMap(model -> featuredModelRepository.pointTo(model.getId()))
+                .doOnNext(puntero -> logger.info("Destacado antiguo migrado al puntero de galería: {}", puntero.getSharedModelId()));
+    }
+
+    // La caché guarda su propia copia y entrega copias: nadie puede modificar el destacado compartido
+    private static SharedModel marcar(SharedModel model) {
+        SharedModel destacado = copia(model);
+        destacado.setHighlighted(true);
+        return destacado;
+    }
+
+    // Copia superficial suficiente: todos los campos son inmutables (PowerSet incluido)
+    private static SharedModel copia(SharedModel model) {
+        return new SharedModel(model.getId(), model.getPlayerId(), model.getCharacterId(),
+                model.getCharacterName(), model.getCharacterImageUrl(), model.getCharacterDifficulty(),
+                model.getPowers(), model.getScore(), model.getSharedAt(), model.isHighlighted());
+    }
+}
@@ -0,0 +1,70 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.common.constant.logic.ValidationPlan;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config.PiecesCacheConfig;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class ValidationPlanCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationPlanCache.class);
+
+    private final AsyncLoadingCache<String, ValidationPlan> cache;
+
+    public ValidationPlanCache(CharacterRepository characterRepository, PiecesCacheConfig config) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxWeight())
+                .weigher((String characterId, ValidationPlan plan) -> 1 + plan.size())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .refreshAfterWrite(config.getRefreshAfterWrite())
+                .recordStats()
+                .removalListener((String characterId, ValidationPlan plan, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        logger.debug("Plan de validación del personaje {} expulsado de la caché ({})", characterId, cause);
+                    }
+                })
+                // Las recargas por refreshAfterWrite van a Mongo en segundo plano; si fallan se conserva el valor anterior
+                .buildAsync((characterId, executor) -> characterRepository.findById(characterId)
+                        .map(ValidationPlanCache::compilar)
+                        .toFuture());
+    }
+
+    public Mono<ValidationPlan> get(Character character) {
+        return Mono.fromFuture(cache.get(character.getId(),
+                (id, executor) -> CompletableFuture.completedFuture(compilar(character))));
+    }
+
+    public void invalidate(String characterId) {
+        cache.synchronous().invalidate(characterId);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    private static ValidationPlan compilar(Character character) {
+        if (character.getPieces() == null) {
+            logger.warn("El personaje {} no tiene piezas asignadas", character.getId());
+        }
+        return ValidationPlan.compile(character);
+    }
+}
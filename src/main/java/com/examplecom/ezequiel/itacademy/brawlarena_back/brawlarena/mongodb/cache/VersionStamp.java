@@ -0,0 +1,11 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache;
+
+import java.time.Instant;
+
+// Versión de un conjunto de datos servido por HTTP y momento de su último cambio
+public record VersionStamp(long version, Instant modifiedAt) {
+
+    public VersionStamp next() {
+        return new VersionStamp(version + 1, Instant.now());
+    }
+}
@@ -0,0 +1,22 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.converter;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+import java.util.List;
+
+// Documentos anteriores guardaban los poderes como array de nombres; se compactan al volver a guardarse
+@ReadingConverter
+public class LegacyPowerListReadConverter implements Converter<List<?>, PowerSet> {
+
+    @Override
+    public PowerSet convert(List<?> source) {
+        PowerSet powers = PowerSet.empty();
+        for (Object nombre : source) {
+            powers = powers.with(Power.valueOf(String.valueOf(nombre)));
+        }
+        return powers;
+    }
+}
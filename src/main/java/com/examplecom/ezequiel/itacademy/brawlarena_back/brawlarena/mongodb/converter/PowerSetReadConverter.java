@@ -0,0 +1,14 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.converter;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+@ReadingConverter
+public class PowerSetReadConverter implements Converter<Long, PowerSet> {
+
+    @Override
+    public PowerSet convert(Long source) {
+        return new PowerSet(source);
+    }
+}
@@ -0,0 +1,15 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.converter;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.WritingConverter;
+
+// En Mongo los poderes se guardan como un único int64 en lugar de un array de strings
+@WritingConverter
+public class PowerSetWriteConverter implements Converter<PowerSet, Long> {
+
+    @Override
+    public Long convert(PowerSet source) {
+        return source.bits();
+    }
+}
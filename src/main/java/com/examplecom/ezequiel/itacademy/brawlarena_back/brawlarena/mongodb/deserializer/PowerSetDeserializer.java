@@ -0,0 +1,31 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.deserializer;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+
+public class PowerSetDeserializer extends JsonDeserializer<PowerSet> {
+
+    @Override
+    public PowerSet deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartArrayToken()) {
+            return (PowerSet) ctxt.handleUnexpectedToken(PowerSet.class, p);
+        }
+
+        PowerSet powers = PowerSet.empty();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            String value = p.getText();
+            try {
+                powers = powers.with(Power.valueOf(value));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Valor inválido para Power enum: " + value);
+            }
+        }
+        return powers;
+    }
+}
@@ -0,0 +1,22 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.deserializer;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+// Mantiene el formato de siempre en la API: array con los nombres de los poderes
+public class PowerSetSerializer extends JsonSerializer<PowerSet> {
+
+    @Override
+    public void serialize(PowerSet value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartArray(value, value.size());
+        for (Power power : value) {
+            gen.writeString(power.name());
+        }
+        gen.writeEndArray();
+    }
+}
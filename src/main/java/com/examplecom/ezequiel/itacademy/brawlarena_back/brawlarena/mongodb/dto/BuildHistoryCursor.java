@@ -0,0 +1,33 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Posición en el historial (createdAt, id) codificada como token opaco para el cliente
+public record BuildHistoryCursor(Instant createdAt, String id) {
+
+    private static final String SEPARADOR = "_";
+
+    public static BuildHistoryCursor after(BuildSummary build) {
+        return new BuildHistoryCursor(build.createdAt(), build.id());
+    }
+
+    public String encode() {
+        String valor = createdAt.toEpochMilli() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BuildHistoryCursor decode(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            return new BuildHistoryCursor(
+                    Instant.ofEpochMilli(Long.parseLong(valor.substring(0, separador))),
+                    valor.substring(separador + 1)
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de historial inválido");
+        }
+    }
+}
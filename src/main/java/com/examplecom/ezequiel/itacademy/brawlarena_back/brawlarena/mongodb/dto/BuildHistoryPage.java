@@ -0,0 +1,8 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto;
+
+import java.util.List;
+
+public record BuildHistoryPage(
+        List<BuildSummary> builds,
+        String nextCursor
+) {}
@@ -0,0 +1,26 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
+
+import java.time.Instant;
+
+// Vista resumida de un build del historial (sin piecesPlaced)
+public record BuildSummary(
+        String id,
+        String characterId,
+        int score,
+        long duration,
+        int errors,
+        Instant createdAt
+) {
+    public static BuildSummary from(Build build) {
+        return new BuildSummary(
+                build.getId(),
+                build.getCharacterId(),
+                build.getScore(),
+                build.getDuration(),
+                build.getErrors(),
+                build.getCreatedAt()
+        );
+    }
+}
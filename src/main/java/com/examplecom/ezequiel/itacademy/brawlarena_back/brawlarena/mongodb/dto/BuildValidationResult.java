@@ -0,0 +1,19 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
+
+public record BuildValidationResult(
+        long index,
+        String characterId,
+        boolean success,
+        Build build,
+        String error
+) {
+    public static BuildValidationResult ok(long index, Build build) {
+        return new BuildValidationResult(index, build.getCharacterId(), true, build, null);
+    }
+
+    public static BuildValidationResult failed(long index, String characterId, String error) {
+        return new BuildValidationResult(index, characterId, false, null, error);
+    }
+}
@@ -0,0 +1,9 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto;
+
+import java.util.List;
+
+public record CatalogImportResult(
+        int characters,
+        int pieces,
+        List<String> errors
+) {}
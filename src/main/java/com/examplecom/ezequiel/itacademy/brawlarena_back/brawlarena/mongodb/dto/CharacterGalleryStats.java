@@ -0,0 +1,10 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto;
+
+// Resumen por personaje de la galería, calculado en una sola agregación de Mongo
+public record CharacterGalleryStats(
+        String characterId,
+        String characterName,
+        long shares,
+        long uniquePlayers,
+        int bestScore
+) {}
@@ -1,7 +1,8 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto;
 
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
 
 import java.util.List;
 
@@ -13,8 +14,23 @@ public record CharacterResponse(
         String imageUrl,
         String gameImageUrl,
         int cost,
-        List<Power> powers,
+        PowerSet powers,
         List<Piece> pieces,
         boolean unlocked
-) {}
-
+) {
+    public static CharacterResponse from(Character character, boolean unlocked) {
+        return new CharacterResponse(
+                character.getId(),
+                character.getName(),
+                character.getDescription(),
+                character.getDifficulty(),
+                character.getImageUrl(),
+                character.getGameImageUrl(),
+                // Un personaje sin coste no debe tumbar el snapshot entero del catálogo
+                character.getCost() != null ? character.getCost() : 0,
+                character.getPowers(),
+                character.getPieces(),
+                unlocked
+        );
+    }
+}
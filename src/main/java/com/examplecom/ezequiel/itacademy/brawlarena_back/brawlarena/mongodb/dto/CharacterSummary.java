@@ -0,0 +1,24 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+
+// Vista resumida para listados (sin piezas ni descripción)
+public record CharacterSummary(
+        String id,
+        String name,
+        String difficulty,
+        String imageUrl,
+        String gameImageUrl,
+        Integer cost
+) {
+    public static CharacterSummary from(Character character) {
+        return new CharacterSummary(
+                character.getId(),
+                character.getName(),
+                character.getDifficulty(),
+                character.getImageUrl(),
+                character.getGameImageUrl(),
+                character.getCost()
+        );
+    }
+}
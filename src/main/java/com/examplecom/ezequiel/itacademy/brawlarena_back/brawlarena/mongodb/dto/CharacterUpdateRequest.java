@@ -1,7 +1,7 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto;
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
 import lombok.Data;
 
 import java.util.List;
@@ -13,5 +13,5 @@ public class CharacterUpdateRequest {
     private String difficulty;
     private String imageUrl;
     private List<Piece> pieces;
-    private List<Power> powers;
+    private PowerSet powers;
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Posición en la galería (sharedAt, id) codificada como token opaco para el cliente
+public record GalleryCursor(Instant sharedAt, String id) {
+
+    private static final String SEPARADOR = "_";
+
+    public static GalleryCursor after(SharedModel model) {
+        return new GalleryCursor(model.getSharedAt(), model.getId());
+    }
+
+    public String encode() {
+        String valor = sharedAt.toEpochMilli() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static GalleryCursor decode(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            return new GalleryCursor(
+                    Instant.ofEpochMilli(Long.parseLong(valor.substring(0, separador))),
+                    valor.substring(separador + 1)
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de galería inválido");
+        }
+    }
+}
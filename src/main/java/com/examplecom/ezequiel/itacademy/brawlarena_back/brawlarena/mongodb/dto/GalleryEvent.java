@@ -0,0 +1,27 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
+
+import java.time.Instant;
+
+// Cambio en la galería enviado por /gallery/stream; model va a null en los borrados
+public record GalleryEvent(
+        Type type,
+        String sharedModelId,
+        SharedModel model,
+        Instant at
+) {
+    public enum Type { SHARED, DELETED, HIGHLIGHTED }
+
+    public static GalleryEvent shared(SharedModel model) {
+        return new GalleryEvent(Type.SHARED, model.getId(), model, Instant.now());
+    }
+
+    public static GalleryEvent deleted(String sharedModelId) {
+        return new GalleryEvent(Type.DELETED, sharedModelId, null, Instant.now());
+    }
+
+    public static GalleryEvent highlighted(SharedModel model) {
+        return new GalleryEvent(Type.HIGHLIGHTED, model.getId(), model, Instant.now());
+    }
+}
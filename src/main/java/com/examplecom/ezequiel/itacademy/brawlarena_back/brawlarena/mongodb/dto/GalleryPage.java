@@ -0,0 +1,10 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
+
+import java.util.List;
+
+public record GalleryPage(
+        List<SharedModel> models,
+        String nextCursor
+) {}
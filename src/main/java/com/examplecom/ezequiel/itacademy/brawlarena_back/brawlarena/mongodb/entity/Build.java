@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.annotation.Transient;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
@@ -18,6 +20,14 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "builds")
+@CompoundIndexes({
+        @CompoundIndex(name = "player_character_valid_idx", def = "{'playerId': 1, 'characterId': 1, 'valid': 1}"),
+        // Solo puede existir un build pendiente (valid=false) por jugador y personaje
+        @CompoundIndex(name = "unique_pending_build_idx", def = "{'playerId': 1, 'characterId': 1}",
+                unique = true, partialFilter = "{'valid': false}"),
+        // Historial paginado por cursor (createdAt, _id) en orden descendente
+        @CompoundIndex(name = "player_valid_created_idx", def = "{'playerId': 1, 'valid': 1, 'createdAt': -1, '_id': -1}")
+})
 public class Build {
 
     @Id
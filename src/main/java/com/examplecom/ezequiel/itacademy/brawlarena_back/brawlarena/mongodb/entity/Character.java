@@ -1,9 +1,7 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity;
 
 
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.deserializer.PowerDeserializer;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
-import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -28,8 +26,7 @@ public class Character {
     private String difficulty;
     private List<Piece> pieces;
 
-    @JsonDeserialize(contentUsing = PowerDeserializer.class)
-    private List<Power> powers;
+    private PowerSet powers;
     private String imageUrl;
 
     @Field("cost")
@@ -0,0 +1,26 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Puntero único al modelo destacado de la galería (un solo documento, _id = "featured")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "gallery_featured")
+public class FeaturedModel {
+
+    public static final String ID = "featured";
+
+    @Id
+    private String id;
+
+    private String sharedModelId;
+    private Instant featuredAt;
+
+}
@@ -0,0 +1,28 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Map;
+import java.util.Set;
+
+// Progreso acumulado de un jugador (un documento por jugador, _id = nickname)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "player_progress")
+public class PlayerProgress {
+
+    @Id
+    private String playerId;
+
+    private Set<String> completedCharacterIds;
+
+    // Maestría acumulada por poder, incrementada con $inc en cada validación
+    private Map<Power, Integer> powerMastery;
+
+}
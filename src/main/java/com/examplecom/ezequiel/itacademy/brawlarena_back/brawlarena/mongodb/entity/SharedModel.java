@@ -1,18 +1,24 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity;
 
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
-import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "shared_models")
+// Galería paginada por cursor (sharedAt, _id) en orden descendente
+@CompoundIndex(name = "shared_at_idx", def = "{'sharedAt': -1, '_id': -1}")
+// Jugadores por personaje con distinct cubierto por el índice; también sirve a las actualizaciones por characterId
+@CompoundIndex(name = "character_player_idx", def = "{'characterId': 1, 'playerId': 1}")
 public class SharedModel {
 
     @Id
@@ -21,9 +27,16 @@ public class SharedModel {
     private String playerId;
     private String characterId;
 
-    private List<String> powers;
+    // Copia de la ficha del personaje al compartir: la galería se pinta sin consultar /characters/{id}
+    private String characterName;
+    private String characterImageUrl;
+    private String characterDifficulty;
+
+    private PowerSet powers;
     private int score;
     private Instant sharedAt;
+    // Se deriva del puntero de gallery_featured; ya no se guarda en cada documento
+    @Transient
     private boolean highlighted;
 
 }
\ No newline at end of file
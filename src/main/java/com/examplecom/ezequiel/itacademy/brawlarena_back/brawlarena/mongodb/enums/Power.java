@@ -3,71 +3,79 @@ package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enu
 public enum Power {
 
     //!* Cullien
-    BURBUJA_ANTIGRAVEDAD,
-    CHUPETE_SONICO,
-    ESCAPE_WRAP,
+    BURBUJA_ANTIGRAVEDAD(0),
+    CHUPETE_SONICO(1),
+    ESCAPE_WRAP(2),
 
     //!* Meiko
-    MECHA_JUMP_SHOT,
-    CAMPO_MAGNETICO,
-    OVERBOOST_KAWAII,
+    MECHA_JUMP_SHOT(3),
+    CAMPO_MAGNETICO(4),
+    OVERBOOST_KAWAII(5),
 
     //!* Taekwon
-    PATADA_DE_PLASMA,
-    CONCENTRACION_ZEN,
-    COMBO_KICKS,
+    PATADA_DE_PLASMA(6),
+    CONCENTRACION_ZEN(7),
+    COMBO_KICKS(8),
 
     //!* Errant
-    AMMO_RUSH,
-    POSTURA_IMPARABLE,
-    GOLPE_DE_AUTORIDAD,
+    AMMO_RUSH(9),
+    POSTURA_IMPARABLE(10),
+    GOLPE_DE_AUTORIDAD(11),
 
     //!* Fishblade
-    DOUBLE_KATANA,
-    CORTE_TSUNAMI,
-    SILENCIO_DEL_KOI,
+    DOUBLE_KATANA(12),
+    CORTE_TSUNAMI(13),
+    SILENCIO_DEL_KOI(14),
 
     //!* Gritshot
-    EXPLOSIVE_SHOT,
-    SHOT_CANON,
-    DINAMITE_EGG,
+    EXPLOSIVE_SHOT(15),
+    SHOT_CANON(16),
+    DINAMITE_EGG(17),
 
     //!* Furia
-    PATADA_AEREA,
-    VUELO_TORNADO,
-    LLAVE_IMPOSIBLE,
+    PATADA_AEREA(18),
+    VUELO_TORNADO(19),
+    LLAVE_IMPOSIBLE(20),
 
     //!* Grunak
-    GARROTE_MAGICO,
-    GOLPE_DE_TIERRA,
-    LLAMA_RITUAL,
+    GARROTE_MAGICO(21),
+    GOLPE_DE_TIERRA(22),
+    LLAMA_RITUAL(23),
 
     //!* Lucy
-    DESTRUCTIVE_GUITAR,
-    RIFF_SISMICO,
-    FEEDBACK_INFERNAL,
+    DESTRUCTIVE_GUITAR(24),
+    RIFF_SISMICO(25),
+    FEEDBACK_INFERNAL(26),
 
     //!* Raidon
-    DISPARO_EXPLOSIVO,
-    TELETRANSPORTE_CORTO,
-    INTERFERENCIA_NEURAL,
+    DISPARO_EXPLOSIVO(27),
+    TELETRANSPORTE_CORTO(28),
+    INTERFERENCIA_NEURAL(29),
 
     //!* Bearzerker
-    EXPLOSION_DE_RABIA,
-    PELUCHAZO_LETAL,
-    SWING_BRUTAL,
+    EXPLOSION_DE_RABIA(30),
+    PELUCHAZO_LETAL(31),
+    SWING_BRUTAL(32),
 
     //!* Cluster
-    REVOLVER_SHOT,
-    ESCUDO_DE_PLOMO,
-    CARGA_DESBOCADA,
+    REVOLVER_SHOT(33),
+    ESCUDO_DE_PLOMO(34),
+    CARGA_DESBOCADA(35),
 
     //!* Luffy
-    SNAKEWOOD_SLASH,
-    AIR_JUMP,
-    SUPERMUSCULADO
-
-}
+    SNAKEWOOD_SLASH(36),
+    AIR_JUMP(37),
+    SUPERMUSCULADO(38);
 
+    // Índice fijo del bit en PowerSet. La máscara se guarda en Mongo: no se reordena ni se reutiliza,
+    // y un poder nuevo toma el siguiente índice libre aunque se declare en el bloque de su personaje
+    private final int bit;
 
+    Power(int bit) {
+        this.bit = bit;
+    }
 
+    public int bit() {
+        return bit;
+    }
+}
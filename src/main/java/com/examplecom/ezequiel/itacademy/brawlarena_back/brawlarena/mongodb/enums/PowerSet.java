@@ -0,0 +1,151 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.deserializer.PowerSetDeserializer;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.deserializer.PowerSetSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// Conjunto de poderes como máscara de bits: el bit i corresponde al poder con Power.bit() == i
+@JsonSerialize(using = PowerSetSerializer.class)
+@JsonDeserialize(using = PowerSetDeserializer.class)
+public record PowerSet(long bits) implements Iterable<Power> {
+
+    private static final Power[] PODER_POR_BIT = new Power[Long.SIZE];
+    private static final long TODOS;
+
+    static {
+        Power[] poderes = Power.values();
+        int[] indices = new int[poderes.length];
+        for (int i = 0; i < poderes.length; i++) {
+            indices[i] = poderes[i].bit();
+        }
+        TODOS = validarIndices(indices);
+        for (Power power : poderes) {
+            PODER_POR_BIT[power.bit()] = power;
+        }
+    }
+
+    private static final PowerSet VACIO = new PowerSet(0L);
+
+    public PowerSet {
+        if ((bits & ~TODOS) != 0) {
+            throw new IllegalArgumentException("Máscara de poderes fuera de rango: " + Long.toBinaryString(bits));
+        }
+    }
+
+    public static PowerSet empty() {
+        return VACIO;
+    }
+
+    public static PowerSet of(Power... powers) {
+        long bits = 0L;
+        for (Power power : powers) {
+            bits |= bit(power);
+        }
+        return new PowerSet(bits);
+    }
+
+    public static PowerSet copyOf(Collection<Power> powers) {
+        long bits = 0L;
+        for (Power power : powers) {
+            bits |= bit(power);
+        }
+        return new PowerSet(bits);
+    }
+
+    public boolean contains(Power power) {
+        return (bits & bit(power)) != 0;
+    }
+
+    public PowerSet with(Power power) {
+        return new PowerSet(bits | bit(power));
+    }
+
+    public PowerSet union(PowerSet otro) {
+        return new PowerSet(bits | otro.bits);
+    }
+
+    public PowerSet intersection(PowerSet otro) {
+        return new PowerSet(bits & otro.bits);
+    }
+
+    // true si este conjunto incluye todos los poderes de otro (p. ej. los de un personaje)
+    public boolean containsAll(PowerSet otro) {
+        return (otro.bits & ~bits) == 0;
+    }
+
+    // Cuántos poderes de objetivo están presentes en este conjunto
+    public int coverage(PowerSet objetivo) {
+        return Long.bitCount(bits & objetivo.bits);
+    }
+
+    public int size() {
+        return Long.bitCount(bits);
+    }
+
+    public boolean isEmpty() {
+        return bits == 0L;
+    }
+
+    // En orden de índice de bit
+    public List<Power> toList() {
+        List<Power> powers = new ArrayList<>(size());
+        forEach(powers::add);
+        return powers;
+    }
+
+    @Override
+    public Iterator<Power> iterator() {
+        return new Iterator<>() {
+            private long restantes = bits;
+
+            @Override
+            public boolean hasNext() {
+                return restantes != 0L;
+            }
+
+            @Override
+            public Power next() {
+                if (restantes == 0L) {
+                    throw new NoSuchElementException();
+                }
+                int indice = Long.numberOfTrailingZeros(restantes);
+                restantes &= restantes - 1;
+                return PODER_POR_BIT[indice];
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+    // Comprueba que los índices caben en un long y no se repiten; devuelve la máscara con todos ellos
+    static long validarIndices(int[] indices) {
+        if (indices.length > Long.SIZE) {
+            throw new IllegalStateException("Power tiene más de 64 valores y no cabe en un long");
+        }
+        long todos = 0L;
+        for (int indice : indices) {
+            if (indice < 0 || indice >= Long.SIZE) {
+                throw new IllegalStateException("Índice de bit de Power fuera de rango: " + indice);
+            }
+            if ((todos & (1L << indice)) != 0) {
+                throw new IllegalStateException("Índice de bit de Power repetido: " + indice);
+            }
+            todos |= 1L << indice;
+        }
+        return todos;
+    }
+
+    private static long bit(Power power) {
+        return 1L << power.bit();
+    }
+}
@@ -2,15 +2,20 @@ package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.han
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.common.constant.validator.BuildValidator;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.BuildAlreadyExistsException;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.BuildAlreadyValidatedException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.CharacterAccessDeniedException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.NoPendingBuildException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.UserNotFoundException;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildHistoryCursor;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildSummary;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildValidationResult;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service.BuildService;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.security.JwtService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -18,11 +23,15 @@ import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
 
 @Component
 public class BuildHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(CharacterHandler.class);
+    private static final int HISTORIAL_LIMITE_POR_DEFECTO = 20;
+    private static final String HEADER_SIGUIENTE_CURSOR = "X-Next-Cursor";
     private final BuildService buildService;
     private final JwtService jwtService;
 
@@ -72,12 +81,33 @@ public class BuildHandler {
 
                                     logger.info("Solicitud recibida para validar build de jugador {}", playerId);
                                     return buildService.validateBuild(playerId, buildData)
-                                            .flatMap(dto -> ServerResponse.ok().bodyValue(dto));
+                                            .flatMap(dto -> ServerResponse.ok().bodyValue(dto))
+                                            .onErrorResume(BuildAlreadyValidatedException.class, error ->
+                                                    ServerResponse.status(409).bodyValue(error.getMessage()));
                                 })
                 )
                 .doOnError(error -> logger.error("Error al validar build: {}", error.getMessage()));
     }
 
+    public Mono<ServerResponse> validateBuildBatch(ServerRequest request) {
+        return request.principal()
+                .switchIfEmpty(Mono.error(new UserNotFoundException("Autenticación requerida")))
+                .cast(Authentication.class)
+                .map(Authentication::getName)
+                .flatMap(playerId -> {
+                    logger.info("Solicitud recibida para validar lote de builds de jugador {}", playerId);
+                    // Acepta tanto un array JSON como NDJSON; los resultados se emiten a medida que terminan.
+                    // El 200 solo se envía una vez resuelto el jugador
+                    return buildService.validateBuilds(playerId, request.bodyToFlux(Build.class))
+                            .flatMap(resultados -> ServerResponse.ok()
+                                    .contentType(MediaType.APPLICATION_NDJSON)
+                                    .body(resultados, BuildValidationResult.class))
+                            .onErrorResume(UserNotFoundException.class, error ->
+                                    ServerResponse.status(HttpStatus.NOT_FOUND).bodyValue(error.getMessage()));
+                })
+                .doOnError(error -> logger.error("Error al validar lote de builds: {}", error.getMessage()));
+    }
+
     public Mono<ServerResponse> getBuildHistory(ServerRequest request) {
         return request.principal()
                 .switchIfEmpty(Mono.error(new UserNotFoundException("Autenticación requerida")))
@@ -85,16 +115,35 @@ public class BuildHandler {
                 .map(Authentication::getName)
                 .flatMap(playerId -> {
                     logger.info("Solicitud recibida para obtener historial de builds del jugador {}", playerId);
-                    return buildService.getBuildHistory(playerId)
-                            .collectList()
-                            .flatMap(builds -> {
-                                if (builds.isEmpty()) {
+                    Optional<MediaType> streaming = StreamingMediaTypes.negociar(request);
+                    if (streaming.isPresent()) {
+                        String desde = request.queryParam("cursor").orElse(null);
+                        // Se valida antes de responder: una vez enviadas las cabeceras 200 ya no se puede devolver un 400
+                        if (StringUtils.hasText(desde)) {
+                            BuildHistoryCursor.decode(desde);
+                        }
+                        return StreamingMediaTypes.responder(streaming.get(), buildService.streamBuildHistory(playerId, desde), BuildSummary.class);
+                    }
+
+                    int limit = request.queryParam("limit").map(Integer::parseInt).orElse(HISTORIAL_LIMITE_POR_DEFECTO);
+                    String cursor = request.queryParam("cursor").orElse(null);
+
+                    return buildService.getBuildHistory(playerId, cursor, limit)
+                            .flatMap(pagina -> {
+                                if (pagina.builds().isEmpty()) {
                                     logger.info("No se encontraron builds validados para el jugador {}", playerId);
                                     return ServerResponse.noContent().build();
                                 }
-                                return ServerResponse.ok().bodyValue(builds);
+                                ServerResponse.BodyBuilder respuesta = ServerResponse.ok();
+                                if (pagina.nextCursor() != null) {
+                                    respuesta.header(HEADER_SIGUIENTE_CURSOR, pagina.nextCursor());
+                                }
+                                return respuesta.bodyValue(pagina.builds());
                             });
                 })
+                // Cursor o límite mal formados
+                .onErrorResume(IllegalArgumentException.class, error ->
+                        ServerResponse.badRequest().bodyValue(error.getMessage()))
                 .doOnError(error -> logger.error("Error al recuperar historial de builds: {}", error.getMessage()));
     }
 
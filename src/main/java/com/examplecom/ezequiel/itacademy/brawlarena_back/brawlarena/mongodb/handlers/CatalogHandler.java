@@ -0,0 +1,43 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service.CatalogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+
+@Component
+public class CatalogHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogHandler.class);
+    private final CatalogService catalogService;
+
+    public CatalogHandler(CatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    // Admite NDJSON (una línea por personaje) o un array JSON; el cuerpo se procesa según llega
+    public Mono<ServerResponse> importCatalog(ServerRequest request) {
+        boolean ordered = request.queryParam("ordered")
+                .map(Boolean::parseBoolean)
+                .orElse(true);
+
+        logger.info("Solicitud ADMIN recibida para importar el catálogo (ordered={})", ordered);
+
+        return catalogService.importCatalog(request.bodyToFlux(Character.class), ordered)
+                .flatMap(resultado -> ServerResponse.ok().bodyValue(resultado))
+                .onErrorResume(IllegalArgumentException.class, e ->
+                        ServerResponse.badRequest().bodyValue(e.getMessage()));
+    }
+
+    public Mono<ServerResponse> exportCatalog(ServerRequest request) {
+        logger.info("Solicitud ADMIN recibida para exportar el catálogo");
+
+        return StreamingMediaTypes.responder(MediaType.APPLICATION_NDJSON, catalogService.exportCatalog(), Character.class);
+    }
+}
@@ -2,12 +2,10 @@ package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.han
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.CharacterNotFoundException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterResponse;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterSummary;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterUpdateRequest;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.PieceAssignmentDTO;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.PieceRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service.CharacterService;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.security.JwtService;
@@ -21,89 +19,94 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Component
 public class CharacterHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(CharacterHandler.class);
+    private static final String VISTA_RESUMIDA = "summary";
 
     private final JwtService jwtService;
     private final CharacterService characterService;
     private final UserRepository userRepository;
     private final ObjectMapper objectMapper;
-    private final PieceRepository pieceRepository;
-    private final CharacterRepository characterRepository;
 
 
     public CharacterHandler(
             CharacterService characterService,
             JwtService jwtService,
             UserRepository userRepository,
-            ObjectMapper objectMapper,
-            PieceRepository pieceRepository,
-            CharacterRepository characterRepository
+            ObjectMapper objectMapper
     ) {
         this.characterService = characterService;
         this.jwtService = jwtService;
         this.userRepository = userRepository;
         this.objectMapper = objectMapper;
-        this.pieceRepository = pieceRepository;
-        this.characterRepository = characterRepository;
     }
 
 
     private CharacterResponse mapToResponse(Character character, Set<String> unlockedIds) {
-        boolean unlocked = unlockedIds.contains(character.getId());
-
-        return new CharacterResponse(
-                character.getId(),
-                character.getName(),
-                character.getDescription(),
-                character.getDifficulty(),
-                character.getImageUrl(),
-                character.getGameImageUrl(),
-                character.getCost(),
-                character.getPowers(),
-                character.getPieces(),
-                unlocked
-        );
+        return CharacterResponse.from(character, unlockedIds.contains(character.getId()));
     }
 
     public Mono<ServerResponse> getAllCharacters(ServerRequest request) {
-        return characterService.getAllCharacters()
-                .map(this::mapToPublicResponse)
-                .collectList()
-                .flatMap(list -> ServerResponse.ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(list));
+        boolean resumen = vistaResumida(request);
+
+        Optional<MediaType> streaming = StreamingMediaTypes.negociar(request);
+        if (streaming.isPresent()) {
+            if (resumen) {
+                return StreamingMediaTypes.responder(streaming.get(),
+                        characterService.getAllCharacters().map(CharacterSummary::from), CharacterSummary.class);
+            }
+            Flux<CharacterResponse> personajes = characterService.getAllCharacters()
+                    .map(this::mapToPublicResponse);
+            return StreamingMediaTypes.responder(streaming.get(), personajes, CharacterResponse.class);
+        }
+
+        // El catálogo ya está serializado en memoria: se escriben los bytes tal cual
+        Mono<byte[]> json = resumen ? characterService.getAllCharacterSummariesJson() : characterService.getAllCharactersJson();
+        return json.flatMap(bytes -> ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bytes));
     }
 
     private CharacterResponse mapToPublicResponse(Character character) {
-        return new CharacterResponse(
-                character.getId(),
-                character.getName(),
-                character.getDescription(),
-                character.getDifficulty(),
-                character.getImageUrl(),
-                character.getGameImageUrl(),
-                character.getCost(),
-                character.getPowers(),
-                character.getPieces(),
-                false // todos como no desbloqueados
-        );
+        return CharacterResponse.from(character, false); // todos como no desbloqueados
+    }
+
+    // ?view=summary devuelve solo los campos de listado, sin piezas
+    private static boolean vistaResumida(ServerRequest request) {
+        return request.queryParam("view")
+                .filter(VISTA_RESUMIDA::equalsIgnoreCase)
+                .isPresent();
     }
 
     public Mono<ServerResponse> getCharacterId(ServerRequest request) {
+        boolean resumen = vistaResumida(request);
+
         return request.principal()
                 .cast(Authentication.class)
                 .map(Authentication::getName)
                 .flatMap(playerId -> {
                     logger.info("Solicitud recibida: obtener personajes desbloqueados para playerId: {}", playerId);
-                    return characterService.getUnlockedCharacters(playerId)
+                    Optional<MediaType> streaming = StreamingMediaTypes.negociar(request);
+                    if (streaming.isPresent()) {
+                        return resumen
+                                ? StreamingMediaTypes.responder(streaming.get(), characterService.getUnlockedCharacterSummaries(playerId), CharacterSummary.class)
+                                : StreamingMediaTypes.responder(streaming.get(), characterService.getUnlockedCharacters(playerId), Character.class);
+                    }
+
+                    Flux<?> desbloqueados = resumen
+                            ? characterService.getUnlockedCharacterSummaries(playerId)
+                            : characterService.getUnlockedCharacters(playerId);
+
+                    return desbloqueados
                             .collectList()
                             .flatMap(characters -> {
                                 if (characters.isEmpty()) {
@@ -199,58 +202,10 @@ public class CharacterHandler {
                     }
                 })
                 .collectList()
-                .flatMap(assignments -> {
-                    List<String> pieceIds = assignments.stream()
-                            .map(PieceAssignmentDTO::getPieceId)
-                            .toList();
-
-                    return pieceRepository.findByIdIn(pieceIds)
-                            .collectList()
-                            .flatMap(piezas -> {
-                                if (piezas.size() != assignments.size()) {
-                                    return ServerResponse.badRequest().bodyValue("Una o más piezas no existen en la base de datos");
-                                }
-
-                                // Asociar poderes
-                                for (Piece piece : piezas) {
-                                    assignments.stream()
-                                            .filter(dto -> dto.getPieceId().equals(piece.getId()))
-                                            .findFirst()
-                                            .ifPresent(dto -> piece.setPower(dto.getPower()));
-                                }
-
-                                return characterService.assignPiecesWithPowers(characterId, piezas)
-                                        .flatMap(updated -> ServerResponse.ok().bodyValue(updated));
-                            });
-                })
+                .flatMap(assignments -> characterService.assignPowers(characterId, assignments))
+                .flatMap(updated -> ServerResponse.ok().bodyValue(updated))
                 .onErrorResume(IllegalArgumentException.class, e ->
                         ServerResponse.badRequest().bodyValue(e.getMessage()))
                 .doOnError(error -> logger.error("Error al asignar piezas con poderes: {}", error.getMessage()));
     }
-
-    public Mono<ServerResponse> testMongoConnection(ServerRequest request) {
-        return characterRepository.findAll()
-                .collectList()
-                .flatMap(characters -> ServerResponse.ok().bodyValue(characters))
-                .onErrorResume(e -> {
-                    logger.error("Error al conectar con Mongo: {}", e.getMessage());
-                    return ServerResponse.status(500).bodyValue("Error al conectar con Mongo");
-                });
-    }
-
-    public Mono<ServerResponse> getFreeCharacters(ServerRequest request) {
-        return characterRepository.findAll()
-                .collectList()
-                .flatMap(characters -> {
-                    characters.forEach(c -> System.out.println(
-                            ">> " + c.getName() + " | cost: " + c.getCost() +
-                                    " (" + (c.getCost() != null ? c.getCost().getClass().getSimpleName() : "null") + ")"
-                    ));
-                    return ServerResponse.ok().bodyValue(characters);
-                });
-    }
-
-
-
-
-}
\ No newline at end of file
+}
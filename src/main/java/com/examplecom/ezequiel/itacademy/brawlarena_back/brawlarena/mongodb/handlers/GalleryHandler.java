@@ -1,23 +1,34 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers;
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.*;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryEvent;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service.GalleryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Optional;
+
 @Component
 public class GalleryHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GalleryHandler.class);
+    private static final int GALERIA_LIMITE_POR_DEFECTO = 20;
+    private static final String HEADER_SIGUIENTE_CURSOR = "X-Next-Cursor";
+    // Comentario SSE periódico para que proxies y balanceadores no cierren conexiones sin tráfico
+    private static final Duration LATIDO = Duration.ofSeconds(15);
+    private static final ParameterizedTypeReference<ServerSentEvent<GalleryEvent>> TIPO_EVENTO = new ParameterizedTypeReference<>() {};
     private final GalleryService galleryService;
 
     public GalleryHandler(GalleryService galleryService) {
@@ -27,12 +38,36 @@ public class GalleryHandler {
     public Mono<ServerResponse> getPublicGallery(ServerRequest request) {
         logger.info("Solicitud recibida: obtener galería pública de modelos compartidos");
 
-        return ServerResponse.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(galleryService.getPublicGallery(), SharedModel.class)
+        return Mono.fromSupplier(() -> request.queryParam("limit").map(Integer::parseInt).orElse(GALERIA_LIMITE_POR_DEFECTO))
+                .flatMap(limit -> galleryService.getPublicGallery(request.queryParam("cursor").orElse(null), limit))
+                .flatMap(pagina -> {
+                    ServerResponse.BodyBuilder respuesta = ServerResponse.ok().contentType(MediaType.APPLICATION_JSON);
+                    if (pagina.nextCursor() != null) {
+                        respuesta.header(HEADER_SIGUIENTE_CURSOR, pagina.nextCursor());
+                    }
+                    return respuesta.bodyValue(pagina.models());
+                })
+                // Cursor o límite mal formados
+                .onErrorResume(IllegalArgumentException.class, error ->
+                        ServerResponse.badRequest().bodyValue(error.getMessage()))
                 .doOnError(error -> logger.error("Error al procesar galería pública: {}", error.getMessage()));
     }
 
+    public Mono<ServerResponse> streamGallery(ServerRequest request) {
+        logger.info("Solicitud recibida: suscripción al feed de galería");
+
+        Flux<ServerSentEvent<GalleryEvent>> eventos = galleryService.streamEvents()
+                .map(evento -> ServerSentEvent.builder(evento)
+                        .event(evento.type().name().toLowerCase())
+                        .build());
+        Flux<ServerSentEvent<GalleryEvent>> latidos = Flux.interval(LATIDO)
+                .map(tick -> ServerSentEvent.<GalleryEvent>builder().comment("ping").build());
+
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(Flux.merge(eventos, latidos), TIPO_EVENTO);
+    }
+
     public Mono<ServerResponse> shareModel(ServerRequest request) {
         return request.principal()
                 .switchIfEmpty(Mono.error(new UserNotFoundException("Autenticación requerida")))
@@ -72,6 +107,11 @@ public class GalleryHandler {
 
         logger.info("Solicitud ADMIN recibida para obtener usuarios que compartieron el personaje {}", characterId);
 
+        Optional<MediaType> streaming = StreamingMediaTypes.negociar(request);
+        if (streaming.isPresent()) {
+            return StreamingMediaTypes.responder(streaming.get(), galleryService.getSharedUsersByCharacter(characterId), String.class);
+        }
+
         return galleryService.getSharedUsersByCharacter(characterId)
                 .collectList()
                 .doOnSuccess(list -> logger.info("Usuarios que compartieron el personaje {}: {}", characterId, list.size()))
@@ -82,6 +122,19 @@ public class GalleryHandler {
                 });
     }
 
+    public Mono<ServerResponse> getCharacterStats(ServerRequest request) {
+        logger.info("Solicitud ADMIN recibida para obtener estadísticas de galería por personaje");
+
+        return galleryService.getCharacterStats()
+                .collectList()
+                .doOnSuccess(list -> logger.info("Estadísticas de galería calculadas para {} personajes", list.size()))
+                .flatMap(list -> ServerResponse.ok().bodyValue(list))
+                .onErrorResume(e -> {
+                    logger.error("Error al obtener estadísticas de galería: {}", e.getMessage());
+                    return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).bodyValue("Error interno");
+                });
+    }
+
     public Mono<ServerResponse> highlightModel(ServerRequest request) {
         return request.bodyToMono(String.class)
                 .filter(StringUtils::hasText)
@@ -0,0 +1,36 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.UserNotFoundException;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service.BuildService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+
+@Component
+public class PowerHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PowerHandler.class);
+    private final BuildService buildService;
+
+    public PowerHandler(BuildService buildService) {
+        this.buildService = buildService;
+    }
+
+    public Mono<ServerResponse> getMyPowerMastery(ServerRequest request) {
+        return request.principal()
+                .switchIfEmpty(Mono.error(new UserNotFoundException("Autenticación requerida")))
+                .cast(Authentication.class)
+                .map(Authentication::getName)
+                .flatMap(playerId -> {
+                    logger.info("Solicitud recibida para obtener maestría de poderes del jugador {}", playerId);
+                    return buildService.getPowerMastery(playerId)
+                            .flatMap(maestria -> ServerResponse.ok().bodyValue(maestria));
+                })
+                .doOnError(error -> logger.error("Error al recuperar maestría de poderes: {}", error.getMessage()));
+    }
+}
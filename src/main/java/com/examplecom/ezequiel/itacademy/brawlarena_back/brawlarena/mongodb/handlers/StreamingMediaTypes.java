@@ -0,0 +1,35 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+public final class StreamingMediaTypes {
+
+    private static final List<MediaType> SOPORTADOS = List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    private StreamingMediaTypes() {
+    }
+
+    // Solo se hace streaming si el cliente pide NDJSON o SSE explícitamente; */* sigue recibiendo el array JSON
+    public static Optional<MediaType> negociar(ServerRequest request) {
+        return request.headers().accept().stream()
+                .filter(aceptado -> SOPORTADOS.stream().anyMatch(aceptado::equalsTypeAndSubtype))
+                .findFirst()
+                .map(aceptado -> MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(aceptado)
+                        ? MediaType.APPLICATION_NDJSON
+                        : MediaType.TEXT_EVENT_STREAM);
+    }
+
+    // Cada elemento se escribe según llega de la base de datos, respetando la contrapresión del cliente
+    static <T> Mono<ServerResponse> responder(MediaType tipo, Flux<T> elementos, Class<T> clase) {
+        return ServerResponse.ok()
+                .contentType(tipo)
+                .body(elementos, clase);
+    }
+}
@@ -6,8 +6,8 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 
-public interface BuildRepository extends ReactiveMongoRepository<Build, String> {
-    Mono<Long> countByPlayerIdAndCharacterIdAndValidTrue(String playerId, String characterId);
+public interface BuildRepository extends ReactiveMongoRepository<Build, String>, BuildRepositoryCustom {
+    Mono<Boolean> existsByPlayerIdAndCharacterIdAndValidFalse(String playerId, String characterId);
     Flux<Build> findByPlayerIdAndValidTrueOrderByCreatedAtDesc(String playerId);
     Flux<Build> findByPlayerIdAndCharacterIdAndValidFalse(String playerId, String characterId);
     Flux<Build> findByPlayerIdAndCharacterIdAndValidTrue(String playerId, String characterId);
@@ -0,0 +1,16 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildHistoryCursor;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+public interface BuildRepositoryCustom {
+    // Pasa el build a validado solo si sigue pendiente; vacío si otra petición ya lo validó
+    Mono<Build> completePending(Build build);
+    Mono<Void> updateScore(String buildId, int score);
+    // Builds validados más recientes que el cursor (null = desde el principio), sin piecesPlaced
+    Flux<Build> findHistory(String playerId, BuildHistoryCursor cursor, int limit);
+
+}
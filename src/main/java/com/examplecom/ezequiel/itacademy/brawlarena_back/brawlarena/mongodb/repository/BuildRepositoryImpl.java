@@ -0,0 +1,64 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildHistoryCursor;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+public class BuildRepositoryImpl implements BuildRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public BuildRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Build> completePending(Build build) {
+        Query pendiente = Query.query(Criteria.where("_id").is(build.getId()).and("valid").is(false));
+
+        Update validado = new Update()
+                .set("valid", true)
+                .set("score", build.getScore())
+                .set("duration", build.getDuration())
+                .set("errors", build.getErrors())
+                .set("piecesPlaced", build.getPiecesPlaced());
+
+        return mongoTemplate.findAndModify(pendiente, validado, FindAndModifyOptions.options().returnNew(true), Build.class);
+    }
+
+    @Override
+    public Flux<Build> findHistory(String playerId, BuildHistoryCursor cursor, int limit) {
+        Criteria criteria = Criteria.where("playerId").is(playerId).and("valid").is(true);
+        if (cursor != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(cursor.createdAt()),
+                    Criteria.where("createdAt").is(cursor.createdAt()).and("_id").lt(cursor.id())
+            );
+        }
+
+        // limit 0 equivale a sin límite (lectura en streaming)
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(limit);
+        query.fields().exclude("piecesPlaced");
+
+        return mongoTemplate.find(query, Build.class);
+    }
+
+    @Override
+    public Mono<Void> updateScore(String buildId, int score) {
+        return mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(buildId)),
+                        Update.update("score", score),
+                        Build.class)
+                .then();
+    }
+}
@@ -1,9 +1,17 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
 
 @Repository
-public interface CharacterRepository extends ReactiveMongoRepository<Character, String> {
-}
\ No newline at end of file
+public interface CharacterRepository extends ReactiveMongoRepository<Character, String>, CharacterRepositoryCustom {
+
+    // Proyección para listados: las piezas y la descripción no salen de Mongo
+    @Query(value = "{ '_id': { $in: ?0 } }", fields = "{ 'pieces': 0, 'description': 0 }")
+    Flux<Character> findSummariesByIdIn(Collection<String> ids);
+}
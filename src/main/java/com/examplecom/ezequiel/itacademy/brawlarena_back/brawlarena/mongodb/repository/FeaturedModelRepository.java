@@ -0,0 +1,9 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.FeaturedModel;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+
+public interface FeaturedModelRepository extends ReactiveMongoRepository<FeaturedModel, String>, FeaturedModelRepositoryCustom {
+
+}
@@ -0,0 +1,14 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.FeaturedModel;
+import reactor.core.publisher.Mono;
+
+
+public interface FeaturedModelRepositoryCustom {
+    // Cambia el destacado con una única escritura atómica (upsert) y devuelve el puntero nuevo
+    Mono<FeaturedModel> pointTo(String sharedModelId);
+
+    // Quita el puntero solo si sigue señalando a ese modelo; true si se ha quitado
+    Mono<Boolean> clearIfPointingTo(String sharedModelId);
+
+}
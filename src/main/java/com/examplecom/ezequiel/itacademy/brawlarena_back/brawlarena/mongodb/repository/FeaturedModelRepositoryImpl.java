@@ -0,0 +1,42 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.FeaturedModel;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+
+public class FeaturedModelRepositoryImpl implements FeaturedModelRepositoryCustom {
+
+    private static final String MODELO = "sharedModelId";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public FeaturedModelRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<FeaturedModel> pointTo(String sharedModelId) {
+        return mongoTemplate.findAndModify(
+                puntero(),
+                new Update().set(MODELO, sharedModelId).set("featuredAt", Instant.now()),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                FeaturedModel.class);
+    }
+
+    @Override
+    public Mono<Boolean> clearIfPointingTo(String sharedModelId) {
+        return mongoTemplate.remove(puntero().addCriteria(Criteria.where(MODELO).is(sharedModelId)), FeaturedModel.class)
+                .map(resultado -> resultado.getDeletedCount() > 0);
+    }
+
+    private Query puntero() {
+        return Query.query(Criteria.where("_id").is(FeaturedModel.ID));
+    }
+}
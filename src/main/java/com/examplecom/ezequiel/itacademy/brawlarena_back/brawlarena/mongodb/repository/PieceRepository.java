@@ -8,7 +8,7 @@ import reactor.core.publisher.Flux;
 import java.util.List;
 
 @Repository
-public interface PieceRepository extends ReactiveMongoRepository<Piece, String> {
+public interface PieceRepository extends ReactiveMongoRepository<Piece, String>, PieceRepositoryCustom {
     Flux<Piece> findByIdIn(List<String> ids);
 
 }
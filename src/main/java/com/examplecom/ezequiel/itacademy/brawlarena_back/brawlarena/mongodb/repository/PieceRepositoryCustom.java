@@ -0,0 +1,13 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+
+public interface PieceRepositoryCustom {
+    // Reemplaza (o inserta) todos los documentos en un único bulkWrite; devuelve cuántos se escribieron
+    Mono<Integer> replaceAll(List<Piece> documentos, boolean ordered);
+
+}
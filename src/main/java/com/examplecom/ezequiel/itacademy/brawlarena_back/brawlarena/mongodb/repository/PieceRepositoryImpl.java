@@ -0,0 +1,38 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+
+public class PieceRepositoryImpl implements PieceRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public PieceRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Integer> replaceAll(List<Piece> documentos, boolean ordered) {
+        if (documentos.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(ordered ? BulkMode.ORDERED : BulkMode.UNORDERED, Piece.class);
+        documentos.forEach(documento -> bulk.replaceOne(
+                Query.query(Criteria.where("_id").is(documento.getId())),
+                documento,
+                FindAndReplaceOptions.options().upsert()));
+
+        return bulk.execute()
+                .map(resultado -> resultado.getMatchedCount() + resultado.getUpserts().size());
+    }
+}
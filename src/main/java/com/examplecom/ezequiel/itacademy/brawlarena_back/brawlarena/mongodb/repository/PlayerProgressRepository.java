@@ -0,0 +1,9 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.PlayerProgress;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+
+public interface PlayerProgressRepository extends ReactiveMongoRepository<PlayerProgress, String>, PlayerProgressRepositoryCustom {
+
+}
@@ -0,0 +1,18 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.PlayerProgress;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+
+public interface PlayerProgressRepositoryCustom {
+    // Añade el personaje y suma la maestría de poderes en una sola escritura.
+    // Devuelve el documento tal y como estaba antes (vacío si no existía)
+    Mono<PlayerProgress> addCompletedCharacter(String playerId, String characterId, Map<Power, Integer> powerProgress);
+    // Crea el documento con los personajes ya completados; si ya existe no lo modifica
+    Mono<Void> seedCompletedCharacters(String playerId, Collection<String> characterIds);
+
+}
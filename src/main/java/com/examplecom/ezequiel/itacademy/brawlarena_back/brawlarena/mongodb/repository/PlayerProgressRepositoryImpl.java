@@ -0,0 +1,53 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.PlayerProgress;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+
+public class PlayerProgressRepositoryImpl implements PlayerProgressRepositoryCustom {
+
+    private static final String COMPLETADOS = "completedCharacterIds";
+    private static final String MAESTRIA = "powerMastery.";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public PlayerProgressRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<PlayerProgress> addCompletedCharacter(String playerId, String characterId, Map<Power, Integer> powerProgress) {
+        Update update = new Update().addToSet(COMPLETADOS, characterId);
+        powerProgress.forEach((poder, puntos) -> update.inc(MAESTRIA + poder.name(), puntos));
+
+        return mongoTemplate.findAndModify(
+                porJugador(playerId),
+                update,
+                FindAndModifyOptions.options().upsert(true).returnNew(false),
+                PlayerProgress.class);
+    }
+
+    @Override
+    public Mono<Void> seedCompletedCharacters(String playerId, Collection<String> characterIds) {
+        // $setOnInsert: si otra petición ya creó el documento, la semilla no pisa lo que haya registrado
+        return mongoTemplate.upsert(
+                        porJugador(playerId),
+                        new Update().setOnInsert(COMPLETADOS, List.copyOf(characterIds)),
+                        PlayerProgress.class)
+                .then();
+    }
+
+    private Query porJugador(String playerId) {
+        return Query.query(Criteria.where("_id").is(playerId));
+    }
+}
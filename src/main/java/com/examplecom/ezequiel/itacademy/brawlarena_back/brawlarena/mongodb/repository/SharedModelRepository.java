@@ -5,10 +5,9 @@ import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enti
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import reactor.core.publisher.Flux;
 
-public interface SharedModelRepository extends ReactiveMongoRepository<SharedModel, String> {
+public interface SharedModelRepository extends ReactiveMongoRepository<SharedModel, String>, SharedModelRepositoryCustom {
     Flux<SharedModel> findByCharacterId(String characterId);
     Flux<SharedModel> findByPlayerId(String playerId);
-    Flux<SharedModel> findByHighlightedTrue();
 
 }
 
@@ -0,0 +1,36 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterGalleryStats;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryCursor;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+
+public interface SharedModelRepositoryCustom {
+    // Modelos compartidos más recientes que el cursor (null = desde el principio), ordenados en Mongo
+    Flux<SharedModel> findPage(GalleryCursor cursor, int limit);
+
+    // Destacado guardado con el antiguo campo highlighted, anterior al puntero de gallery_featured
+    Mono<SharedModel> findLegacyHighlighted();
+
+    // Modelos compartidos antes de guardar la ficha del personaje en la galería
+    Flux<SharedModel> findWithoutCharacterData();
+
+    // Rellena ficha y poderes con un $set, sin pisar el resto del documento (p. ej. highlighted)
+    Mono<Boolean> fillCharacterData(String id, Character character, PowerSet powers);
+
+    // Propaga a los modelos de cada personaje los cambios de nombre, imagen o dificultad en una sola petición
+    Mono<Long> refreshCharacterData(List<Character> characters);
+
+    // Jugadores distintos que compartieron el personaje, deduplicados en Mongo
+    Flux<String> findDistinctPlayerIds(String characterId);
+
+    // Compartidos, jugadores únicos y mejor puntuación de cada personaje
+    Flux<CharacterGalleryStats> characterStats();
+
+}
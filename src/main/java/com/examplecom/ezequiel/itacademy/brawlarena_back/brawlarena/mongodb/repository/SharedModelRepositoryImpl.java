@@ -0,0 +1,120 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterGalleryStats;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryCursor;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+
+public class SharedModelRepositoryImpl implements SharedModelRepositoryCustom {
+
+    private static final String NOMBRE_PERSONAJE = "characterName";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public SharedModelRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<SharedModel> findPage(GalleryCursor cursor, int limit) {
+        Criteria criteria = new Criteria();
+        if (cursor != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("sharedAt").lt(cursor.sharedAt()),
+                    Criteria.where("sharedAt").is(cursor.sharedAt()).and("_id").lt(cursor.id())
+            );
+        }
+
+        // Recorre el índice shared_at_idx: sin ordenación en memoria ni lectura de toda la colección
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "sharedAt", "_id"))
+                .limit(limit);
+
+        return mongoTemplate.find(query, SharedModel.class);
+    }
+
+    @Override
+    public Mono<SharedModel> findLegacyHighlighted() {
+        return mongoTemplate.findOne(Query.query(Criteria.where("highlighted").is(true)), SharedModel.class);
+    }
+
+    @Override
+    public Flux<SharedModel> findWithoutCharacterData() {
+        return mongoTemplate.find(Query.query(Criteria.where(NOMBRE_PERSONAJE).exists(false)), SharedModel.class);
+    }
+
+    @Override
+    public Mono<Boolean> fillCharacterData(String id, Character character, PowerSet powers) {
+        return mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(id)),
+                        fichaPersonaje(character).set("powers", powers),
+                        SharedModel.class)
+                .map(resultado -> resultado.getModifiedCount() > 0);
+    }
+
+    @Override
+    public Mono<Long> refreshCharacterData(List<Character> characters) {
+        if (characters.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, SharedModel.class);
+        characters.forEach(character -> bulk.updateMulti(
+                Query.query(Criteria.where("characterId").is(character.getId())),
+                fichaPersonaje(character)));
+
+        return bulk.execute()
+                .map(resultado -> (long) resultado.getModifiedCount());
+    }
+
+    @Override
+    public Flux<String> findDistinctPlayerIds(String characterId) {
+        return mongoTemplate.findDistinct(
+                Query.query(Criteria.where("characterId").is(characterId)),
+                "playerId", SharedModel.class, String.class);
+    }
+
+    @Override
+    public Flux<CharacterGalleryStats> characterStats() {
+        // Primero por (personaje, jugador) y luego por personaje: los jugadores únicos se cuentan sin acumular arrays
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group(Fields.fields("characterId", "playerId"))
+                        .count().as("shares")
+                        .max("score").as("bestScore")
+                        .first(NOMBRE_PERSONAJE).as(NOMBRE_PERSONAJE),
+                Aggregation.group("_id.characterId")
+                        .sum("shares").as("shares")
+                        .count().as("uniquePlayers")
+                        .max("bestScore").as("bestScore")
+                        .first(NOMBRE_PERSONAJE).as(NOMBRE_PERSONAJE),
+                Aggregation.project("shares", "uniquePlayers", "bestScore", NOMBRE_PERSONAJE)
+                        .and("_id").as("characterId")
+                        .andExclude("_id"),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "shares").and(Sort.by("characterId")))
+        );
+
+        return mongoTemplate.aggregate(aggregation, SharedModel.class, CharacterGalleryStats.class);
+    }
+
+    private static Update fichaPersonaje(Character character) {
+        return new Update()
+                .set(NOMBRE_PERSONAJE, character.getName())
+                .set("characterImageUrl", character.getImageUrl())
+                .set("characterDifficulty", character.getDifficulty());
+    }
+}
@@ -16,6 +16,7 @@ public class BuildRouterConfig {
         return route()
                 .POST("/builds/start", handler::startBuild)
                 .POST("/builds/validate", handler::validateBuild)
+                .POST("/builds/validate/batch", handler::validateBuildBatch)
                 .GET("/builds/history", handler::getBuildHistory)
                 .GET("/builds/pending", handler::getPendingBuild)
                 .build();
@@ -0,0 +1,21 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.routers;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers.CatalogHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class CatalogRouterConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> catalogRoutes(CatalogHandler handler) {
+        return route()
+                .POST("/admin/catalog/import", handler::importCatalog)
+                .GET("/admin/catalog/export", handler::exportCatalog)
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.routers;
 
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config.HttpCacheConfig;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers.CharacterHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,17 +15,22 @@ import static org.springframework.web.reactive.function.server.RouterFunctions.r
 public class CharacterRouterConfig {
 
     @Bean
-    public RouterFunction<ServerResponse> characterRoutes(CharacterHandler characterHandler) {
+    public RouterFunction<ServerResponse> characterRoutes(CharacterHandler characterHandler,
+                                                          CharacterCatalog characterCatalog,
+                                                          HttpCacheConfig httpCacheConfig) {
+        // ETag ligado a la versión del catálogo: cualquier escritura de personajes lo invalida
+        ConditionalGetFilter catalogo = ConditionalGetFilter.of("characters", characterCatalog::stamp, httpCacheConfig.catalogPolicy());
+        // /characters/{id} exige autenticación: Cache-Control private para que ningún proxy lo comparta
+        ConditionalGetFilter detalle = ConditionalGetFilter.of("character", characterCatalog::stamp, httpCacheConfig.authenticatedCatalogPolicy());
+
         return route()
-                .GET("/characters/all", characterHandler::getAllCharacters)
+                .GET("/characters/all", catalogo.apply(characterHandler::getAllCharacters))
                 .GET("/characters/unlocked", characterHandler::getCharacterId)
                 .POST("/characters/unlock", characterHandler::unlockCharacter)
-                .GET("/characters/{id}", characterHandler::getCharacterDetail)
+                .GET("/characters/{id}", detalle.apply(characterHandler::getCharacterDetail))
                 .PUT("/characters/{id}", characterHandler::updateCharacter)
                 .POST("/characters/{id}/pieces", characterHandler::assignPiecesToCharacter)
                 .POST("/characters/{id}/pieces-with-powers", characterHandler::assignPiecesWithPowers)
-                .GET("/mongo/test", characterHandler::testMongoConnection)
-                .GET("/mongo/free-characters", characterHandler::getFreeCharacters)
 
                 .build();
     }
@@ -0,0 +1,77 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.routers;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.VersionStamp;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers.StreamingMediaTypes;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+public class ConditionalGetFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    // Distingue ETags de distintos arranques: los contadores de versión empiezan en 0 en cada proceso
+    private static final long ARRANQUE = System.currentTimeMillis();
+
+    private final String ambito;
+    private final Supplier<VersionStamp> version;
+    private final CacheControl cacheControl;
+
+    private ConditionalGetFilter(String ambito, Supplier<VersionStamp> version, CacheControl cacheControl) {
+        this.ambito = ambito;
+        this.version = version;
+        this.cacheControl = cacheControl;
+    }
+
+    public static ConditionalGetFilter of(String ambito, Supplier<VersionStamp> version, CacheControl cacheControl) {
+        return new ConditionalGetFilter(ambito, version, cacheControl);
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        // La versión se lee antes de generar el cuerpo: si cambia entre medias el ETag queda viejo, nunca adelantado
+        VersionStamp actual = version.get();
+        String etag = ambito + "-" + ARRANQUE + "-" + representacion(request) + "-" + actual.version();
+
+        HttpHeaders headers = request.exchange().getResponse().getHeaders();
+        headers.setCacheControl(cacheControl);
+        headers.setVary(List.of(HttpHeaders.ACCEPT));
+
+        // Si el cliente ya tiene esta versión se responde 304 sin llegar al handler ni a Mongo
+        return request.checkNotModified(actual.modifiedAt(), etag)
+                .switchIfEmpty(Mono.defer(() -> next.handle(request)))
+                .doOnNext(response -> {
+                    if (!response.statusCode().is2xxSuccessful() && !response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        sinValidadores(headers);
+                    }
+                })
+                .doOnError(error -> sinValidadores(headers));
+    }
+
+    // JSON, NDJSON/SSE, ?view=summary o cada página del cursor son representaciones distintas:
+    // un ETag fuerte no puede compartirse entre ellas
+    private static String representacion(ServerRequest request) {
+        MediaType tipo = StreamingMediaTypes.negociar(request).orElse(MediaType.APPLICATION_JSON);
+        MultiValueMap<String, String> parametros = request.queryParams();
+        String variante = tipo + "?" + new TreeMap<>(parametros);
+        return DigestUtils.md5DigestAsHex(variante.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+
+    // Los errores no se cachean ni llevan validadores
+    private static void sinValidadores(HttpHeaders headers) {
+        headers.remove(HttpHeaders.ETAG);
+        headers.remove(HttpHeaders.LAST_MODIFIED);
+        headers.setCacheControl(CacheControl.noStore());
+    }
+}
@@ -1,5 +1,7 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.routers;
 
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config.HttpCacheConfig;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.GalleryVersion;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers.GalleryHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,14 +13,21 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 public class GalleryRouterConfig {
 
     @Bean
-    public RouterFunction<ServerResponse> galleryRoutes(GalleryHandler galleryHandler) {
+    public RouterFunction<ServerResponse> galleryRoutes(GalleryHandler galleryHandler,
+                                                        GalleryVersion galleryVersion,
+                                                        HttpCacheConfig httpCacheConfig) {
+        ConditionalGetFilter galeria = ConditionalGetFilter.of("gallery", galleryVersion::stamp, httpCacheConfig.galleryPolicy());
+        ConditionalGetFilter destacado = ConditionalGetFilter.of("highlighted", galleryVersion::stamp, httpCacheConfig.highlightedPolicy());
+
         return RouterFunctions.route()
-                .GET("/gallery", galleryHandler::getPublicGallery)
+                .GET("/gallery", galeria.apply(galleryHandler::getPublicGallery))
+                .GET("/gallery/stream", galleryHandler::streamGallery)
                 .POST("/gallery/share", galleryHandler::shareModel)
-                .GET("/gallery/highlighted", galleryHandler::getHighlightedModel)
+                .GET("/gallery/highlighted", destacado.apply(galleryHandler::getHighlightedModel))
                 .GET("/gallery/character/{characterId}", galleryHandler::getSharedUsersByCharacter)
                 .PUT("/gallery/highlighted", galleryHandler::highlightModel)
                 .DELETE("/gallery/{sharedModelId}", galleryHandler::deleteSharedModel)
+                .GET("/admin/gallery/stats", galleryHandler::getCharacterStats)
                 .build();
     }
 }
\ No newline at end of file
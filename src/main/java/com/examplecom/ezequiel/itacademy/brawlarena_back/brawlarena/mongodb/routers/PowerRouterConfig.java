@@ -0,0 +1,20 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.routers;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers.PowerHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class PowerRouterConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> powerRoutes(PowerHandler handler) {
+        return route()
+                .GET("/powers/me", handler::getMyPowerMastery)
+                .build();
+    }
+}
@@ -1,14 +1,24 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service;
 
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildHistoryPage;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildSummary;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildValidationResult;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+
 public interface BuildService {
 
     Mono<Build> startBuild(String playerId, String characterId);
     Mono<Build> validateBuild(String playerId, Build buildData);
-    Flux<Build> getBuildHistory(String playerId);
+    // El Mono resuelve al jugador antes de empezar; el Flux interior emite los resultados del lote
+    Mono<Flux<BuildValidationResult>> validateBuilds(String playerId, Flux<Build> builds);
+    Mono<BuildHistoryPage> getBuildHistory(String playerId, String cursor, int limit);
+    Flux<BuildSummary> streamBuildHistory(String playerId, String cursor);
+    Mono<Map<Power, Integer>> getPowerMastery(String playerId);
     void clearPiecesCache(String characterId);
     Mono<Build> getPendingBuild(String playerId, String characterId);
 
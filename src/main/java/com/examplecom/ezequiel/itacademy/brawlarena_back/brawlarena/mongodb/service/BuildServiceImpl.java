@@ -1,22 +1,33 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service;
 
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.common.constant.validator.BuildValidator;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.*;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildHistoryCursor;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildHistoryPage;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildSummary;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildValidationResult;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.ValidationPlanCache;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.common.constant.logic.ScoreCalculator;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.common.constant.logic.ValidationPlan;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.PlayerProgress;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.BuildRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.PlayerProgressRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.UserCharacter;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserCharacterRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 
 import java.util.*;
@@ -28,68 +39,54 @@ import java.util.stream.Collectors;
 public class BuildServiceImpl implements BuildService {
 
     private static final Logger logger = LoggerFactory.getLogger(BuildServiceImpl.class);
+    private static final int CONCURRENCIA_LOTE = 8;
+    private static final int HISTORIAL_LIMITE_MAXIMO = 100;
 
 
     private final UserRepository userRepository;
+    private final UserCharacterRepository userCharacterRepository;
     private final BuildRepository buildRepository;
     private final CharacterRepository characterRepository;
-    private final Map<String, List<Piece>> piezasCache = new ConcurrentHashMap<>();
+    private final PlayerProgressRepository playerProgressRepository;
+    private final ValidationPlanCache planesCache;
     private final ScoreCalculator scoreCalculator;
 
-    public BuildServiceImpl(UserRepository userRepository, BuildRepository buildRepository, CharacterRepository characterRepository, ScoreCalculator scoreCalculator) {
+    public BuildServiceImpl(UserRepository userRepository, UserCharacterRepository userCharacterRepository, BuildRepository buildRepository, CharacterRepository characterRepository, PlayerProgressRepository playerProgressRepository, ScoreCalculator scoreCalculator, ValidationPlanCache planesCache) {
         this.userRepository = userRepository;
+        this.userCharacterRepository = userCharacterRepository;
         this.buildRepository = buildRepository;
         this.characterRepository = characterRepository;
+        this.playerProgressRepository = playerProgressRepository;
         this.scoreCalculator = scoreCalculator;
+        this.planesCache = planesCache;
     }
 
-    private static class EvaluacionPiezas {
-        private final List<Piece> piezasColocadas;
-        private final long errores;
-
-        public EvaluacionPiezas(List<Piece> piezasColocadas, long errores) {
-            this.piezasColocadas = piezasColocadas;
-            this.errores = errores;
-        }
-
-        public List<Piece> getPiezasColocadas() {
-            return piezasColocadas;
-        }
-
-        public long getErrores() {
-            return errores;
-        }
-    }
-
-    private Mono<Character> verificarAcceso(String playerId, String characterId) {
-        Mono<User> userMono = userRepository.findByNickname(playerId)
-                .switchIfEmpty(Mono.error(new UserNotFoundException("Usuario no encontrado")));
+    private Mono<Character> verificarAcceso(String playerId, String characterId, String mensajeDenegado) {
+        // Consulta indexada por (user_id, character_id) en lugar de recorrer la galería completa
+        Mono<Boolean> desbloqueadoMono = userRepository.findByNickname(playerId)
+                .switchIfEmpty(Mono.error(new UserNotFoundException("Usuario no encontrado")))
+                .flatMap(user -> userCharacterRepository.existsByUserIdAndCharacterId(user.getId(), characterId));
 
         Mono<Character> characterMono = characterRepository.findById(characterId)
                 .switchIfEmpty(Mono.error(new CharacterNotFoundException("Personaje no encontrado")));
 
-        return Mono.zip(userMono, characterMono)
+        return Mono.zip(desbloqueadoMono, characterMono)
                 .flatMap(tuple -> {
-                    User user = tuple.getT1();
-                    Character character = tuple.getT2();
-
-                    List<String> idsDesbloqueados = Optional.ofNullable(user.getCharacterIds())
-                            .map(ids -> Arrays.stream(ids.replace("[", "").replace("]", "").split(","))
-                                    .map(String::trim)
-                                    .map(id -> id.replace("\"", ""))
-                                    .filter(s -> !s.isBlank())
-                                    .toList())
-                            .orElse(List.of());
-
-                    if (!idsDesbloqueados.contains(characterId)) {
+                    if (!tuple.getT1()) {
                         logger.warn("Acceso denegado: personaje {} no desbloqueado por jugador {}", characterId, playerId);
-                        return Mono.error(new CharacterAccessDeniedException("No puedes validar un build de un personaje que no has desbloqueado"));
+                        return Mono.error(new CharacterAccessDeniedException(mensajeDenegado));
                     }
 
-                    return Mono.just(character);
+                    return Mono.just(tuple.getT2());
                 });
     }
 
+    private Mono<Set<String>> obtenerIdsDesbloqueados(User user) {
+        return userCharacterRepository.findByUserId(user.getId())
+                .map(UserCharacter::getCharacterId)
+                .collect(Collectors.toSet());
+    }
+
     private Mono<Build> obtenerBuildPendiente(String playerId, String characterId) {
         return buildRepository.findByPlayerIdAndCharacterIdAndValidFalse(playerId, characterId)
                 .next()
@@ -100,120 +97,97 @@ public class BuildServiceImpl implements BuildService {
                 }));
     }
 
-    private EvaluacionPiezas evaluarPiezas(List<String> piezasColocadasIds, List<Piece> piezasCorrectas) {
-        List<Piece> piezasColocadas = piezasCorrectas.stream()
-                .filter(p -> piezasColocadasIds.contains(p.getId()))
-                .toList();
+    // Marca el personaje como completado, acumula la maestría de poderes y devuelve si es la primera vez.
+    // El documento ya está sembrado (asegurarProgreso), así que el estado anterior es fiable
+    private Mono<Boolean> registrarCompletado(String playerId, Build build, Map<Power, Integer> progresionPoderes) {
+        String characterId = build.getCharacterId();
+        return playerProgressRepository.addCompletedCharacter(playerId, characterId, progresionPoderes)
+                .map(anterior -> anterior.getCompletedCharacterIds() == null
+                        || !anterior.getCompletedCharacterIds().contains(characterId))
+                // Solo si el documento desapareció entre medias: el upsert lo recrea con este personaje
+                .defaultIfEmpty(true);
+    }
 
-        long errores = piezasColocadasIds.stream()
-                .filter(id -> piezasCorrectas.stream().noneMatch(p -> p.getId().equals(id)))
-                .count();
+    // Jugador sin documento de progreso: se siembra con los personajes ya completados antes de validar el build
+    private Mono<Void> asegurarProgreso(String playerId) {
+        return playerProgressRepository.existsById(playerId)
+                .flatMap(existe -> existe ? Mono.<Void>empty() : sembrarProgresoDesdeHistorial(playerId));
+    }
 
-        return new EvaluacionPiezas(piezasColocadas, errores);
+    // El build actual sigue pendiente y no entra en la semilla; si otra petición sembró antes, $setOnInsert no hace nada
+    private Mono<Void> sembrarProgresoDesdeHistorial(String playerId) {
+        return buildRepository.findByPlayerIdAndValidTrueOrderByCreatedAtDesc(playerId)
+                .map(Build::getCharacterId)
+                .collect(Collectors.toSet())
+                .flatMap(completados -> playerProgressRepository.seedCompletedCharacters(playerId, completados))
+                .doOnSuccess(v -> logger.info("Progreso inicializado desde el historial para jugador {}", playerId));
     }
 
-    private Mono<Build> completarYGuardarBuild(Build build, List<String> piezasColocadasIds, long errores, int duration, boolean primeraVez, List<Piece> piezasColocadas, List<Piece> piezasCorrectas) {
-        int score = scoreCalculator.calculateScore(
-                piezasColocadas,
-                piezasCorrectas,
-                (int) errores,
+    private Mono<Build> completarYGuardarBuild(Build build, List<String> piezasColocadasIds, ValidationPlan.Resultado resultado, int duration) {
+        int errores = resultado.errores();
+        // La bonificación de primera vez se aplica después, una vez ganada la validación
+        int score = scoreCalculator.finalScore(
+                resultado.puntosPiezas(),
+                errores,
                 duration,
-                primeraVez
+                false
         );
 
-        build.setValid(true);
         build.setScore(score);
         build.setDuration(duration);
-        build.setErrors((int) errores);
+        build.setErrors(errores);
         build.setPiecesPlaced(piezasColocadasIds);
 
-        return buildRepository.save(build)
+        // Compare-and-set: solo una petición concurrente puede pasar el build de pendiente a validado
+        return buildRepository.completePending(build)
+                .switchIfEmpty(Mono.defer(() -> {
+                    logger.warn("Build {} ya validado por otra petición concurrente", build.getId());
+                    return Mono.error(new BuildAlreadyValidatedException("Este build ya ha sido validado"));
+                }))
                 .doOnSuccess(saved -> logger.info(
                         "Build validado: {} | Score: {} | Duration: {}s | Errores: {}",
                         saved.getId(), score, duration, errores
                 ));
     }
 
-    private Map<Power, Integer> evaluarProgresionDePoderes(List<Piece> piezasColocadas, List<String> idsColocados, List<Piece> piezasCorrectas) {
-        Map<Power, Integer> progresion = new EnumMap<>(Power.class);
-
-        for (Piece pieza : piezasColocadas) {
-            Power power = pieza.getPower();
-            if (power != null) {
-                progresion.merge(power, 33, Integer::sum);
-            }
-        }
-
-        Set<String> idsCorrectos = piezasCorrectas.stream()
-                .map(Piece::getId)
-                .collect(Collectors.toSet());
-
-        List<String> idsFallados = idsColocados.stream()
-                .filter(id -> !idsCorrectos.contains(id))
-                .toList();
-
-        for (Piece pieza : piezasCorrectas) {
-            if (pieza.getPower() != null && idsFallados.contains(pieza.getId())) {
-                progresion.merge(pieza.getPower(), -15, Integer::sum);
-            }
-        }
+    private Mono<Build> aplicarBonusPrimeraVez(Build build, ValidationPlan.Resultado resultado, int duration) {
+        int score = scoreCalculator.finalScore(resultado.puntosPiezas(), resultado.errores(), duration, true);
+        build.setScore(score);
 
-        return progresion;
+        return buildRepository.updateScore(build.getId(), score)
+                .doOnSuccess(v -> logger.info("Bonificación de primera vez aplicada al build {} | Score: {}", build.getId(), score))
+                .thenReturn(build);
     }
 
 
     @Override
     public Mono<Build> startBuild(String playerId, String characterId) {
-        Mono<User> userMono = userRepository.findByNickname(playerId)
-                .switchIfEmpty(Mono.error(new UserNotFoundException("Usuario no encontrado")));
-
-        Mono<Character> characterMono = characterRepository.findById(characterId)
-                .switchIfEmpty(Mono.error(new CharacterNotFoundException("Personaje no encontrado")));
-
-        return Mono.zip(userMono, characterMono)
-                .flatMap(tuple -> {
-                    User user = tuple.getT1();
-                    Character character = tuple.getT2();
-
-                    List<String> idsDesbloqueados = Optional.ofNullable(user.getCharacterIds())
-                            .map(ids -> Arrays.stream(ids.replace("[", "").replace("]", "").split(","))
-                                    .map(String::trim)
-                                    .map(id -> id.replace("\"", ""))
-                                    .filter(s -> !s.isBlank())
-                                    .toList())
-                            .orElse(List.of());
-
-                    if (!idsDesbloqueados.contains(characterId)) {
-                        logger.warn("Acceso denegado: personaje {} no desbloqueado por jugador {}", characterId, playerId);
-                        return Mono.error(new CharacterAccessDeniedException("No puedes iniciar un build con este personaje"));
+        return verificarAcceso(playerId, characterId, "No puedes iniciar un build con este personaje")
+                .flatMap(character -> buildRepository.existsByPlayerIdAndCharacterIdAndValidFalse(playerId, characterId))
+                .flatMap(exists -> {
+                    if (exists) {
+                        logger.warn("Ya existe un build no validado para jugador {} y personaje {}", playerId, characterId);
+                        return Mono.error(new BuildAlreadyExistsException("Ya tienes un build activo para este personaje"));
                     }
 
-                    return buildRepository.findAll()
-                            .filter(build -> build.getPlayerId().equals(playerId)
-                                    && build.getCharacterId().equals(characterId)
-                                    && !build.isValid())
-                            .hasElements()
-                            .flatMap(exists -> {
-                                if (exists) {
-                                    logger.warn("Ya existe un build no validado para jugador {} y personaje {}", playerId, characterId);
-                                    return Mono.error(new BuildAlreadyExistsException("Ya tienes un build activo para este personaje"));
-                                }
-
-                                Build newBuild = new Build();
-                                newBuild.setPlayerId(playerId);
-                                newBuild.setCharacterId(characterId);
-                                newBuild.setValid(false);
-                                newBuild.setCreatedAt(Instant.now());
-
-                                return buildRepository.save(newBuild)
-                                        .doOnSuccess(saved -> logger.info("Nuevo build iniciado: {}", saved.getId()));
-                            });
+                    Build newBuild = new Build();
+                    newBuild.setPlayerId(playerId);
+                    newBuild.setCharacterId(characterId);
+                    newBuild.setValid(false);
+                    newBuild.setCreatedAt(Instant.now());
+
+                    // El índice único parcial resuelve la carrera entre dos inicios simultáneos
+                    return buildRepository.insert(newBuild)
+                            .onErrorMap(DuplicateKeyException.class, e -> {
+                                logger.warn("Build pendiente duplicado rechazado por índice para jugador {} y personaje {}", playerId, characterId);
+                                return new BuildAlreadyExistsException("Ya tienes un build activo para este personaje");
+                            })
+                            .doOnSuccess(saved -> logger.info("Nuevo build iniciado: {}", saved.getId()));
                 })
                 .doOnError(error -> logger.error("Error en startBuild: {}", error.getMessage()));
     }
 
     @Override
-    @Transactional
     public Mono<Build> validateBuild(String playerId, Build buildData) {
 
         Objects.requireNonNull(playerId, "playerId no puede ser null");
@@ -226,68 +200,120 @@ public class BuildServiceImpl implements BuildService {
 
 
         String characterId = buildData.getCharacterId();
-        List<String> piezasColocadasIds = buildData.getPiecesPlaced();
-        long duration = buildData.getDuration();
 
-        return verificarAcceso(playerId, characterId)
-                .flatMap(character -> {
-                    List<Piece> piezasCorrectas = piezasCache.computeIfAbsent(characterId, id -> {
-                        List<Piece> piezas = character.getPieces();
-                        if (piezas == null) {
-                            logger.warn("El personaje {} no tiene piezas asignadas", characterId);
-                            return List.of();
-                        }
-                        return piezas.stream()
-                                .filter(p -> !p.isFake())
-                                .toList();
-                    });
-
-
-                    return obtenerBuildPendiente(playerId, characterId)
-                            .flatMap(buildExistente -> {
-                                EvaluacionPiezas evaluacion = evaluarPiezas(piezasColocadasIds, piezasCorrectas);
-                                List<Piece> piezasColocadas = evaluacion.getPiezasColocadas();
-                                long errores = evaluacion.getErrores();
-
-                                return buildRepository.countByPlayerIdAndCharacterIdAndValidTrue(playerId, characterId)
-                                        .map(count -> count == 0)
-                                        .flatMap(primeraVezCompletado ->
-                                                completarYGuardarBuild(
-                                                        buildExistente,
-                                                        piezasColocadasIds,
-                                                        errores,
-                                                        (int) duration,
-                                                        primeraVezCompletado,
-                                                        piezasColocadas,
-                                                        piezasCorrectas
-                                                )
-                                        )
-                                        .map(build -> {
-                                            Map<Power, Integer> powerProgress = evaluarProgresionDePoderes(piezasColocadas, piezasColocadasIds, piezasCorrectas);
-                                            build.setPowerProgress(powerProgress);
-                                            return build;
-                                        });
-
-                            });
+        return verificarAcceso(playerId, characterId, "No puedes validar un build de un personaje que no has desbloqueado")
+                .flatMap(character -> validarConPlan(playerId, character, buildData))
+                .doOnError(error -> logger.error("Error durante la validación de build: {}", error.getMessage()));
+
+    }
+
+    @Override
+    public Mono<Flux<BuildValidationResult>> validateBuilds(String playerId, Flux<Build> builds) {
+        Objects.requireNonNull(playerId, "playerId no puede ser null");
+
+        // Usuario y desbloqueos se resuelven antes de abrir el stream: un jugador inexistente no llega a un 200
+        return userRepository.findByNickname(playerId)
+                .switchIfEmpty(Mono.error(new UserNotFoundException("Usuario no encontrado")))
+                .flatMap(this::obtenerIdsDesbloqueados)
+                .map(idsDesbloqueados -> {
+                    // Cada personaje distinto del lote se consulta una sola vez
+                    Map<String, Mono<Character>> personajes = new ConcurrentHashMap<>();
+
+                    return builds.index()
+                            .flatMap(tuple -> validarEnLote(playerId, idsDesbloqueados, personajes, tuple.getT1(), tuple.getT2()),
+                                    CONCURRENCIA_LOTE)
+                            .doOnError(error -> logger.error("Error durante la validación del lote de builds: {}", error.getMessage()));
+                })
+                .doOnSubscribe(sub -> logger.info("Validando lote de builds para jugador {}", playerId))
+                .doOnError(error -> logger.error("No se pudo iniciar la validación del lote de builds: {}", error.getMessage()));
+    }
+
+    private Mono<BuildValidationResult> validarEnLote(String playerId, Set<String> idsDesbloqueados, Map<String, Mono<Character>> personajes, long indice, Build buildData) {
+        return Mono.defer(() -> {
+                    BuildValidator.validateBuildData(buildData);
+                    String characterId = buildData.getCharacterId();
+
+                    if (!idsDesbloqueados.contains(characterId)) {
+                        logger.warn("Acceso denegado: personaje {} no desbloqueado por jugador {}", characterId, playerId);
+                        return Mono.error(new CharacterAccessDeniedException("No puedes validar un build de un personaje que no has desbloqueado"));
+                    }
+
+                    return personajes.computeIfAbsent(characterId, id -> characterRepository.findById(id)
+                                    .switchIfEmpty(Mono.error(new CharacterNotFoundException("Personaje no encontrado")))
+                                    .cache())
+                            .flatMap(character -> validarConPlan(playerId, character, buildData));
                 })
-                .doOnError(error -> {
-                    logger.error("Error durante la validación de build: {}", error.getMessage());
-                    clearPiecesCache(buildData.getCharacterId());
+                .map(build -> BuildValidationResult.ok(indice, build))
+                .onErrorResume(error -> {
+                    logger.warn("Build {} del lote de {} rechazado: {}", indice, playerId, error.getMessage());
+                    return Mono.just(BuildValidationResult.failed(indice, buildData.getCharacterId(), error.getMessage()));
                 });
+    }
+
+    private Mono<Build> validarConPlan(String playerId, Character character, Build buildData) {
+        String characterId = character.getId();
+        List<String> piezasColocadasIds = buildData.getPiecesPlaced();
+        long duration = buildData.getDuration();
 
+        return planesCache.get(character)
+                .flatMap(plan ->
+                        // La siembra del progreso va en paralelo a la búsqueda del pendiente y termina antes de validarlo
+                        Mono.zip(obtenerBuildPendiente(playerId, characterId), asegurarProgreso(playerId).thenReturn(Boolean.TRUE))
+                                .map(Tuple2::getT1)
+                                .flatMap(buildExistente -> {
+                                    ValidationPlan.Resultado resultado = plan.evaluar(piezasColocadasIds);
+
+                                    return completarYGuardarBuild(buildExistente, piezasColocadasIds, resultado, (int) duration)
+                                            .flatMap(build -> registrarCompletado(playerId, build, resultado.progresionPoderes())
+                                                    .flatMap(primeraVezCompletado -> primeraVezCompletado
+                                                            ? aplicarBonusPrimeraVez(build, resultado, (int) duration)
+                                                            : Mono.just(build)))
+                                            .map(build -> {
+                                                build.setPowerProgress(resultado.progresionPoderes());
+                                                return build;
+                                            });
+                                }));
     }
 
     @Override
-    public Flux<Build> getBuildHistory(String playerId) {
-        return buildRepository.findByPlayerIdAndValidTrueOrderByCreatedAtDesc(playerId)
+    public Mono<BuildHistoryPage> getBuildHistory(String playerId, String cursor, int limit) {
+        int tamanoPagina = Math.min(Math.max(limit, 1), HISTORIAL_LIMITE_MAXIMO);
+
+        return Mono.fromSupplier(() -> StringUtils.hasText(cursor) ? Optional.of(BuildHistoryCursor.decode(cursor)) : Optional.<BuildHistoryCursor>empty())
+                // Se pide un elemento de más para saber si existe una página siguiente
+                .flatMap(desde -> buildRepository.findHistory(playerId, desde.orElse(null), tamanoPagina + 1)
+                        .map(BuildSummary::from)
+                        .collectList())
+                .map(builds -> builds.size() > tamanoPagina
+                        ? new BuildHistoryPage(builds.subList(0, tamanoPagina), BuildHistoryCursor.after(builds.get(tamanoPagina - 1)).encode())
+                        : new BuildHistoryPage(builds, null))
                 .doOnSubscribe(sub -> logger.info("Recuperando historial de builds para jugador {}", playerId))
                 .doOnError(error -> logger.error("Error al recuperar historial de builds: {}", error.getMessage()));
     }
 
+    @Override
+    public Flux<BuildSummary> streamBuildHistory(String playerId, String cursor) {
+        // Sin límite de página: el cliente consume el historial completo a su ritmo
+        return Mono.fromSupplier(() -> StringUtils.hasText(cursor) ? Optional.of(BuildHistoryCursor.decode(cursor)) : Optional.<BuildHistoryCursor>empty())
+                .flatMapMany(desde -> buildRepository.findHistory(playerId, desde.orElse(null), 0))
+                .map(BuildSummary::from)
+                .doOnSubscribe(sub -> logger.info("Enviando historial de builds en streaming para jugador {}", playerId))
+                .doOnError(error -> logger.error("Error al enviar historial de builds en streaming: {}", error.getMessage()));
+    }
+
+    @Override
+    public Mono<Map<Power, Integer>> getPowerMastery(String playerId) {
+        return playerProgressRepository.findById(playerId)
+                .<Map<Power, Integer>>mapNotNull(PlayerProgress::getPowerMastery)
+                .defaultIfEmpty(Map.of())
+                .doOnSubscribe(sub -> logger.info("Recuperando maestría de poderes para jugador {}", playerId))
+                .doOnError(error -> logger.error("Error al recuperar maestría de poderes: {}", error.getMessage()));
+    }
+
     @Override
     public void clearPiecesCache(String characterId) {
-        piezasCache.remove(characterId);
-        logger.info("Caché de piezas eliminada para personaje {}", characterId);
+        planesCache.invalidate(characterId);
+        logger.info("Plan de validación eliminado de la caché para personaje {}", characterId);
     }
 
     @Override
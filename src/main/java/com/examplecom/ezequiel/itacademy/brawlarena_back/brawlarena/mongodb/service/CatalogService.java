@@ -0,0 +1,12 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CatalogImportResult;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface CatalogService {
+
+    Mono<CatalogImportResult> importCatalog(Flux<Character> characters, boolean ordered);
+    Flux<Character> exportCatalog();
+}
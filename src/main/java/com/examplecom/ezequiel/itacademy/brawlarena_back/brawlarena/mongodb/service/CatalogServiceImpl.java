@@ -0,0 +1,174 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.ValidationPlanCache;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CatalogImportResult;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.PieceRepository;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.*;
+import java.util.function.Function;
+
+@Service
+public class CatalogServiceImpl implements CatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogServiceImpl.class);
+    private static final int TAMANO_LOTE = 500;
+
+    private final CharacterRepository characterRepository;
+    private final PieceRepository pieceRepository;
+    private final CharacterCatalog characterCatalog;
+    private final ValidationPlanCache planesCache;
+    private final GalleryService galleryService;
+
+    public CatalogServiceImpl(CharacterRepository characterRepository,
+                              PieceRepository pieceRepository,
+                              CharacterCatalog characterCatalog,
+                              ValidationPlanCache planesCache,
+                              GalleryService galleryService) {
+        this.characterRepository = characterRepository;
+        this.pieceRepository = pieceRepository;
+        this.characterCatalog = characterCatalog;
+        this.planesCache = planesCache;
+        this.galleryService = galleryService;
+    }
+
+    @Override
+    public Mono<CatalogImportResult> importCatalog(Flux<Character> characters, boolean ordered) {
+        Set<String> vistos = new HashSet<>();
+        List<String> errores = Collections.synchronizedList(new ArrayList<>());
+
+        // Ordenado: la primera línea o lote con error detiene la importación.
+        // Desordenado: los errores se anotan en el resultado y se sigue con el resto.
+        return characters
+                .index()
+                .filter(linea -> {
+                    String error = validar(linea.getT2(), vistos);
+                    if (error == null) {
+                        return true;
+                    }
+                    String mensaje = "Línea " + (linea.getT1() + 1) + ": " + error;
+                    if (ordered) {
+                        throw new IllegalArgumentException(mensaje);
+                    }
+                    errores.add(mensaje);
+                    return false;
+                })
+                .map(Tuple2::getT2)
+                .buffer(TAMANO_LOTE)
+                .index()
+                .concatMap(lote -> escribirLote(lote.getT2(), lote.getT1() + 1, ordered, errores)
+                        .onErrorResume(error -> {
+                            if (ordered) {
+                                return Mono.error(error);
+                            }
+                            errores.add("Lote " + (lote.getT1() + 1) + ": " + error.getMessage());
+                            return Mono.just(new CatalogImportResult(0, 0, List.of()));
+                        }))
+                .reduce(new CatalogImportResult(0, 0, List.of()), (total, lote) ->
+                        new CatalogImportResult(total.characters() + lote.characters(), total.pieces() + lote.pieces(), List.of()))
+                .map(total -> new CatalogImportResult(total.characters(), total.pieces(), List.copyOf(errores)))
+                // Las cachés se invalidan una sola vez al final, también si una importación ordenada se corta a medias
+                .flatMap(resultado -> Mono.fromRunnable(this::invalidarCaches).thenReturn(resultado))
+                .onErrorResume(error -> Mono.fromRunnable(this::invalidarCaches).then(Mono.error(error)))
+                .doOnSuccess(resultado -> logger.info("Catálogo importado: {} personajes, {} piezas, {} errores",
+                        resultado.characters(), resultado.pieces(), resultado.errors().size()))
+                .doOnError(error -> logger.error("Error al importar el catálogo: {}", error.getMessage()));
+    }
+
+    @Override
+    public Flux<Character> exportCatalog() {
+        // Se lee directamente de Mongo para exportar el estado persistido, no la instantánea en memoria
+        return characterRepository.findAll()
+                .doOnError(error -> logger.error("Error al exportar el catálogo: {}", error.getMessage()));
+    }
+
+    // Las piezas van antes que los personajes que las embeben
+    private Mono<CatalogImportResult> escribirLote(List<Character> lote, long numeroLote, boolean ordered, List<String> errores) {
+        Map<String, Piece> piezas = new LinkedHashMap<>();
+        for (Character character : lote) {
+            if (character.getPieces() != null) {
+                character.getPieces().forEach(piece -> piezas.put(piece.getId(), piece));
+            }
+        }
+
+        List<Piece> listaPiezas = new ArrayList<>(piezas.values());
+        return conFallosParciales(pieceRepository.replaceAll(listaPiezas, ordered), listaPiezas, Piece::getId, "pieza", numeroLote, ordered, errores)
+                .flatMap(piezasEscritas -> conFallosParciales(characterRepository.replaceAll(lote, ordered), lote, Character::getId, "personaje", numeroLote, ordered, errores)
+                        .map(personajesEscritos -> new CatalogImportResult(personajesEscritos, piezasEscritas, List.of())))
+                // La copia de la ficha en la galería se refresca por lote; si falla, el catálogo ya está escrito
+                // y se informa en el resultado para que el operador sepa que la galería quedó desactualizada
+                .flatMap(resultado -> galleryService.refreshCharacterData(lote)
+                        .onErrorResume(error -> {
+                            logger.error("Lote {}: no se pudo actualizar la ficha de los personajes en la galería: {}", numeroLote, error.getMessage());
+                            errores.add("Lote " + numeroLote + ": galería no actualizada: " + error.getMessage());
+                            return Mono.just(0L);
+                        })
+                        .thenReturn(resultado));
+    }
+
+    // En un bulk desordenado las operaciones correctas quedan guardadas aunque otras fallen:
+    // se cuentan las escritas según el propio resultado de Mongo y solo se anotan los documentos fallidos
+    private static <T> Mono<Integer> conFallosParciales(Mono<Integer> escritura, List<T> documentos, Function<T, String> id,
+                                                        String tipo, long numeroLote, boolean ordered, List<String> errores) {
+        if (ordered) {
+            return escritura;
+        }
+        return escritura.onErrorResume(error -> {
+            MongoBulkWriteException bulk = buscarBulkWriteException(error);
+            if (bulk == null) {
+                return Mono.error(error);
+            }
+            bulk.getWriteErrors().forEach(fallo -> errores.add("Lote " + numeroLote + ": " + tipo + " "
+                    + id.apply(documentos.get(fallo.getIndex())) + ": " + fallo.getMessage()));
+            BulkWriteResult resultado = bulk.getWriteResult();
+            return Mono.just(resultado.wasAcknowledged() ? resultado.getMatchedCount() + resultado.getUpserts().size() : 0);
+        });
+    }
+
+    // Spring puede traducir la excepción del driver (DataIntegrityViolationException, DuplicateKeyException...)
+    private static MongoBulkWriteException buscarBulkWriteException(Throwable error) {
+        for (Throwable actual = error; actual != null; actual = actual.getCause()) {
+            if (actual instanceof MongoBulkWriteException bulk) {
+                return bulk;
+            }
+        }
+        return null;
+    }
+
+    private void invalidarCaches() {
+        characterCatalog.invalidate();
+        planesCache.invalidateAll();
+    }
+
+    private static String validar(Character character, Set<String> vistos) {
+        if (!StringUtils.hasText(character.getId())) {
+            return "el personaje debe tener id";
+        }
+        if (!StringUtils.hasText(character.getName())) {
+            return "el personaje " + character.getId() + " debe tener nombre";
+        }
+        if (character.getCost() == null || character.getCost() < 0) {
+            return "el coste del personaje " + character.getId() + " debe ser un número no negativo";
+        }
+        if (character.getPieces() != null
+                && character.getPieces().stream().anyMatch(piece -> piece == null || !StringUtils.hasText(piece.getId()))) {
+            return "todas las piezas del personaje " + character.getId() + " deben tener id";
+        }
+        if (!vistos.add(character.getId())) {
+            return "el personaje " + character.getId() + " está repetido en el catálogo";
+        }
+        return null;
+    }
+}
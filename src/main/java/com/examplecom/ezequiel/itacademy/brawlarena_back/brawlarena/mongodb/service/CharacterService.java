@@ -1,6 +1,8 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service;
 
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterSummary;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterUpdateRequest;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.PieceAssignmentDTO;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -12,10 +14,14 @@ public interface CharacterService {
 
     // Flux para múltiples valores o listas de datos.
     Flux<Character> getAllCharacters();
+    Mono<byte[]> getAllCharactersJson();
+    Mono<byte[]> getAllCharacterSummariesJson();
     Flux<Character> getUnlockedCharacters(String playerId);
+    Flux<CharacterSummary> getUnlockedCharacterSummaries(String playerId);
     Mono<Boolean> unlockCharacter(String playerId, String characterId);
     Mono<Character> getCharacterDetail(String characterId);
     Mono<Character> updateCharacter(String characterId, CharacterUpdateRequest request);
     Mono<Character> assignPieces(String characterId, List<String> pieceIds);
     Mono<Character> assignPiecesWithPowers(String characterId, List<Piece> pieces);
+    Mono<Character> assignPowers(String characterId, List<PieceAssignmentDTO> assignments);
 }
@@ -3,20 +3,24 @@ package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.ser
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.CharacterNotFoundException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.InsufficientTokensException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.UserNotFoundException;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterSummary;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterUpdateRequest;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.PieceAssignmentDTO;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.BuildRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.PieceRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.UserCharacter;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserCharacterRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -32,10 +36,9 @@ public class CharacterServiceImpl implements CharacterService {
     private final BuildRepository buildRepository;
     private final BuildService buildService;
     private final PieceRepository pieceRepository;
-
-
-    @Autowired
-    private ObjectMapper objectMapper;
+    private final UserCharacterRepository userCharacterRepository;
+    private final CharacterCatalog characterCatalog;
+    private final GalleryService galleryService;
 
 
     public CharacterServiceImpl(CharacterRepository characterRepository,
@@ -43,18 +46,23 @@ public class CharacterServiceImpl implements CharacterService {
                                 BuildRepository buildRepository,
                                 BuildService buildService,
                                 PieceRepository pieceRepository,
-                                ObjectMapper objectMapper) {
+                                UserCharacterRepository userCharacterRepository,
+                                CharacterCatalog characterCatalog,
+                                GalleryService galleryService) {
         this.characterRepository = characterRepository;
         this.userRepository = userRepository;
         this.buildRepository = buildRepository;
         this.buildService = buildService;
         this.pieceRepository = pieceRepository;
-        this.objectMapper = objectMapper;
+        this.userCharacterRepository = userCharacterRepository;
+        this.characterCatalog = characterCatalog;
+        this.galleryService = galleryService;
     }
 
     @Override
     public Flux<Character> getAllCharacters() {
-        return characterRepository.findAll()
+        return characterCatalog.snapshot()
+                .flatMapIterable(CharacterCatalog.Snapshot::characters)
                 .doOnSubscribe(sub -> logger.info("Buscando todos los personajes..."))
                 .doOnNext(character -> logger.debug("Personaje encontrado: {}", character.getName()))
                 .switchIfEmpty(Flux.defer(() -> {
@@ -64,27 +72,73 @@ public class CharacterServiceImpl implements CharacterService {
                 .doOnError(error -> logger.error("Error al obtener personajes: {}", error.getMessage()));
     }
 
+    @Override
+    public Mono<byte[]> getAllCharactersJson() {
+        return characterCatalog.snapshot()
+                .map(CharacterCatalog.Snapshot::json)
+                .doOnError(error -> logger.error("Error al obtener el catálogo serializado: {}", error.getMessage()));
+    }
+
+    @Override
+    public Mono<byte[]> getAllCharacterSummariesJson() {
+        return characterCatalog.snapshot()
+                .map(CharacterCatalog.Snapshot::summaryJson)
+                .doOnError(error -> logger.error("Error al obtener el resumen serializado del catálogo: {}", error.getMessage()));
+    }
+
     @Override
     public Flux<Character> getUnlockedCharacters(String playerId) {
-        return userRepository.findByNickname(playerId)
-                .switchIfEmpty(Mono.error(new UserNotFoundException("Usuario no encontrado")))
-                .flatMapMany(user -> {
-                    List<String> ids = Optional.ofNullable(user.getCharacterIds())
-                            .map(idsStr -> Arrays.stream(idsStr.replace("[", "").replace("]", "").split(","))
-                                    .map(String::trim)
-                                    .map(id -> id.replace("\"", "")) // CORRECCIÓN AQUÍ
-                                    .filter(s -> !s.isBlank())
-                                    .toList())
-                            .orElse(List.of());
+        return obtenerIdsDesbloqueados(playerId)
+                .flatMapMany(ids -> {
                     logger.info("Buscando personajes desbloqueados para playerId: {}", playerId);
-                    return characterRepository.findAll()
-                            .filter(character -> ids.contains(character.getId()));
+                    if (ids.isEmpty()) {
+                        return Flux.empty();
+                    }
+
+                    // Con el catálogo en memoria se resuelve por id; si no está cargado, $in solo sobre los desbloqueados
+                    return characterCatalog.current()
+                            .map(catalogo -> Flux.fromIterable(buscarEnCatalogo(catalogo, ids)))
+                            .orElseGet(() -> characterRepository.findAllById(ids));
                 })
                 .doOnNext(character -> logger.debug("Personaje desbloqueado encontrado: {}", character.getName()))
                 .doOnError(error -> logger.error("Error al obtener personajes desbloqueados: {}", error.getMessage()));
     }
 
     @Override
+    public Flux<CharacterSummary> getUnlockedCharacterSummaries(String playerId) {
+        return obtenerIdsDesbloqueados(playerId)
+                .flatMapMany(ids -> {
+                    logger.info("Buscando resumen de personajes desbloqueados para playerId: {}", playerId);
+                    if (ids.isEmpty()) {
+                        return Flux.<Character>empty();
+                    }
+
+                    // Sin catálogo cargado se proyecta en Mongo para no traer las piezas
+                    return characterCatalog.current()
+                            .map(catalogo -> Flux.fromIterable(buscarEnCatalogo(catalogo, ids)))
+                            .orElseGet(() -> characterRepository.findSummariesByIdIn(ids));
+                })
+                .map(CharacterSummary::from)
+                .doOnError(error -> logger.error("Error al obtener resumen de personajes desbloqueados: {}", error.getMessage()));
+    }
+
+    private Mono<Set<String>> obtenerIdsDesbloqueados(String playerId) {
+        return userRepository.findByNickname(playerId)
+                .switchIfEmpty(Mono.error(new UserNotFoundException("Usuario no encontrado")))
+                .flatMap(user -> userCharacterRepository.findByUserId(user.getId())
+                        .map(UserCharacter::getCharacterId)
+                        .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    private static List<Character> buscarEnCatalogo(CharacterCatalog.Snapshot catalogo, Set<String> ids) {
+        return ids.stream()
+                .map(catalogo.byId()::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    @Transactional
     public Mono<Boolean> unlockCharacter(String playerId, String characterId) {
         if (!StringUtils.hasText(characterId)) {
             logger.warn("ID de personaje vacío o nulo recibido para desbloqueo");
@@ -101,37 +155,30 @@ public class CharacterServiceImpl implements CharacterService {
                 .flatMap(tuple -> {
                     User user = tuple.getT1();
                     Character character = tuple.getT2();
+                    int coste = character.getCost() != null ? character.getCost() : 0;
 
-                    // Usar Set para eficiencia y evitar duplicados
-                    Set<String> idsDesbloqueados = Optional.ofNullable(user.getCharacterIds())
-                            .map(ids -> Arrays.stream(ids.replace("[", "").replace("]", "").split(","))
-                                    .map(String::trim)
-                                    .map(id -> id.replace("\"", ""))
-                                    .filter(StringUtils::hasText)
-                                    .collect(Collectors.toSet()))
-                            .orElse(new HashSet<>());
-
-                    if (idsDesbloqueados.contains(characterId)) {
-                        logger.warn("El personaje {} ya estaba desbloqueado por {}", character.getName(), user.getNickname());
-                        return Mono.just(false);
-                    }
-
-                    if (user.getTokens() < character.getCost()) {
-                        logger.warn("Usuario {} no tiene tokens suficientes", user.getNickname());
-                        return Mono.error(new InsufficientTokensException("No tienes tokens suficientes"));
-                    }
-
-                    user.setTokens(user.getTokens() - character.getCost());
-                    idsDesbloqueados.add(characterId);
-
-                    try {
-                        user.setCharacterIds(objectMapper.writeValueAsString(idsDesbloqueados));
-                    } catch (JsonProcessingException e) {
-                        logger.error("Error al serializar characterIds: {}", e.getMessage());
-                        return Mono.error(new RuntimeException("Error al guardar los personajes desbloqueados"));
-                    }
+                    // El INSERT bloquea la clave (user_id, character_id) hasta el commit: dos desbloqueos
+                    // simultáneos del mismo personaje no pueden cobrarse dos veces
+                    return userCharacterRepository.insertIfAbsent(user.getId(), characterId)
+                            .flatMap(insertadas -> {
+                                if (insertadas == 0) {
+                                    logger.warn("El personaje {} ya estaba desbloqueado por {}", character.getName(), user.getNickname());
+                                    return Mono.just(false);
+                                }
+                                if (coste == 0) {
+                                    return Mono.just(true);
+                                }
 
-                    return userRepository.save(user).thenReturn(true);
+                                // Si no hay saldo la excepción revierte también el INSERT anterior
+                                return userRepository.debitTokens(user.getId(), coste)
+                                        .flatMap(actualizadas -> {
+                                            if (actualizadas == 0) {
+                                                logger.warn("Usuario {} no tiene tokens suficientes", user.getNickname());
+                                                return Mono.error(new InsufficientTokensException("No tienes tokens suficientes"));
+                                            }
+                                            return Mono.just(true);
+                                        });
+                            });
                 })
                 .doOnError(error -> logger.error("Error al desbloquear personaje: {}", error.getMessage()));
     }
@@ -166,7 +213,14 @@ public class CharacterServiceImpl implements CharacterService {
                     }
 
                     return characterRepository.save(character)
-                            .doOnSuccess(updated -> logger.info("Personaje actualizado correctamente: {}", updated.getId()));
+                            // La galería guarda una copia de la ficha; un fallo aquí no deshace la actualización
+                            .flatMap(updated -> galleryService.refreshCharacterData(List.of(updated))
+                                    .onErrorResume(error -> Mono.just(0L))
+                                    .thenReturn(updated))
+                            .doOnSuccess(updated -> {
+                                characterCatalog.invalidate();
+                                logger.info("Personaje actualizado correctamente: {}", updated.getId());
+                            });
                 })
                 .doOnError(error -> logger.error("Error al actualizar personaje: {}", error.getMessage()));
     }
@@ -185,7 +239,8 @@ public class CharacterServiceImpl implements CharacterService {
                                     character.setPieces(pieces);
                                     return characterRepository.save(character);
                                 })
-                );
+                )
+                .doOnSuccess(updated -> characterCatalog.invalidate());
     }
 
     @Override
@@ -205,8 +260,53 @@ public class CharacterServiceImpl implements CharacterService {
                     buildService.clearPiecesCache(characterId);
                     return characterRepository.save(character);
                 })
-                .doOnSuccess(updated -> logger.info("Piezas asignadas con poderes al personaje {}", updated.getId()))
+                .doOnSuccess(updated -> {
+                    characterCatalog.invalidate();
+                    logger.info("Piezas asignadas con poderes al personaje {}", updated.getId());
+                })
                 .doOnError(error -> logger.error("Error al asignar piezas con poderes: {}", error.getMessage()));
     }
 
-}
\ No newline at end of file
+    @Override
+    public Mono<Character> assignPowers(String characterId, List<PieceAssignmentDTO> assignments) {
+        if (!StringUtils.hasText(characterId)) {
+            return Mono.error(new IllegalArgumentException("characterId no puede estar vacío"));
+        }
+
+        if (assignments == null || assignments.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("La lista de piezas no puede estar vacía"));
+        }
+
+        // Índice id → poder en un solo recorrido; conserva el orden en que llegan las piezas
+        Map<String, Power> poderes = new LinkedHashMap<>();
+        for (PieceAssignmentDTO assignment : assignments) {
+            if (poderes.putIfAbsent(assignment.getPieceId(), assignment.getPower()) != null) {
+                return Mono.error(new IllegalArgumentException("La pieza " + assignment.getPieceId() + " está repetida en la asignación"));
+            }
+        }
+
+        // Una única consulta $in para todas las piezas y un único guardado del personaje
+        return pieceRepository.findByIdIn(new ArrayList<>(poderes.keySet()))
+                .collectMap(Piece::getId)
+                .flatMap(encontradas -> {
+                    List<String> inexistentes = poderes.keySet().stream()
+                            .filter(id -> !encontradas.containsKey(id))
+                            .toList();
+
+                    if (!inexistentes.isEmpty()) {
+                        return Mono.error(new IllegalArgumentException(
+                                "Piezas inexistentes en la base de datos: " + String.join(", ", inexistentes)));
+                    }
+
+                    List<Piece> piezas = new ArrayList<>(poderes.size());
+                    poderes.forEach((pieceId, power) -> {
+                        Piece piece = encontradas.get(pieceId);
+                        piece.setPower(power);
+                        piezas.add(piece);
+                    });
+
+                    return assignPiecesWithPowers(characterId, piezas);
+                });
+    }
+
+}
@@ -1,14 +1,24 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service;
 
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterGalleryStats;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryEvent;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryPage;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface GalleryService {
-    Flux<SharedModel> getPublicGallery();
+    Mono<GalleryPage> getPublicGallery(String cursor, int limit);
     Mono<SharedModel> shareModel(String playerId, String characterId);
     Mono<SharedModel> getHighlightedModel();
     Flux<String> getSharedUsersByCharacter(String characterId);
     Mono<SharedModel> highlightModel(String sharedModelId);
     Mono<Void> deleteSharedModel(String sharedModelId, String requesterId, String role);
+    Flux<GalleryEvent> streamEvents();
+    Flux<CharacterGalleryStats> getCharacterStats();
+    Mono<Long> backfillCharacterData();
+    Mono<Long> refreshCharacterData(List<Character> characters);
 }
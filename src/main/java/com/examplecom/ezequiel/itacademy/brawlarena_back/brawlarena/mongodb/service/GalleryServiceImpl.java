@@ -1,13 +1,28 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service;
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.*;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.GalleryFeed;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.GalleryVersion;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.HighlightedModelCache;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.ValidationPlanCache;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryCursor;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterGalleryStats;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryEvent;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryPage;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.BuildRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.FeaturedModelRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.SharedModelRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
@@ -15,29 +30,57 @@ import reactor.core.publisher.Mono;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class GalleryServiceImpl implements GalleryService{
     private static final Logger logger = LoggerFactory.getLogger(GalleryServiceImpl.class);
+    private static final int GALERIA_LIMITE_MAXIMO = 100;
+    private static final int CONCURRENCIA_RELLENO = 4;
     private final SharedModelRepository sharedModelRepository;
     private final BuildRepository buildRepository;
     private final UserRepository userRepository;
     private final CharacterRepository characterRepository;
+    private final GalleryVersion galleryVersion;
+    private final CharacterCatalog characterCatalog;
+    private final ValidationPlanCache planesCache;
+    private final FeaturedModelRepository featuredModelRepository;
+    private final HighlightedModelCache highlightedModelCache;
+    private final GalleryFeed galleryFeed;
 
-    public GalleryServiceImpl(SharedModelRepository sharedModelRepository, BuildRepository buildRepository, UserRepository userRepository, CharacterRepository characterRepository) {
+    public GalleryServiceImpl(SharedModelRepository sharedModelRepository, BuildRepository buildRepository, UserRepository userRepository, CharacterRepository characterRepository, GalleryVersion galleryVersion, CharacterCatalog characterCatalog, ValidationPlanCache planesCache, FeaturedModelRepository featuredModelRepository, HighlightedModelCache highlightedModelCache, GalleryFeed galleryFeed) {
         this.sharedModelRepository = sharedModelRepository;
         this.buildRepository = buildRepository;
         this.userRepository = userRepository;
         this.characterRepository = characterRepository;
+        this.galleryVersion = galleryVersion;
+        this.characterCatalog = characterCatalog;
+        this.planesCache = planesCache;
+        this.featuredModelRepository = featuredModelRepository;
+        this.highlightedModelCache = highlightedModelCache;
+        this.galleryFeed = galleryFeed;
     }
 
     @Override
-    public Flux<SharedModel> getPublicGallery() {
-        return sharedModelRepository.findAll()
-                .sort((a, b) -> b.getSharedAt().compareTo(a.getSharedAt()))
+    public Mono<GalleryPage> getPublicGallery(String cursor, int limit) {
+        int tamanoPagina = Math.min(Math.max(limit, 1), GALERIA_LIMITE_MAXIMO);
+
+        return Mono.fromSupplier(() -> StringUtils.hasText(cursor) ? Optional.of(GalleryCursor.decode(cursor)) : Optional.<GalleryCursor>empty())
+                // Se pide un elemento de más para saber si existe una página siguiente
+                .flatMap(desde -> Mono.zip(
+                        sharedModelRepository.findPage(desde.orElse(null), tamanoPagina + 1).collectList(),
+                        highlightedModelCache.highlighted()))
+                .map(tuple -> {
+                    // La marca de destacado sale del puntero en memoria, no de cada documento
+                    String destacadoId = tuple.getT2().map(SharedModel::getId).orElse(null);
+                    tuple.getT1().forEach(model -> model.setHighlighted(model.getId().equals(destacadoId)));
+                    return tuple.getT1();
+                })
+                .map(modelos -> modelos.size() > tamanoPagina
+                        ? new GalleryPage(modelos.subList(0, tamanoPagina), GalleryCursor.after(modelos.get(tamanoPagina - 1)).encode())
+                        : new GalleryPage(modelos, null))
                 .doOnSubscribe(sub -> logger.info("Recuperando galería pública de modelos compartidos"))
-                .doOnNext(model -> logger.debug("Modelo compartido encontrado: playerId={}, characterId={}", model.getPlayerId(), model.getCharacterId()))
-                .doOnComplete(() -> logger.info("Galería pública recuperada correctamente"))
+                .doOnSuccess(pagina -> logger.info("Galería pública recuperada correctamente: {} modelos", pagina.models().size()))
                 .doOnError(error -> logger.error("Error al recuperar galería pública: {}", error.getMessage()));
     }
 
@@ -54,39 +97,48 @@ public class GalleryServiceImpl implements GalleryService{
                                 .switchIfEmpty(Mono.error(new CharacterNotFoundException("Personaje no encontrado")))
                 )
                 .doOnSubscribe(sub -> logger.info("Validando existencia de jugador {} y personaje {}", playerId, characterId))
-                .flatMapMany(tuple -> buildRepository.findByPlayerIdAndCharacterIdAndValidTrue(playerId, characterId)
-                        .sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                        .limitRequest(1)
-                )
-                .next()
-                .switchIfEmpty(Mono.defer(() -> {
-                    logger.warn("No se encontró build válido para jugador {} y personaje {}", playerId, characterId);
-                    return Mono.error(new BuildNotFoundException("No has completado ningún montaje válido para este personaje"));
-                }))
-                .flatMap(build -> {
-                    SharedModel sharedModel = new SharedModel();
-                    sharedModel.setPlayerId(playerId);
-                    sharedModel.setCharacterId(characterId);
-                    sharedModel.setScore(build.getScore());
-                    sharedModel.setPowers(List.of()); // A completar si se guardan poderes
-                    sharedModel.setSharedAt(Instant.now());
-
-                    return sharedModelRepository.save(sharedModel)
-                            .doOnSuccess(saved -> logger.info("Modelo compartido correctamente por jugador {} con personaje {}", playerId, characterId));
+                .flatMap(tuple -> {
+                    Character character = tuple.getT2();
+
+                    return buildRepository.findByPlayerIdAndCharacterIdAndValidTrue(playerId, characterId)
+                            .sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
+                            .next()
+                            .switchIfEmpty(Mono.defer(() -> {
+                                logger.warn("No se encontró build válido para jugador {} y personaje {}", playerId, characterId);
+                                return Mono.error(new BuildNotFoundException("No has completado ningún montaje válido para este personaje"));
+                            }))
+                            .flatMap(build -> poderesDelBuild(character, build)
+                                    .map(poderes -> {
+                                        SharedModel sharedModel = new SharedModel();
+                                        sharedModel.setPlayerId(playerId);
+                                        sharedModel.setCharacterId(characterId);
+                                        sharedModel.setScore(build.getScore());
+                                        sharedModel.setPowers(poderes);
+                                        sharedModel.setSharedAt(Instant.now());
+                                        copiarFicha(sharedModel, character);
+                                        return sharedModel;
+                                    }));
                 })
+                .flatMap(sharedModel -> sharedModelRepository.save(sharedModel)
+                        .doOnSuccess(saved -> {
+                            galleryVersion.bump();
+                            galleryFeed.publish(GalleryEvent.shared(saved));
+                            logger.info("Modelo compartido correctamente por jugador {} con personaje {}", playerId, characterId);
+                        }))
                 .doOnError(error -> logger.error("Error al compartir modelo para jugador {}: {}", playerId, error.getMessage()));
     }
 
     @Override
     public Mono<SharedModel> getHighlightedModel() {
-        return sharedModelRepository.findByHighlightedTrue()
-                .next()
-                .doOnSubscribe(sub -> logger.info("Buscando modelo destacado en la galería"))
+        // En régimen estable se sirve de memoria sin consultar Mongo
+        return highlightedModelCache.highlighted()
+                .flatMap(Mono::justOrEmpty)
+                .doOnSubscribe(sub -> logger.debug("Buscando modelo destacado en la galería"))
                 .switchIfEmpty(Mono.defer(() -> {
                     logger.warn("No hay modelo destacado definido");
                     return Mono.error(new HighlightedModelNotFoundException("No hay jugador destacado actualmente"));
                 }))
-                .doOnSuccess(model -> logger.info("Modelo destacado encontrado: playerId={}, characterId={}", model.getPlayerId(), model.getCharacterId()))
+                .doOnSuccess(model -> logger.debug("Modelo destacado encontrado: playerId={}, characterId={}", model.getPlayerId(), model.getCharacterId()))
                 .doOnError(error -> logger.error("Error al obtener modelo destacado: {}", error.getMessage()));
     }
 
@@ -96,10 +148,9 @@ public class GalleryServiceImpl implements GalleryService{
             return Flux.error(new IllegalArgumentException("characterId no puede estar vacío"));
         }
 
-        return sharedModelRepository.findByCharacterId(characterId)
+        // distinct en Mongo sobre character_player_idx: no se transfieren los documentos completos
+        return sharedModelRepository.findDistinctPlayerIds(characterId)
                 .doOnSubscribe(sub -> logger.info("Buscando usuarios que compartieron el personaje {}", characterId))
-                .map(SharedModel::getPlayerId)
-                .distinct()
                 .doOnComplete(() -> logger.info("Usuarios recuperados correctamente para el personaje {}", characterId))
                 .doOnError(error -> logger.error("Error al recuperar usuarios del personaje {}: {}", characterId, error.getMessage()));
     }
@@ -112,20 +163,18 @@ public class GalleryServiceImpl implements GalleryService{
 
         return sharedModelRepository.findById(sharedModelId)
                 .switchIfEmpty(Mono.error(new ModelNotFoundException("Modelo compartido no encontrado")))
-                .flatMap(model -> {
-                    Mono<Void> desmarcarTodos = sharedModelRepository.findByHighlightedTrue()
-                            .flatMap(existing -> {
-                                existing.setHighlighted(false);
-                                return sharedModelRepository.save(existing);
-                            })
-                            .then();
-
-                    model.setHighlighted(true);
-                    Mono<SharedModel> guardarNuevo = sharedModelRepository.save(model);
-
-                    return desmarcarTodos.then(guardarNuevo);
+                // Un único upsert sobre el puntero: no hay que desmarcar el destacado anterior
+                .flatMap(model -> featuredModelRepository.pointTo(model.getId())
+                        .map(puntero -> {
+                            highlightedModelCache.highlight(model, puntero.getFeaturedAt());
+                            model.setHighlighted(true);
+                            return model;
+                        }))
+                .doOnSuccess(updated -> {
+                    galleryVersion.bump();
+                    galleryFeed.publish(GalleryEvent.highlighted(updated));
+                    logger.info("Modelo destacado correctamente: {}", updated.getId());
                 })
-                .doOnSuccess(updated -> logger.info("Modelo destacado correctamente: {}", updated.getId()))
                 .doOnError(error -> logger.error("Error al destacar modelo: {}", error.getMessage()));
     }
 
@@ -143,8 +192,105 @@ public class GalleryServiceImpl implements GalleryService{
                     }
 
                     return sharedModelRepository.delete(model) // Alternativa a deleteById
-                    .doOnSuccess(v -> logger.info("Modelo {} eliminado por {}(Role={})", sharedModelId, requesterId, role));
+                    // Si era el destacado, el puntero deja de apuntar a un documento borrado
+                    .then(Mono.defer(() -> featuredModelRepository.clearIfPointingTo(sharedModelId)))
+                    .doOnNext(eraDestacado -> {
+                        if (eraDestacado) {
+                            highlightedModelCache.clear();
+                        }
+                    })
+                    .then()
+                    .doOnSuccess(v -> {
+                        galleryVersion.bump();
+                        galleryFeed.publish(GalleryEvent.deleted(sharedModelId));
+                        logger.info("Modelo {} eliminado por {}(Role={})", sharedModelId, requesterId, role);
+                    });
         });
     }
 
+    @Override
+    public Flux<CharacterGalleryStats> getCharacterStats() {
+        return sharedModelRepository.characterStats()
+                .doOnSubscribe(sub -> logger.info("Calculando estadísticas de galería por personaje"))
+                .doOnError(error -> logger.error("Error al calcular estadísticas de galería: {}", error.getMessage()));
+    }
+
+    @Override
+    public Flux<GalleryEvent> streamEvents() {
+        return galleryFeed.events()
+                .doOnSubscribe(sub -> logger.info("Nuevo suscriptor al feed de galería"))
+                .doFinally(signal -> logger.info("Suscriptor del feed de galería desconectado ({}, quedan {})", signal, galleryFeed.subscribers()));
+    }
+
+    @Override
+    public Mono<Long> backfillCharacterData() {
+        // Los personajes salen del catálogo en memoria: una sola lectura de Mongo para todo el relleno
+        return characterCatalog.snapshot()
+                .flatMapMany(snapshot -> sharedModelRepository.findWithoutCharacterData()
+                        .flatMap(model -> {
+                            Character character = snapshot.byId().get(model.getCharacterId());
+                            if (character == null) {
+                                logger.warn("Modelo compartido {} apunta a un personaje inexistente: {}", model.getId(), model.getCharacterId());
+                                return Mono.just(false);
+                            }
+
+                            return buildCompartido(model)
+                                    .flatMap(build -> poderesDelBuild(character, build))
+                                    .defaultIfEmpty(PowerSet.empty())
+                                    .flatMap(poderes -> sharedModelRepository.fillCharacterData(model.getId(), character, poderes));
+                        }, CONCURRENCIA_RELLENO))
+                .filter(Boolean::booleanValue)
+                .count()
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        highlightedModelCache.invalidate();
+                        galleryVersion.bump();
+                        logger.info("Galería completada con la ficha del personaje en {} modelos compartidos", total);
+                    }
+                })
+                .doOnError(error -> logger.error("Error al completar la galería con la ficha del personaje: {}", error.getMessage()));
+    }
+
+    @Override
+    public Mono<Long> refreshCharacterData(List<Character> characters) {
+        return sharedModelRepository.refreshCharacterData(characters)
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        highlightedModelCache.invalidate();
+                        galleryVersion.bump();
+                        logger.info("Ficha de {} personajes actualizada en {} modelos compartidos", characters.size(), total);
+                    }
+                })
+                .doOnError(error -> logger.error("Error al actualizar la ficha de los personajes en la galería: {}", error.getMessage()));
+    }
+
+    // Los documentos compartidos antes de desnormalizar se completan en segundo plano al arrancar
+    @EventListener(ApplicationReadyEvent.class)
+    public void completarGaleriaAlArrancar() {
+        backfillCharacterData().subscribe(
+                total -> { },
+                error -> logger.warn("No se pudo completar la galería con la ficha del personaje: {}", error.getMessage()));
+    }
+
+    // Poderes que el build activó de verdad: las piezas correctas colocadas, según el plan de validación
+    private Mono<PowerSet> poderesDelBuild(Character character, Build build) {
+        List<String> piezasColocadas = build.getPiecesPlaced() == null ? List.of() : build.getPiecesPlaced();
+
+        return planesCache.get(character)
+                .map(plan -> PowerSet.copyOf(plan.evaluar(piezasColocadas).progresionPoderes().keySet()));
+    }
+
+    // Último build válido anterior al momento de compartir
+    private Mono<Build> buildCompartido(SharedModel model) {
+        return buildRepository.findByPlayerIdAndCharacterIdAndValidTrue(model.getPlayerId(), model.getCharacterId())
+                .filter(build -> model.getSharedAt() == null || !build.getCreatedAt().isAfter(model.getSharedAt()))
+                .reduce((a, b) -> a.getCreatedAt().isAfter(b.getCreatedAt()) ? a : b);
+    }
+
+    private static void copiarFicha(SharedModel sharedModel, Character character) {
+        sharedModel.setCharacterName(character.getName());
+        sharedModel.setCharacterImageUrl(character.getImageUrl());
+        sharedModel.setCharacterDifficulty(character.getDifficulty());
+    }
+
 }
\ No newline at end of file
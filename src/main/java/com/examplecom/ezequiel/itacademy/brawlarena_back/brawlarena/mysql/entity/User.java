@@ -36,7 +36,4 @@ public class User {
     @Column("role")
     private String role;
 
-    @Column("gallery")
-    private String characterIds;
-
 }
\ No newline at end of file
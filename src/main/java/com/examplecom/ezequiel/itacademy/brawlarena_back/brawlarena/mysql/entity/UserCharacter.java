@@ -0,0 +1,27 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+// Personaje desbloqueado por un usuario (una fila por par usuario-personaje)
+@Table(name = "user_characters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserCharacter {
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @Column("user_id")
+    private Long userId;
+
+    @Column("character_id")
+    private String characterId;
+
+}
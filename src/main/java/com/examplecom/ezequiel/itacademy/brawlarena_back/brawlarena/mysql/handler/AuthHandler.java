@@ -1,13 +1,12 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.handler;
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.common.constant.Role;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.NicknameAlreadyExistsException;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.dto.LoginRequest;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.service.UserService;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.security.JwtService;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,37 +27,31 @@ public class AuthHandler {
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final CharacterRepository characterRepository;
+    private final CharacterCatalog characterCatalog;
 
 
-    public AuthHandler(UserService userService, PasswordEncoder passwordEncoder, JwtService jwtService, CharacterRepository characterRepository) {
+    public AuthHandler(UserService userService, PasswordEncoder passwordEncoder, JwtService jwtService, CharacterCatalog characterCatalog) {
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
-        this.characterRepository = characterRepository;
+        this.characterCatalog = characterCatalog;
     }
 
     public Mono<ServerResponse> registerUser(ServerRequest request) {
         return request.bodyToMono(User.class)
                 .flatMap(user ->
-                        characterRepository.findAll()
+                        // Con el catálogo ya en memoria el registro no consulta Mongo
+                        characterCatalog.freeCharacterIds()
                                 .retryWhen(reactor.util.retry.Retry.fixedDelay(3, Duration.ofMillis(300)))
-                                .filter(character -> character.getCost() == 0)
-                                .map(Character::getId)
-                                .collectList()
-                                .flatMap(freeIds -> {
-                                    try {
-                                        ObjectMapper objectMapper = new ObjectMapper();
-                                        user.setCharacterIds(objectMapper.writeValueAsString(freeIds));
-                                    } catch (Exception e) {
-                                        return Mono.error(new RuntimeException("Error al preparar el registro del usuario"));
-                                    }
-                                    return userService.save(user);
-                                })
+                                .flatMap(freeIds -> userService.register(user, freeIds))
                 )
                 .flatMap(savedUser -> ServerResponse.status(HttpStatus.CREATED).bodyValue(savedUser))
-                .onErrorResume(e -> ServerResponse.status(HttpStatus.CONFLICT)
-                        .bodyValue("El nickname ya está en uso."));
+                .onErrorResume(NicknameAlreadyExistsException.class, e -> ServerResponse.status(HttpStatus.CONFLICT)
+                        .bodyValue("El nickname ya está en uso."))
+                .onErrorResume(e -> {
+                    logger.error("Error durante el registro: {}", e.getMessage());
+                    return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                });
     }
 
     public Mono<ServerResponse> loginUser(ServerRequest request) {
@@ -60,7 +60,9 @@ public class UserHandler {
     }
 
     public Mono<ServerResponse> addCharacterId(ServerRequest request) {
-        return request.bodyToMono(Long.class)
+        return request.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .flatMap(UserHandler::idDePersonaje)
                 .flatMap(characterId ->
                         request.principal()
                                 .map(principal -> (Authentication) principal)
@@ -71,5 +73,17 @@ public class UserHandler {
                 .flatMap(user -> ServerResponse.ok().bodyValue(user))
                 .onErrorResume(e -> ServerResponse.badRequest().bodyValue(e.getMessage()));
     }
+
+    // El cuerpo llega en texto plano (char1) o como cadena JSON ("char1"); las comillas no forman parte del id
+    private static Mono<String> idDePersonaje(String cuerpo) {
+        String id = cuerpo.trim();
+        if (id.length() >= 2 && id.startsWith("\"") && id.endsWith("\"")) {
+            id = id.substring(1, id.length() - 1).trim();
+        }
+        if (id.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("characterId no puede estar vacío"));
+        }
+        return Mono.just(id);
+    }
 }
 
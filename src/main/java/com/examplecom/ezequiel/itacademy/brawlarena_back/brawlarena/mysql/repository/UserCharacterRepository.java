@@ -0,0 +1,24 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.UserCharacter;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@Repository
+public interface UserCharacterRepository extends ReactiveCrudRepository<UserCharacter, Long> {
+    Flux<UserCharacter> findByUserId(Long userId);
+
+    Mono<Boolean> existsByUserIdAndCharacterId(Long userId, String characterId);
+
+    // Devuelve 0 si el personaje ya estaba desbloqueado (clave única user_id + character_id)
+    @Modifying
+    @Query("INSERT IGNORE INTO user_characters (user_id, character_id) VALUES (:userId, :characterId)")
+    Mono<Integer> insertIfAbsent(@Param("userId") Long userId, @Param("characterId") String characterId);
+
+}
@@ -1,6 +1,9 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository;
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
@@ -10,4 +13,13 @@ import reactor.core.publisher.Mono;
 public interface UserRepository extends ReactiveCrudRepository<User, Long> {
     Mono<User> findByNickname(String nickname);
 
+    // Descuento atómico: devuelve 0 si el saldo no alcanza, sin leer ni reescribir la fila entera
+    @Modifying
+    @Query("UPDATE users SET tokens = tokens - :cost WHERE id = :userId AND tokens >= :cost")
+    Mono<Integer> debitTokens(@Param("userId") Long userId, @Param("cost") int cost);
+
+    // Sonda de disponibilidad: no toca ninguna tabla
+    @Query("SELECT 1")
+    Mono<Integer> ping();
+
 }
\ No newline at end of file
@@ -3,13 +3,16 @@ package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.servi
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserService {
     Mono<User> findById(Long id);
     Mono<User> findByNickname(String nickname);
     Mono<User> save(User user);
+    Mono<User> register(User user, Collection<String> starterCharacterIds);
     Mono<User> updateTokens(String nickname, int newTokens);
-    Mono<User> addCharacterId(String nickname, Long characterId);
-    Mono<List<Long>> getCharacterIds(String nickname);
+    Mono<User> addCharacterId(String nickname, String characterId);
+    Mono<Void> addCharacterIds(Long userId, Collection<String> characterIds);
+    Mono<List<String>> getCharacterIds(String nickname);
 }
\ No newline at end of file
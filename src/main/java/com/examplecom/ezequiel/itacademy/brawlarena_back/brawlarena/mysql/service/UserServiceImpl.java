@@ -3,6 +3,8 @@ package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.servi
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.NicknameAlreadyExistsException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.UserNotFoundException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.UserCharacter;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserCharacterRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,12 +12,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -23,14 +24,15 @@ public class UserServiceImpl implements UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
     private final UserRepository userRepository;
+    private final UserCharacterRepository userCharacterRepository;
     private final PasswordEncoder passwordEncoder;
-    private final ObjectMapper objectMapper = new ObjectMapper();
 
 
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, UserCharacterRepository userCharacterRepository, PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
+        this.userCharacterRepository = userCharacterRepository;
         this.passwordEncoder = passwordEncoder;
     }
 
@@ -64,12 +66,23 @@ public class UserServiceImpl implements UserService {
                     user.setRole("USER");
                     user.setTokens(50);
 
-                    return userRepository.save(user); // characterIds ya viene seteado correctamente
+                    return userRepository.save(user);
                 }))
                 .doOnNext(savedUser -> logger.info("Usuario guardado: {}", savedUser.getNickname()))
                 .doOnError(e -> logger.error("Error al registrar el usuario: {}", e.getMessage()));
     }
 
+    @Override
+    @Transactional
+    public Mono<User> register(User user, Collection<String> starterCharacterIds) {
+        // Usuario y personajes iniciales en la misma transacción: si falla el INSERT en user_characters
+        // no queda un usuario a medias con el nickname ocupado
+        return save(user)
+                .flatMap(savedUser -> addCharacterIds(savedUser.getId(), starterCharacterIds)
+                        .thenReturn(savedUser))
+                .doOnNext(savedUser -> logger.info("Registro completado para {} con {} personajes iniciales", savedUser.getNickname(), starterCharacterIds.size()));
+    }
+
     @Override
     public Mono<User> updateTokens(String nickname, int newTokens) {
         return userRepository.findByNickname(nickname)
@@ -85,47 +98,33 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
-    public Mono<User> addCharacterId(String nickname, Long characterId) {
+    public Mono<User> addCharacterId(String nickname, String characterId) {
         return userRepository.findByNickname(nickname)
                 .switchIfEmpty(Mono.error(new UserNotFoundException("Usuario no encontrado.")))
-                .flatMap(user -> {
-                    List<Long> list;
-                    try {
-                        String json = user.getCharacterIds();
-                        list = (json != null)
-                                ? objectMapper.readValue(json, new TypeReference<List<Long>>() {})
-                                : new ArrayList<>();
-                    } catch (Exception e) {
-                        return Mono.error(new RuntimeException("Error al leer la galería del usuario."));
-                    }
-
-                    if (!list.contains(characterId)) {
-                        list.add(characterId);
-                        try {
-                            user.setCharacterIds(objectMapper.writeValueAsString(list));
-                        } catch (Exception e) {
-                            return Mono.error(new RuntimeException("Error al guardar la galería."));
-                        }
-                        return userRepository.save(user);
-                    }
-                    return Mono.just(user);
-                });
+                .flatMap(user -> userCharacterRepository.insertIfAbsent(user.getId(), characterId)
+                        .doOnNext(filas -> {
+                            if (filas > 0) {
+                                logger.info("Personaje {} añadido a la galería de {}", characterId, nickname);
+                            }
+                        })
+                        .thenReturn(user));
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> addCharacterIds(Long userId, Collection<String> characterIds) {
+        return Flux.fromIterable(characterIds)
+                .concatMap(characterId -> userCharacterRepository.insertIfAbsent(userId, characterId))
+                .then();
     }
 
     @Override
-    public Mono<List<Long>> getCharacterIds(String nickname) {
+    public Mono<List<String>> getCharacterIds(String nickname) {
         return userRepository.findByNickname(nickname)
                 .switchIfEmpty(Mono.error(new UserNotFoundException("Usuario no encontrado.")))
-                .map(user -> {
-                    try {
-                        String json = user.getCharacterIds();
-                        return (json != null)
-                                ? objectMapper.readValue(json, new TypeReference<List<Long>>() {})
-                                : new ArrayList<>();
-                    } catch (Exception e) {
-                        throw new RuntimeException("Error al leer la galería.");
-                    }
-                });
+                .flatMap(user -> userCharacterRepository.findByUserId(user.getId())
+                        .map(UserCharacter::getCharacterId)
+                        .collectList());
     }
 
 }
\ No newline at end of file
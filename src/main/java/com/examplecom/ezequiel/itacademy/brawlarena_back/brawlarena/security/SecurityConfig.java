@@ -48,14 +48,14 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/webjars/**",
                                 "/v3/api-docs/**",
-                                "/mongo/test",
-                                "/mongo/free-characters"
+                                "/health/**"
 
                         ).permitAll()
 
                         // Rutas públicas de lectura
                         .pathMatchers(HttpMethod.GET,
                                 "/gallery",
+                                "/gallery/stream",
                                 "/gallery/highlighted",
                                 "/gallery/public",
                                 "/characters/all"
@@ -65,6 +65,7 @@ public class SecurityConfig {
                         .pathMatchers(HttpMethod.POST, "/gallery/share").authenticated()
                         .pathMatchers(HttpMethod.PUT, "/gallery/highlighted").hasRole("ADMIN")
                         .pathMatchers(HttpMethod.DELETE, "/gallery/**").authenticated()
+                        .pathMatchers("/admin/**").hasRole("ADMIN")
 
                         // Otros módulos protegidos
                         .pathMatchers(
@@ -0,0 +1,12 @@
+-- Migración única: copia los personajes de users.gallery (JSON) a user_characters.
+-- No forma parte de schema.sql para que no se ejecute en cada arranque.
+-- Lanzar una sola vez a mano tras desplegar user_characters y antes de eliminar la columna users.gallery:
+--   mysql -u <usuario> -p <base_de_datos> < user_characters_desde_gallery.sql
+-- Es idempotente (INSERT IGNORE sobre la clave única), así que repetirla no duplica filas.
+INSERT IGNORE INTO user_characters (user_id, character_id)
+SELECT u.id, jt.character_id
+FROM users u,
+     JSON_TABLE(IF(JSON_VALID(u.gallery), u.gallery, '[]'), '$[*]'
+                COLUMNS (character_id VARCHAR(64) PATH '$')) jt
+WHERE u.gallery IS NOT NULL
+  AND jt.character_id IS NOT NULL;
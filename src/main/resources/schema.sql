@@ -0,0 +1,7 @@
+-- Personajes desbloqueados por usuario (sustituye al JSON de users.gallery)
+CREATE TABLE IF NOT EXISTS user_characters (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    character_id VARCHAR(64) NOT NULL,
+    CONSTRAINT uk_user_characters_user_character UNIQUE (user_id, character_id)
+);
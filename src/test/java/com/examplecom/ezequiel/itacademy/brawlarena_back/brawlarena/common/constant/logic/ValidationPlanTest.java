@@ -0,0 +1,84 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.common.constant.logic;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationPlanTest {
+
+    // Helper
+    private Piece createPiece(String id, int level, boolean special, boolean comboVisual, boolean fake, Power power) {
+        Piece piece = new Piece();
+        piece.setId(id);
+        piece.setLevel(level);
+        piece.setSpecial(special);
+        piece.setComboVisual(comboVisual);
+        piece.setFake(fake);
+        piece.setPower(power);
+        return piece;
+    }
+
+    // Helper
+    private Character createCharacter(List<Piece> pieces) {
+        Character character = new Character();
+        character.setId("char1");
+        character.setPieces(pieces);
+        return character;
+    }
+
+    @Test
+    void evaluar_puntuaComoScoreCalculator() {
+        Piece p1 = createPiece("p1", 1, false, false, false, Power.AIR_JUMP);
+        Piece p2 = createPiece("p2", 3, true, true, false, Power.AIR_JUMP);
+        Piece p3 = createPiece("p3", 4, false, false, false, Power.SUPERMUSCULADO);
+        Piece fake = createPiece("fake", 2, false, false, true, null);
+        ValidationPlan plan = ValidationPlan.compile(createCharacter(List.of(p1, p2, p3, fake)));
+
+        ValidationPlan.Resultado resultado = plan.evaluar(List.of("p1", "p2", "fake", "desconocida"));
+
+        assertThat(resultado.errores()).isEqualTo(2);
+        assertThat(ScoreCalculator.finalScore(resultado.puntosPiezas(), resultado.errores(), 45, true))
+                .isEqualTo(ScoreCalculator.calculateScore(List.of(p1, p2), List.of(p1, p2, p3), 2, 45, true));
+    }
+
+    @Test
+    void evaluar_piezaRepetida_puntuaUnaSolaVez() {
+        Piece p1 = createPiece("p1", 2, false, false, false, null);
+        ValidationPlan plan = ValidationPlan.compile(createCharacter(List.of(p1)));
+
+        ValidationPlan.Resultado resultado = plan.evaluar(List.of("p1", "p1"));
+
+        assertThat(resultado.puntosPiezas()).isEqualTo(100);
+        assertThat(resultado.errores()).isZero();
+    }
+
+    @Test
+    void evaluar_calculaProgresionDePoderes() {
+        Piece p1 = createPiece("p1", 1, false, false, false, Power.AIR_JUMP);
+        Piece p2 = createPiece("p2", 1, false, false, false, Power.AIR_JUMP);
+        Piece p3 = createPiece("p3", 1, false, false, false, Power.SUPERMUSCULADO);
+        ValidationPlan plan = ValidationPlan.compile(createCharacter(List.of(p1, p2, p3)));
+
+        ValidationPlan.Resultado resultado = plan.evaluar(List.of("p1", "p2", "otra"));
+
+        assertThat(resultado.progresionPoderes())
+                .containsEntry(Power.AIR_JUMP, 66)
+                .doesNotContainKey(Power.SUPERMUSCULADO);
+    }
+
+    @Test
+    void compile_personajeSinPiezas_todasLasColocadasSonErrores() {
+        ValidationPlan plan = ValidationPlan.compile(createCharacter(null));
+
+        ValidationPlan.Resultado resultado = plan.evaluar(List.of("p1"));
+
+        assertThat(plan.size()).isZero();
+        assertThat(resultado.errores()).isEqualTo(1);
+        assertThat(resultado.progresionPoderes()).isEmpty();
+    }
+}
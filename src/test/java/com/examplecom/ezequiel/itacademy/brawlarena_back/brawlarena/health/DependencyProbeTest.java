@@ -0,0 +1,105 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.health;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config.HealthProbeConfig;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DependencyProbeTest {
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final HealthProbeConfig config = new HealthProbeConfig();
+
+    private final AtomicInteger pingsMongo = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        config.setTimeout(Duration.ofMillis(100));
+        config.setCacheTtl(Duration.ofMinutes(1));
+    }
+
+    // Helper: cada suscripción cuenta como un ping real a Mongo
+    private Mono<Document> pingMongo() {
+        return Mono.fromCallable(() -> {
+            pingsMongo.incrementAndGet();
+            return new Document("ok", 1);
+        });
+    }
+
+    @Test
+    void check_ambasBasesResponden_estadoUp() {
+        when(mongoTemplate.executeCommand("{ ping: 1 }")).thenReturn(pingMongo());
+        when(userRepository.ping()).thenReturn(Mono.just(1));
+
+        DependencyProbe probe = new DependencyProbe(mongoTemplate, userRepository, config);
+
+        StepVerifier.create(probe.check())
+                .assertNext(estado -> {
+                    assertThat(estado.mongo()).isEqualTo(DependencyProbe.UP);
+                    assertThat(estado.mysql()).isEqualTo(DependencyProbe.UP);
+                    assertThat(estado.up()).isTrue();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void check_mysqlNoRespondeATiempo_estadoDownSinError() {
+        when(mongoTemplate.executeCommand("{ ping: 1 }")).thenReturn(pingMongo());
+        when(userRepository.ping()).thenReturn(Mono.never());
+
+        DependencyProbe probe = new DependencyProbe(mongoTemplate, userRepository, config);
+
+        StepVerifier.create(probe.check())
+                .assertNext(estado -> {
+                    assertThat(estado.mongo()).isEqualTo(DependencyProbe.UP);
+                    assertThat(estado.mysql()).isEqualTo(DependencyProbe.DOWN);
+                    assertThat(estado.up()).isFalse();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void check_mongoFalla_estadoDown() {
+        when(mongoTemplate.executeCommand("{ ping: 1 }")).thenReturn(Mono.error(new RuntimeException("Mongo caído")));
+        when(userRepository.ping()).thenReturn(Mono.just(1));
+
+        DependencyProbe probe = new DependencyProbe(mongoTemplate, userRepository, config);
+
+        StepVerifier.create(probe.check())
+                .assertNext(estado -> assertThat(estado.mongo()).isEqualTo(DependencyProbe.DOWN))
+                .verifyComplete();
+    }
+
+    @Test
+    void check_dentroDelTtl_reutilizaResultadoSinVolverAConsultar() {
+        when(mongoTemplate.executeCommand("{ ping: 1 }")).thenReturn(pingMongo());
+        when(userRepository.ping()).thenReturn(Mono.just(1));
+
+        DependencyProbe probe = new DependencyProbe(mongoTemplate, userRepository, config);
+
+        for (int i = 0; i < 10; i++) {
+            probe.check().block();
+        }
+
+        assertThat(pingsMongo.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.health;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.ValidationPlanCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.EntityResponse;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HealthHandlerTest {
+
+    @Mock
+    private DependencyProbe dependencyProbe;
+
+    @Mock
+    private CharacterCatalog characterCatalog;
+
+    @Mock
+    private ValidationPlanCache planesCache;
+
+    @Mock
+    private ServerRequest request;
+
+    @InjectMocks
+    private HealthHandler healthHandler;
+
+    @Test
+    void liveness_RetornaOkSinConsultarDependencias() {
+        StepVerifier.create(healthHandler.liveness(request))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.statusCode()))
+                .verifyComplete();
+
+        verifyNoInteractions(dependencyProbe);
+    }
+
+    @Test
+    void readiness_DependenciasUp_RetornaOkConEstadoDeCaches() {
+        when(dependencyProbe.check())
+                .thenReturn(Mono.just(new DependencyProbe.Estado(DependencyProbe.UP, DependencyProbe.UP, Instant.now())));
+        when(characterCatalog.current())
+                .thenReturn(Optional.empty());
+        when(characterCatalog.version())
+                .thenReturn(3L);
+        when(planesCache.size())
+                .thenReturn(12L);
+
+        StepVerifier.create(healthHandler.readiness(request))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.statusCode());
+
+                    HealthHandler.Readiness body = (HealthHandler.Readiness) ((EntityResponse<?>) response).entity();
+                    assertEquals(DependencyProbe.UP, body.status());
+                    assertFalse(body.catalogLoaded());
+                    assertEquals(3L, body.catalogVersion());
+                    assertEquals(12L, body.validationPlans());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void readiness_MongoDown_RetornaServiceUnavailable() {
+        when(dependencyProbe.check())
+                .thenReturn(Mono.just(new DependencyProbe.Estado(DependencyProbe.DOWN, DependencyProbe.UP, Instant.now())));
+        when(characterCatalog.current())
+                .thenReturn(Optional.empty());
+
+        StepVerifier.create(healthHandler.readiness(request))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.statusCode());
+
+                    HealthHandler.Readiness body = (HealthHandler.Readiness) ((EntityResponse<?>) response).entity();
+                    assertEquals(DependencyProbe.DOWN, body.status());
+                    assertEquals(DependencyProbe.DOWN, body.mongo());
+                })
+                .verifyComplete();
+    }
+}
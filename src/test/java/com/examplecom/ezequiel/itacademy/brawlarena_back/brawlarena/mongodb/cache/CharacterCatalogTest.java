@@ -0,0 +1,212 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog.Snapshot;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CharacterCatalogTest {
+
+    @Mock
+    private CharacterRepository characterRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CharacterCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new CharacterCatalog(characterRepository, objectMapper);
+    }
+
+    // Helper
+    private Character createCharacter(String id) {
+        return new Character(id, "Nombre-" + id, "Descripción", "Medium",
+                new ArrayList<>(), PowerSet.empty(), "image.png", 10, "game.png");
+    }
+
+    @Test
+    void snapshot_cargaUnaVezYReutilizaSinConsultarMongo() {
+        when(characterRepository.findAll())
+                .thenReturn(Flux.just(createCharacter("c1"), createCharacter("c2")));
+
+        StepVerifier.create(catalog.snapshot())
+                .assertNext(snapshot -> {
+                    assertThat(snapshot.characters()).hasSize(2);
+                    assertThat(snapshot.byId()).containsKeys("c1", "c2");
+                })
+                .verifyComplete();
+
+        StepVerifier.create(catalog.snapshot())
+                .assertNext(snapshot -> assertThat(snapshot.characters()).hasSize(2))
+                .verifyComplete();
+
+        verify(characterRepository, times(1)).findAll();
+    }
+
+    @Test
+    void snapshot_serializaVistaPublicaSinDesbloquear() throws Exception {
+        when(characterRepository.findAll())
+                .thenReturn(Flux.just(createCharacter("c1")));
+
+        JsonNode json = objectMapper.readTree(catalog.snapshot().block().json());
+
+        assertThat(json.isArray()).isTrue();
+        assertThat(json.get(0).get("id").asText()).isEqualTo("c1");
+        assertThat(json.get(0).get("cost").asInt()).isEqualTo(10);
+        assertThat(json.get(0).get("unlocked").asBoolean()).isFalse();
+    }
+
+    @Test
+    void snapshot_resumenNoIncluyePiezas() throws Exception {
+        when(characterRepository.findAll())
+                .thenReturn(Flux.just(createCharacter("c1")));
+
+        JsonNode resumen = objectMapper.readTree(catalog.snapshot().block().summaryJson());
+
+        assertThat(resumen.get(0).get("id").asText()).isEqualTo("c1");
+        assertThat(resumen.get(0).get("cost").asInt()).isEqualTo(10);
+        assertThat(resumen.get(0).has("pieces")).isFalse();
+        assertThat(resumen.get(0).has("description")).isFalse();
+    }
+
+    @Test
+    void invalidate_incrementaVersionYRecargaEnLaSiguienteLectura() {
+        when(characterRepository.findAll())
+                .thenReturn(Flux.just(createCharacter("c1")))
+                .thenReturn(Flux.just(createCharacter("c1"), createCharacter("c2")));
+
+        StepVerifier.create(catalog.snapshot())
+                .assertNext(snapshot -> assertThat(snapshot.version()).isZero())
+                .verifyComplete();
+
+        catalog.invalidate();
+        assertThat(catalog.version()).isEqualTo(1);
+
+        StepVerifier.create(catalog.snapshot())
+                .assertNext(snapshot -> {
+                    assertThat(snapshot.version()).isEqualTo(1);
+                    assertThat(snapshot.characters()).hasSize(2);
+                })
+                .verifyComplete();
+
+        verify(characterRepository, times(2)).findAll();
+    }
+
+    @Test
+    void snapshot_peticionesDuranteLaCarga_compartenUnSoloFindAll() {
+        Sinks.Many<Character> lenta = Sinks.many().unicast().onBackpressureBuffer();
+        when(characterRepository.findAll())
+                .thenReturn(lenta.asFlux());
+
+        List<Snapshot> recibidos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            catalog.snapshot().subscribe(recibidos::add);
+        }
+        lenta.tryEmitNext(createCharacter("c1"));
+        lenta.tryEmitComplete();
+
+        assertThat(recibidos).hasSize(5);
+        assertThat(recibidos).allSatisfy(snapshot -> assertThat(snapshot.byId()).containsOnlyKeys("c1"));
+        verify(characterRepository, times(1)).findAll();
+    }
+
+    @Test
+    void snapshot_cargaIniciadaAntesDeInvalidar_noSeConserva() {
+        Sinks.Many<Character> lenta = Sinks.many().unicast().onBackpressureBuffer();
+        when(characterRepository.findAll())
+                .thenReturn(lenta.asFlux())
+                .thenReturn(Flux.just(createCharacter("c2")));
+
+        StepVerifier.create(catalog.snapshot())
+                .then(() -> {
+                    // Una escritura llega mientras la carga anterior sigue en vuelo
+                    catalog.invalidate();
+                    lenta.tryEmitNext(createCharacter("c1"));
+                    lenta.tryEmitComplete();
+                })
+                .assertNext(snapshot -> assertThat(snapshot.byId()).containsOnlyKeys("c1"))
+                .verifyComplete();
+
+        StepVerifier.create(catalog.snapshot())
+                .assertNext(snapshot -> assertThat(snapshot.byId()).containsOnlyKeys("c2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void freeCharacterIds_soloCosteCeroYSeRecalculaTrasInvalidar() {
+        Character gratuito = createCharacter("c1");
+        gratuito.setCost(0);
+        Character sinCoste = createCharacter("c3");
+        sinCoste.setCost(null);
+        Character liberado = createCharacter("c2");
+        liberado.setCost(0);
+
+        when(characterRepository.findAll())
+                .thenReturn(Flux.just(gratuito, createCharacter("c2"), sinCoste))
+                .thenReturn(Flux.just(gratuito, liberado, sinCoste));
+
+        StepVerifier.create(catalog.freeCharacterIds())
+                .assertNext(ids -> assertThat(ids).containsExactly("c1"))
+                .verifyComplete();
+
+        // Registros posteriores reutilizan la lista sin volver a Mongo
+        catalog.freeCharacterIds().block();
+        verify(characterRepository, times(1)).findAll();
+
+        catalog.invalidate();
+
+        StepVerifier.create(catalog.freeCharacterIds())
+                .assertNext(ids -> assertThat(ids).containsExactly("c1", "c2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void current_soloDevuelveSnapshotYaCargado() {
+        when(characterRepository.findAll())
+                .thenReturn(Flux.just(createCharacter("c1")));
+
+        assertThat(catalog.current()).isEmpty();
+
+        catalog.snapshot().block();
+        assertThat(catalog.current()).hasValueSatisfying(snapshot ->
+                assertThat(snapshot.byId()).containsOnlyKeys("c1"));
+
+        catalog.invalidate();
+        assertThat(catalog.current()).isEmpty();
+    }
+
+    @Test
+    void snapshot_errorEnMongo_noQuedaCacheado() {
+        when(characterRepository.findAll())
+                .thenReturn(Flux.error(new RuntimeException("Mongo caído")))
+                .thenReturn(Flux.just(createCharacter("c1")));
+
+        StepVerifier.create(catalog.snapshot())
+                .expectErrorMessage("Mongo caído")
+                .verify();
+
+        StepVerifier.create(catalog.snapshot())
+                .assertNext(snapshot -> assertThat(snapshot.characters()).hasSize(1))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,76 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config.GalleryStreamConfig;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class GalleryFeedTest {
+
+    private GalleryFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        GalleryStreamConfig config = new GalleryStreamConfig();
+        config.setBufferSize(2);
+        feed = new GalleryFeed(config);
+    }
+
+    @Test
+    void publish_sinSuscriptores_noFallaNiSeGuarda() {
+        assertThatCode(() -> feed.publish(GalleryEvent.deleted("m0"))).doesNotThrowAnyException();
+
+        // Un suscriptor que llega después no recibe eventos anteriores
+        StepVerifier.create(feed.events())
+                .then(() -> feed.publish(GalleryEvent.deleted("m1")))
+                .assertNext(evento -> assertThat(evento.sharedModelId()).isEqualTo("m1"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void publish_llegaATodosLosSuscriptores() {
+        StepVerifier.create(feed.events().take(2))
+                .then(() -> {
+                    StepVerifier.create(feed.events().take(1))
+                            .then(() -> feed.publish(GalleryEvent.deleted("m1")))
+                            .assertNext(evento -> assertThat(evento.sharedModelId()).isEqualTo("m1"))
+                            .verifyComplete();
+                    feed.publish(GalleryEvent.deleted("m2"));
+                })
+                .assertNext(evento -> assertThat(evento.sharedModelId()).isEqualTo("m1"))
+                .assertNext(evento -> assertThat(evento.sharedModelId()).isEqualTo("m2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void suscriptorLento_pierdeLosEventosMasAntiguos() {
+        StepVerifier.create(feed.events(), 0)
+                .then(() -> {
+                    for (int i = 1; i <= 5; i++) {
+                        feed.publish(GalleryEvent.deleted("m" + i));
+                    }
+                })
+                .thenRequest(5)
+                .assertNext(evento -> assertThat(evento.sharedModelId()).isEqualTo("m4"))
+                .assertNext(evento -> assertThat(evento.sharedModelId()).isEqualTo("m5"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void subscribers_cuentaLasConexionesAbiertas() {
+        assertThat(feed.subscribers()).isZero();
+
+        StepVerifier.create(feed.events())
+                .then(() -> assertThat(feed.subscribers()).isEqualTo(1))
+                .thenCancel()
+                .verify();
+
+        assertThat(feed.subscribers()).isZero();
+    }
+}
@@ -0,0 +1,196 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.FeaturedModel;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.FeaturedModelRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.SharedModelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HighlightedModelCacheTest {
+
+    @Mock
+    private FeaturedModelRepository featuredModelRepository;
+
+    @Mock
+    private SharedModelRepository sharedModelRepository;
+
+    private HighlightedModelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new HighlightedModelCache(featuredModelRepository, sharedModelRepository);
+    }
+
+    // Helper
+    private SharedModel createModel(String id) {
+        SharedModel model = new SharedModel();
+        model.setId(id);
+        model.setPlayerId("player-" + id);
+        return model;
+    }
+
+    // Helper
+    private FeaturedModel puntero(String sharedModelId, String featuredAt) {
+        return new FeaturedModel(FeaturedModel.ID, sharedModelId, Instant.parse(featuredAt));
+    }
+
+    @Test
+    void highlighted_cargaUnaVezYReutilizaSinConsultarMongo() {
+        when(featuredModelRepository.findById(FeaturedModel.ID))
+                .thenReturn(Mono.just(puntero("m1", "2024-01-01T10:00:00Z")));
+        when(sharedModelRepository.findById("m1"))
+                .thenReturn(Mono.just(createModel("m1")));
+
+        StepVerifier.create(cache.highlighted())
+                .assertNext(destacado -> assertThat(destacado).hasValueSatisfying(model -> {
+                    assertThat(model.getId()).isEqualTo("m1");
+                    assertThat(model.isHighlighted()).isTrue();
+                }))
+                .verifyComplete();
+
+        cache.highlighted().block();
+
+        verify(featuredModelRepository, times(1)).findById(FeaturedModel.ID);
+        verify(sharedModelRepository, times(1)).findById("m1");
+    }
+
+    @Test
+    void highlighted_sinPuntero_migraElDestacadoAntiguo() {
+        SharedModel antiguo = createModel("m1");
+
+        when(featuredModelRepository.findById(FeaturedModel.ID))
+                .thenReturn(Mono.empty());
+        when(sharedModelRepository.findLegacyHighlighted())
+                .thenReturn(Mono.just(antiguo));
+        when(featuredModelRepository.pointTo("m1"))
+                .thenReturn(Mono.just(puntero("m1", "2024-01-01T10:00:00Z")));
+        when(sharedModelRepository.findById("m1"))
+                .thenReturn(Mono.just(antiguo));
+
+        StepVerifier.create(cache.highlighted())
+                .assertNext(destacado -> assertThat(destacado).hasValueSatisfying(model -> {
+                    assertThat(model.getId()).isEqualTo("m1");
+                    assertThat(model.isHighlighted()).isTrue();
+                }))
+                .verifyComplete();
+
+        verify(featuredModelRepository).pointTo("m1");
+    }
+
+    @Test
+    void highlighted_sinDestacado_seCacheaElVacio() {
+        when(featuredModelRepository.findById(FeaturedModel.ID))
+                .thenReturn(Mono.empty());
+        when(sharedModelRepository.findLegacyHighlighted())
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.highlighted())
+                .assertNext(destacado -> assertThat(destacado).isEmpty())
+                .verifyComplete();
+
+        cache.highlighted().block();
+
+        verify(featuredModelRepository, times(1)).findById(FeaturedModel.ID);
+    }
+
+    @Test
+    void highlight_reemplazaLaCopiaEnMemoriaSinConsultarMongo() {
+        cache.highlight(createModel("m2"), Instant.parse("2024-02-01T10:00:00Z"));
+
+        StepVerifier.create(cache.highlighted())
+                .assertNext(destacado -> assertThat(destacado.map(SharedModel::getId)).contains("m2"))
+                .verifyComplete();
+
+        verifyNoInteractions(featuredModelRepository, sharedModelRepository);
+    }
+
+    @Test
+    void highlighted_modificarElModeloDevueltoOElOriginal_noAlteraLaCache() {
+        SharedModel original = createModel("m1");
+        original.setScore(90);
+        cache.highlight(original, Instant.parse("2024-01-01T10:00:00Z"));
+
+        // Ni el llamador que destacó ni quien lee el destacado comparten la instancia cacheada
+        original.setScore(0);
+        cache.highlighted().block().orElseThrow().setPlayerId("manipulado");
+
+        StepVerifier.create(cache.highlighted())
+                .assertNext(destacado -> assertThat(destacado).hasValueSatisfying(model -> {
+                    assertThat(model).isNotSameAs(original);
+                    assertThat(model.getScore()).isEqualTo(90);
+                    assertThat(model.getPlayerId()).isEqualTo("player-m1");
+                    assertThat(model.isHighlighted()).isTrue();
+                }))
+                .verifyComplete();
+    }
+
+    @Test
+    void highlight_cambioAnteriorQueLlegaTarde_noPisaAlVigente() {
+        cache.highlight(createModel("nuevo"), Instant.parse("2024-02-01T10:00:00Z"));
+        cache.highlight(createModel("viejo"), Instant.parse("2024-01-01T10:00:00Z"));
+
+        StepVerifier.create(cache.highlighted())
+                .assertNext(destacado -> assertThat(destacado.map(SharedModel::getId)).contains("nuevo"))
+                .verifyComplete();
+    }
+
+    @Test
+    void highlighted_cargaIniciadaAntesDeDestacar_noSeConserva() {
+        Sinks.One<FeaturedModel> lenta = Sinks.one();
+        when(featuredModelRepository.findById(FeaturedModel.ID))
+                .thenReturn(lenta.asMono());
+        when(sharedModelRepository.findById("m1"))
+                .thenReturn(Mono.just(createModel("m1")));
+
+        StepVerifier.create(cache.highlighted())
+                .then(() -> {
+                    // Un administrador cambia el destacado mientras la carga sigue en vuelo
+                    cache.highlight(createModel("m2"), Instant.parse("2024-02-01T10:00:00Z"));
+                    lenta.tryEmitValue(puntero("m1", "2024-01-01T10:00:00Z"));
+                })
+                .assertNext(destacado -> assertThat(destacado.map(SharedModel::getId)).contains("m1"))
+                .verifyComplete();
+
+        StepVerifier.create(cache.highlighted())
+                .assertNext(destacado -> assertThat(destacado.map(SharedModel::getId)).contains("m2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void clearEInvalidate_vaciarNoConsultaYInvalidarRecarga() {
+        cache.highlight(createModel("m1"), Instant.parse("2024-01-01T10:00:00Z"));
+        cache.clear();
+
+        StepVerifier.create(cache.highlighted())
+                .assertNext(destacado -> assertThat(destacado).isEmpty())
+                .verifyComplete();
+        verifyNoInteractions(featuredModelRepository);
+
+        when(featuredModelRepository.findById(FeaturedModel.ID))
+                .thenReturn(Mono.just(puntero("m1", "2024-01-01T10:00:00Z")));
+        when(sharedModelRepository.findById("m1"))
+                .thenReturn(Mono.just(createModel("m1")));
+
+        cache.invalidate();
+
+        StepVerifier.create(cache.highlighted())
+                .assertNext(destacado -> assertThat(destacado.map(SharedModel::getId)).contains("m1"))
+                .verifyComplete();
+    }
+}
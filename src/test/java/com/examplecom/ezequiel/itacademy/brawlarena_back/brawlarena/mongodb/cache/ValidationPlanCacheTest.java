@@ -0,0 +1,84 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config.PiecesCacheConfig;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ValidationPlanCacheTest {
+
+    @Mock
+    private CharacterRepository characterRepository;
+
+    private ValidationPlanCache planCache;
+
+    @BeforeEach
+    void setUp() {
+        planCache = new ValidationPlanCache(characterRepository, new PiecesCacheConfig());
+    }
+
+    // Helper
+    private Piece createPiece(String id, boolean fake) {
+        Piece piece = new Piece();
+        piece.setId(id);
+        piece.setFake(fake);
+        piece.setLevel(1);
+        return piece;
+    }
+
+    // Helper
+    private Character createCharacter(String id, List<Piece> pieces) {
+        Character character = new Character();
+        character.setId(id);
+        character.setPieces(pieces);
+        return character;
+    }
+
+    @Test
+    void get_ignoraPiezasFalsas_yReutilizaPlanSinConsultarMongo() {
+        Character character = createCharacter("char1", List.of(createPiece("p1", false), createPiece("p2", true)));
+
+        StepVerifier.create(planCache.get(character))
+                .assertNext(plan -> assertThat(plan.size()).isEqualTo(1))
+                .verifyComplete();
+
+        StepVerifier.create(planCache.get(character))
+                .assertNext(plan -> assertThat(plan.size()).isEqualTo(1))
+                .verifyComplete();
+
+        assertThat(planCache.stats().missCount()).isEqualTo(1);
+        assertThat(planCache.stats().hitCount()).isEqualTo(1);
+        verifyNoInteractions(characterRepository);
+    }
+
+    @Test
+    void get_personajeSinPiezas_devuelvePlanVacio() {
+        StepVerifier.create(planCache.get(createCharacter("char1", null)))
+                .assertNext(plan -> assertThat(plan.size()).isZero())
+                .verifyComplete();
+    }
+
+    @Test
+    void invalidate_obligaARecompilarConLaNuevaVersionDelPersonaje() {
+        planCache.get(createCharacter("char1", List.of(createPiece("p1", false)))).block();
+
+        planCache.invalidate("char1");
+
+        Character actualizado = createCharacter("char1", List.of(createPiece("p1", false), createPiece("p3", false)));
+        StepVerifier.create(planCache.get(actualizado))
+                .assertNext(plan -> assertThat(plan.size()).isEqualTo(2))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,142 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.converter.LegacyPowerListReadConverter;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.converter.PowerSetReadConverter;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.converter.PowerSetWriteConverter;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterUpdateRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PowerSetTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void operacionesDeConjunto_sonCoherentesConLosPoderes() {
+        PowerSet jugador = PowerSet.of(Power.AIR_JUMP, Power.COMBO_KICKS, Power.CORTE_TSUNAMI);
+        PowerSet personaje = PowerSet.of(Power.AIR_JUMP, Power.COMBO_KICKS);
+
+        assertThat(jugador.containsAll(personaje)).isTrue();
+        assertThat(personaje.containsAll(jugador)).isFalse();
+        assertThat(jugador.coverage(PowerSet.of(Power.AIR_JUMP, Power.SUPERMUSCULADO))).isEqualTo(1);
+        assertThat(personaje.union(PowerSet.of(Power.SUPERMUSCULADO)).size()).isEqualTo(3);
+        assertThat(jugador.intersection(personaje)).isEqualTo(personaje);
+        assertThat(PowerSet.empty().isEmpty()).isTrue();
+        assertThat(PowerSet.empty().with(Power.AMMO_RUSH).contains(Power.AMMO_RUSH)).isTrue();
+    }
+
+    @Test
+    void toList_respetaElOrdenDelEnum() {
+        PowerSet poderes = PowerSet.copyOf(List.of(Power.SUPERMUSCULADO, Power.BURBUJA_ANTIGRAVEDAD, Power.AMMO_RUSH));
+
+        assertThat(poderes.toList())
+                .containsExactly(Power.BURBUJA_ANTIGRAVEDAD, Power.AMMO_RUSH, Power.SUPERMUSCULADO);
+    }
+
+    @Test
+    void indicesDeBit_sonFijosYNoDependenDelOrdenDeDeclaracion() {
+        // Los valores guardados en Mongo dependen de estos índices: cambiarlos corrompe builds y modelos compartidos
+        Map<Power, Integer> esperados = Map.ofEntries(
+                Map.entry(Power.BURBUJA_ANTIGRAVEDAD, 0),
+                Map.entry(Power.CHUPETE_SONICO, 1),
+                Map.entry(Power.ESCAPE_WRAP, 2),
+                Map.entry(Power.MECHA_JUMP_SHOT, 3),
+                Map.entry(Power.CAMPO_MAGNETICO, 4),
+                Map.entry(Power.OVERBOOST_KAWAII, 5),
+                Map.entry(Power.PATADA_DE_PLASMA, 6),
+                Map.entry(Power.CONCENTRACION_ZEN, 7),
+                Map.entry(Power.COMBO_KICKS, 8),
+                Map.entry(Power.AMMO_RUSH, 9),
+                Map.entry(Power.POSTURA_IMPARABLE, 10),
+                Map.entry(Power.GOLPE_DE_AUTORIDAD, 11),
+                Map.entry(Power.DOUBLE_KATANA, 12),
+                Map.entry(Power.CORTE_TSUNAMI, 13),
+                Map.entry(Power.SILENCIO_DEL_KOI, 14),
+                Map.entry(Power.EXPLOSIVE_SHOT, 15),
+                Map.entry(Power.SHOT_CANON, 16),
+                Map.entry(Power.DINAMITE_EGG, 17),
+                Map.entry(Power.PATADA_AEREA, 18),
+                Map.entry(Power.VUELO_TORNADO, 19),
+                Map.entry(Power.LLAVE_IMPOSIBLE, 20),
+                Map.entry(Power.GARROTE_MAGICO, 21),
+                Map.entry(Power.GOLPE_DE_TIERRA, 22),
+                Map.entry(Power.LLAMA_RITUAL, 23),
+                Map.entry(Power.DESTRUCTIVE_GUITAR, 24),
+                Map.entry(Power.RIFF_SISMICO, 25),
+                Map.entry(Power.FEEDBACK_INFERNAL, 26),
+                Map.entry(Power.DISPARO_EXPLOSIVO, 27),
+                Map.entry(Power.TELETRANSPORTE_CORTO, 28),
+                Map.entry(Power.INTERFERENCIA_NEURAL, 29),
+                Map.entry(Power.EXPLOSION_DE_RABIA, 30),
+                Map.entry(Power.PELUCHAZO_LETAL, 31),
+                Map.entry(Power.SWING_BRUTAL, 32),
+                Map.entry(Power.REVOLVER_SHOT, 33),
+                Map.entry(Power.ESCUDO_DE_PLOMO, 34),
+                Map.entry(Power.CARGA_DESBOCADA, 35),
+                Map.entry(Power.SNAKEWOOD_SLASH, 36),
+                Map.entry(Power.AIR_JUMP, 37),
+                Map.entry(Power.SUPERMUSCULADO, 38)
+        );
+
+        assertThat(Power.values()).hasSize(esperados.size());
+        esperados.forEach((power, bit) -> assertThat(power.bit()).as(power.name()).isEqualTo(bit));
+    }
+
+    @Test
+    void validarIndices_masDe64Poderes_seRechaza() {
+        int[] indices = IntStream.range(0, Long.SIZE + 1).toArray();
+
+        assertThatThrownBy(() -> PowerSet.validarIndices(indices))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void validarIndices_repetidosOFueraDeRango_seRechazan() {
+        assertThatThrownBy(() -> PowerSet.validarIndices(new int[]{0, 1, 1}))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> PowerSet.validarIndices(new int[]{64}))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(PowerSet.validarIndices(new int[]{0, 63})).isEqualTo(1L | (1L << 63));
+    }
+
+    @Test
+    void bitsFueraDeRango_lanzaIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new PowerSet(1L << 63));
+    }
+
+    @Test
+    void json_mantieneElFormatoDeArrayDeNombres() throws Exception {
+        PowerSet poderes = PowerSet.of(Power.COMBO_KICKS, Power.AIR_JUMP);
+
+        String json = objectMapper.writeValueAsString(poderes);
+
+        assertThat(json).isEqualTo("[\"COMBO_KICKS\",\"AIR_JUMP\"]");
+        assertThat(objectMapper.readValue(json, PowerSet.class)).isEqualTo(poderes);
+    }
+
+    @Test
+    void json_poderInvalidoEnPeticion_fallaLaDeserializacion() {
+        String json = "{\"name\":\"Luffy\",\"powers\":[\"AIR_JUMP\",\"NO_EXISTE\"]}";
+
+        assertThrows(Exception.class, () -> objectMapper.readValue(json, CharacterUpdateRequest.class));
+    }
+
+    @Test
+    void convertidoresMongo_guardanUnLongYLeenDocumentosAntiguos() {
+        PowerSet poderes = PowerSet.of(Power.DOUBLE_KATANA, Power.SHOT_CANON);
+
+        Long guardado = new PowerSetWriteConverter().convert(poderes);
+
+        assertThat(new PowerSetReadConverter().convert(guardado)).isEqualTo(poderes);
+        assertThat(new LegacyPowerListReadConverter().convert(List.of("DOUBLE_KATANA", "SHOT_CANON")))
+                .isEqualTo(poderes);
+    }
+}
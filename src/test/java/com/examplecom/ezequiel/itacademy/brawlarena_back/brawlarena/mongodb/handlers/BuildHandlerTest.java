@@ -1,9 +1,14 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers;
 
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.BuildAlreadyValidatedException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.NoPendingBuildException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.UserNotFoundException;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildHistoryPage;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildSummary;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildValidationResult;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service.BuildService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -15,17 +20,25 @@ import org.springframework.web.reactive.function.server.ServerRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import org.springframework.web.reactive.function.server.EntityResponse;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -40,6 +53,19 @@ class BuildHandlerTest {
     @InjectMocks
     private BuildHandler buildHandler;
 
+    @Mock
+    private ServerRequest.Headers headers;
+
+    @BeforeEach
+    void aceptarJsonPorDefecto() {
+        lenient().when(request.headers()).thenReturn(headers);
+        lenient().when(headers.accept()).thenReturn(List.of());
+    }
+
+    private void aceptar(MediaType tipo) {
+        when(headers.accept()).thenReturn(List.of(tipo));
+    }
+
     @Test
     void startBuild_Success_ReturnsOkWithBuild() {
 
@@ -298,6 +324,82 @@ class BuildHandlerTest {
                 .verify();
     }
 
+    @Test
+    void validateBuildBatch_StreamsResultsAsNdjson() {
+
+        String playerId = "player123";
+        Authentication auth = new UsernamePasswordAuthenticationToken(playerId, "");
+
+        when(request.principal())
+                .thenAnswer(inv -> Mono.just(auth));
+
+        Build build1 = new Build();
+        build1.setCharacterId("char1");
+        Build build2 = new Build();
+        build2.setCharacterId("char2");
+        Flux<Build> body = Flux.just(build1, build2);
+
+        when(request.bodyToFlux(Build.class)).thenReturn(body);
+
+        Build validado = new Build();
+        validado.setCharacterId("char1");
+        validado.setValid(true);
+
+        when(buildService.validateBuilds(playerId, body))
+                .thenReturn(Mono.just(Flux.just(
+                        BuildValidationResult.ok(0, validado),
+                        BuildValidationResult.failed(1, "char2", "No hay un build pendiente para este personaje"))));
+
+        StepVerifier.create(buildHandler.validateBuildBatch(request))
+                .assertNext(res -> {
+                    assertEquals(HttpStatus.OK, res.statusCode());
+                    assertEquals(MediaType.APPLICATION_NDJSON, res.headers().getContentType());
+
+                    Object entity = ((EntityResponse<?>) res).entity();
+                    assertInstanceOf(Flux.class, entity);
+                    StepVerifier.create((Flux<?>) entity)
+                            .assertNext(result -> assertTrue(((BuildValidationResult) result).success()))
+                            .assertNext(result -> assertFalse(((BuildValidationResult) result).success()))
+                            .verifyComplete();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void validateBuildBatch_JugadorInexistente_ReturnsNotFoundSinAbrirStream() {
+
+        String playerId = "player123";
+        Authentication auth = new UsernamePasswordAuthenticationToken(playerId, "");
+
+        when(request.principal())
+                .thenAnswer(inv -> Mono.just(auth));
+
+        Flux<Build> body = Flux.just(new Build());
+        when(request.bodyToFlux(Build.class)).thenReturn(body);
+        when(buildService.validateBuilds(playerId, body))
+                .thenReturn(Mono.error(new UserNotFoundException("Usuario no encontrado")));
+
+        StepVerifier.create(buildHandler.validateBuildBatch(request))
+                .assertNext(res -> {
+                    assertEquals(HttpStatus.NOT_FOUND, res.statusCode());
+                    assertEquals("Usuario no encontrado", ((EntityResponse<?>) res).entity());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void validateBuildBatch_UsuarioNoAutenticado_LanzaUserNotFoundException() {
+
+        when(request.principal())
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(buildHandler.validateBuildBatch(request))
+                .expectErrorMatches(error ->
+                        error instanceof UserNotFoundException &&
+                                error.getMessage().contains("Autenticación requerida"))
+                .verify();
+    }
+
     @Test
     void validateBuild_ErrorEnServicio_LanzaExcepcion() {
 
@@ -325,6 +427,35 @@ class BuildHandlerTest {
                 .verify();
     }
 
+    @Test
+    void validateBuild_BuildYaValidado_RetornaConflict() {
+
+        String playerId = "player123";
+        Authentication auth = new UsernamePasswordAuthenticationToken(playerId, "");
+
+        when(request.principal())
+                .thenAnswer(inv -> Mono.just(auth));
+
+        Build buildRequest = new Build();
+        buildRequest.setCharacterId("char1");
+        buildRequest.setPiecesPlaced(List.of("pieza1"));
+        buildRequest.setDuration(60L);
+
+        when(request.bodyToMono(Build.class))
+                .thenReturn(Mono.just(buildRequest));
+
+        when(buildService.validateBuild(playerId, buildRequest))
+                .thenReturn(Mono.error(new BuildAlreadyValidatedException("Este build ya ha sido validado")));
+
+        StepVerifier.create(buildHandler.validateBuild(request))
+                .assertNext(res -> {
+                    assertEquals(HttpStatus.CONFLICT, res.statusCode());
+                    Object body = ((EntityResponse<?>) res).entity();
+                    assertEquals("Este build ya ha sido validado", body);
+                })
+                .verifyComplete();
+    }
+
     @Test
     void getBuildHistory_AutenticacionFallida_LanzaUserNotFoundException() {
 
@@ -347,8 +478,8 @@ class BuildHandlerTest {
         when(request.principal())
                 .thenAnswer(inv -> Mono.just(auth));
 
-        when(buildService.getBuildHistory(playerId))
-                .thenReturn(Flux.empty());
+        when(buildService.getBuildHistory(playerId, null, 20))
+                .thenReturn(Mono.just(new BuildHistoryPage(List.of(), null)));
 
         StepVerifier.create(buildHandler.getBuildHistory(request))
                 .assertNext(res -> assertEquals(HttpStatus.NO_CONTENT, res.statusCode()))
@@ -360,20 +491,67 @@ class BuildHandlerTest {
 
         String playerId = "player123";
         Authentication auth = new UsernamePasswordAuthenticationToken(playerId, "");
-        Build build1 = new Build();
-        Build build2 = new Build();
 
         when(request.principal())
                 .thenAnswer(inv -> Mono.just(auth));
 
-        when(buildService.getBuildHistory(playerId))
-                .thenReturn(Flux.just(build1, build2));
+        when(buildService.getBuildHistory(playerId, null, 20))
+                .thenReturn(Mono.just(new BuildHistoryPage(List.of(resumen("build1"), resumen("build2")), null)));
+
+        StepVerifier.create(buildHandler.getBuildHistory(request))
+                .assertNext(res -> {
+                    assertEquals(HttpStatus.OK, res.statusCode());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getBuildHistory_AcceptNdjson_EnviaBuildsEnStreaming() {
+
+        String playerId = "player123";
+        Authentication auth = new UsernamePasswordAuthenticationToken(playerId, "");
+
+        when(request.principal())
+                .thenAnswer(inv -> Mono.just(auth));
+        when(request.queryParam("cursor")).thenReturn(Optional.empty());
+        aceptar(MediaType.APPLICATION_NDJSON);
+
+        when(buildService.streamBuildHistory(playerId, null))
+                .thenReturn(Flux.just(resumen("build1"), resumen("build2")));
 
         StepVerifier.create(buildHandler.getBuildHistory(request))
                 .assertNext(res -> {
                     assertEquals(HttpStatus.OK, res.statusCode());
+                    assertEquals(MediaType.APPLICATION_NDJSON, res.headers().getContentType());
+
+                    @SuppressWarnings("unchecked")
+                    Flux<BuildSummary> body = (Flux<BuildSummary>) ((EntityResponse<?>) res).entity();
+                    StepVerifier.create(body)
+                            .expectNextMatches(b -> "build1".equals(b.id()))
+                            .expectNextMatches(b -> "build2".equals(b.id()))
+                            .verifyComplete();
                 })
                 .verifyComplete();
+
+        verify(buildService, never()).getBuildHistory(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void getBuildHistory_AcceptNdjsonConCursorInvalido_ReturnsBadRequestSinAbrirStream() {
+
+        String playerId = "player123";
+        Authentication auth = new UsernamePasswordAuthenticationToken(playerId, "");
+
+        when(request.principal())
+                .thenAnswer(inv -> Mono.just(auth));
+        when(request.queryParam("cursor")).thenReturn(Optional.of("no-es-un-cursor"));
+        aceptar(MediaType.APPLICATION_NDJSON);
+
+        StepVerifier.create(buildHandler.getBuildHistory(request))
+                .assertNext(res -> assertEquals(HttpStatus.BAD_REQUEST, res.statusCode()))
+                .verifyComplete();
+
+        verify(buildService, never()).streamBuildHistory(anyString(), any());
     }
 
     @Test
@@ -385,8 +563,8 @@ class BuildHandlerTest {
         when(request.principal())
                 .thenAnswer(inv -> Mono.just(auth));
 
-        when(buildService.getBuildHistory(playerId))
-                .thenReturn(Flux.error(new RuntimeException("Error de DB")));
+        when(buildService.getBuildHistory(playerId, null, 20))
+                .thenReturn(Mono.error(new RuntimeException("Error de DB")));
 
         StepVerifier.create(buildHandler.getBuildHistory(request))
                 .expectErrorMatches(error ->
@@ -404,8 +582,8 @@ class BuildHandlerTest {
         when(request.principal())
                 .thenAnswer(inv -> Mono.just(auth));
 
-        when(buildService.getBuildHistory(playerId))
-                .thenReturn(Flux.error(new RuntimeException("Error en base de datos")));
+        when(buildService.getBuildHistory(playerId, null, 20))
+                .thenReturn(Mono.error(new RuntimeException("Error en base de datos")));
 
         StepVerifier.create(buildHandler.getBuildHistory(request))
                 .expectErrorMatches(error ->
@@ -420,15 +598,11 @@ class BuildHandlerTest {
         String playerId = "player123";
         Authentication auth = new UsernamePasswordAuthenticationToken(playerId, "");
 
-        Build buildValido = new Build();
-        buildValido.setId("build1");
-        buildValido.setValid(true);
-
         when(request.principal())
                 .thenAnswer(inv -> Mono.just(auth));
 
-        when(buildService.getBuildHistory(playerId))
-                .thenReturn(Flux.just(buildValido));
+        when(buildService.getBuildHistory(playerId, null, 20))
+                .thenReturn(Mono.just(new BuildHistoryPage(List.of(resumen("build1")), null)));
 
 
         StepVerifier.create(buildHandler.getBuildHistory(request))
@@ -443,33 +617,69 @@ class BuildHandlerTest {
     void getBuildHistory_RetornaListaDeBuilds() {
 
         String playerId = "player123";
-        Build build1 = new Build();
-        build1.setId("build1");
-        build1.setValid(true);
-
-        Build build2 = new Build();
-        build2.setId("build2");
-        build2.setValid(true);
 
         when(request.principal())
                 .thenAnswer(inv -> Mono.just(new UsernamePasswordAuthenticationToken(playerId, "")));
-        when(buildService.getBuildHistory(playerId))
-                .thenReturn(Flux.just(build1, build2));
+        when(buildService.getBuildHistory(playerId, null, 20))
+                .thenReturn(Mono.just(new BuildHistoryPage(List.of(resumen("build1"), resumen("build2")), null)));
 
         StepVerifier.create(buildHandler.getBuildHistory(request))
                 .assertNext(res -> {
                     assertEquals(HttpStatus.OK, res.statusCode());
 
                     @SuppressWarnings("unchecked")
-                    List<Build> builds = (List<Build>) ((EntityResponse<?>) res).entity();
+                    List<BuildSummary> builds = (List<BuildSummary>) ((EntityResponse<?>) res).entity();
 
                     assertEquals(2, builds.size());
-                    assertEquals("build1", builds.get(0).getId());
-                    assertEquals("build2", builds.get(1).getId());
+                    assertEquals("build1", builds.get(0).id());
+                    assertEquals("build2", builds.get(1).id());
+                    assertNull(res.headers().getFirst("X-Next-Cursor"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getBuildHistory_ConPaginaSiguiente_DevuelveCursorEnCabecera() {
+
+        String playerId = "player123";
+
+        when(request.principal())
+                .thenAnswer(inv -> Mono.just(new UsernamePasswordAuthenticationToken(playerId, "")));
+        when(request.queryParam("limit")).thenReturn(Optional.of("1"));
+        when(request.queryParam("cursor")).thenReturn(Optional.of("cursorAnterior"));
+        when(buildService.getBuildHistory(playerId, "cursorAnterior", 1))
+                .thenReturn(Mono.just(new BuildHistoryPage(List.of(resumen("build1")), "cursorSiguiente")));
+
+        StepVerifier.create(buildHandler.getBuildHistory(request))
+                .assertNext(res -> {
+                    assertEquals(HttpStatus.OK, res.statusCode());
+                    assertEquals("cursorSiguiente", res.headers().getFirst("X-Next-Cursor"));
                 })
                 .verifyComplete();
     }
 
+    @Test
+    void getBuildHistory_CursorInvalido_RetornaBadRequest() {
+
+        String playerId = "player123";
+
+        when(request.principal())
+                .thenAnswer(inv -> Mono.just(new UsernamePasswordAuthenticationToken(playerId, "")));
+        when(request.queryParam("limit")).thenReturn(Optional.empty());
+        when(request.queryParam("cursor")).thenReturn(Optional.of("roto"));
+        when(buildService.getBuildHistory(playerId, "roto", 20))
+                .thenReturn(Mono.error(new IllegalArgumentException("Cursor de historial inválido")));
+
+        StepVerifier.create(buildHandler.getBuildHistory(request))
+                .assertNext(res -> assertEquals(HttpStatus.BAD_REQUEST, res.statusCode()))
+                .verifyComplete();
+    }
+
+    // Helper
+    private BuildSummary resumen(String id) {
+        return new BuildSummary(id, "char1", 100, 60, 0, Instant.parse("2024-01-01T10:00:00Z"));
+    }
+
     @Test
     void getPendingBuild_MissingCharacterId_ReturnsBadRequest() {
 
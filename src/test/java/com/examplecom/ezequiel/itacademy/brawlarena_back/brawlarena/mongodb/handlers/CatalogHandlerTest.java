@@ -0,0 +1,87 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CatalogImportResult;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service.CatalogService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.EntityResponse;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogHandlerTest {
+
+    @Mock
+    private CatalogService catalogService;
+
+    @Mock
+    private ServerRequest request;
+
+    @InjectMocks
+    private CatalogHandler catalogHandler;
+
+    @Test
+    void importCatalog_PorDefectoOrdenado_RetornaResultado() {
+        CatalogImportResult resultado = new CatalogImportResult(2, 5, List.of());
+
+        when(request.queryParam("ordered"))
+                .thenReturn(Optional.empty());
+        when(request.bodyToFlux(Character.class))
+                .thenReturn(Flux.empty());
+        when(catalogService.importCatalog(any(), eq(true)))
+                .thenReturn(Mono.just(resultado));
+
+        StepVerifier.create(catalogHandler.importCatalog(request))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.statusCode());
+                    assertEquals(resultado, ((EntityResponse<?>) response).entity());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void importCatalog_LineaInvalida_RetornaBadRequest() {
+        when(request.queryParam("ordered"))
+                .thenReturn(Optional.of("false"));
+        when(request.bodyToFlux(Character.class))
+                .thenReturn(Flux.empty());
+        when(catalogService.importCatalog(any(), eq(false)))
+                .thenReturn(Mono.error(new IllegalArgumentException("Línea 3: el personaje debe tener id")));
+
+        StepVerifier.create(catalogHandler.importCatalog(request))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.BAD_REQUEST, response.statusCode());
+                    assertEquals("Línea 3: el personaje debe tener id", ((EntityResponse<?>) response).entity());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void exportCatalog_RetornaNdjson() {
+        when(catalogService.exportCatalog())
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(catalogHandler.exportCatalog(request))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.statusCode());
+                    assertEquals(MediaType.APPLICATION_NDJSON, response.headers().getContentType());
+                })
+                .verifyComplete();
+    }
+}
@@ -2,14 +2,13 @@ package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.han
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.CharacterNotFoundException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterResponse;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterSummary;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterUpdateRequest;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.PieceAssignmentDTO;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service.CharacterService;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.PieceRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.security.JwtService;
@@ -39,10 +38,13 @@ import org.springframework.web.reactive.function.server.EntityResponse;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import static com.mongodb.internal.connection.tlschannel.util.Util.assertTrue;
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -61,21 +63,24 @@ class CharacterHandlerTest {
     @Mock
     private ObjectMapper objectMapper;
 
-    @Mock
-    private PieceRepository pieceRepository;
-
     @Mock
     private ServerRequest request;
 
     @Mock
-    private CharacterRepository characterRepository;
+    private ServerRequest.Headers headers;
 
     private CharacterHandler characterHandler;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        characterHandler = new CharacterHandler(characterService, jwtService, userRepository, objectMapper, pieceRepository, characterRepository );
+        characterHandler = new CharacterHandler(characterService, jwtService, userRepository, objectMapper);
+        lenient().when(request.headers()).thenReturn(headers);
+        lenient().when(headers.accept()).thenReturn(List.of());
+    }
+
+    private void aceptar(MediaType tipo) {
+        when(headers.accept()).thenReturn(List.of(tipo));
     }
 
     private Character createTestCharacter(String id) {
@@ -85,7 +90,7 @@ class CharacterHandlerTest {
                 "TestDescription",
                 "Medium",
                 new ArrayList<>(),
-                new ArrayList<>(),
+                PowerSet.empty(),
                 "test.png",
                 0,
                 "test-game.png"
@@ -99,10 +104,8 @@ class CharacterHandlerTest {
 
     @Test
     void getAllCharacters_ReturnsOkWithValidHeaders() throws Exception {
-        Authentication auth = mock(Authentication.class);
-
-        Character testChar = createTestCharacter("1");
-        when(characterService.getAllCharacters()).thenReturn(Flux.just(testChar));
+        byte[] catalogo = "[{\"id\":\"1\",\"unlocked\":false}]".getBytes(StandardCharsets.UTF_8);
+        when(characterService.getAllCharactersJson()).thenReturn(Mono.just(catalogo));
 
         Mono<ServerResponse> response = characterHandler.getAllCharacters(request);
 
@@ -113,21 +116,16 @@ class CharacterHandlerTest {
                     assertNotNull(headers.getContentType());
                     assertEquals(MediaType.APPLICATION_JSON, headers.getContentType());
 
-                    @SuppressWarnings("unchecked")
-                    List<CharacterResponse> body = (List<CharacterResponse>) ((EntityResponse<?>) res).entity();
-                    assertEquals(1, body.size());
-                    CharacterResponse dto = body.get(0);
-                    assertEquals("1", dto.id());
-                    assertFalse(dto.unlocked());
+                    // Se escriben los bytes del catálogo sin volver a serializar
+                    Object body = ((EntityResponse<?>) res).entity();
+                    assertSame(catalogo, body);
                 })
                 .verifyComplete();
     }
 
     @Test
     void getAllCharacters_ReturnsNoContentWhenEmpty() {
-        when(characterService.getAllCharacters()).thenReturn(Flux.empty());
-
-        Mono<ServerResponse> response = characterHandler.getAllCharacters(request);
+        when(characterService.getAllCharactersJson()).thenReturn(Mono.just("[]".getBytes(StandardCharsets.UTF_8)));
 
         StepVerifier.create(characterHandler.getAllCharacters(request))
                 .assertNext(res -> {
@@ -139,8 +137,8 @@ class CharacterHandlerTest {
 
     @Test
     void getAllCharacters_PropagatesServiceError() {
-        when(characterService.getAllCharacters())
-                .thenReturn(Flux.error(new RuntimeException("Error en base de datos")));
+        when(characterService.getAllCharactersJson())
+                .thenReturn(Mono.error(new RuntimeException("Error en base de datos")));
 
         StepVerifier.create(characterHandler.getAllCharacters(request))
                 .expectErrorMatches(ex ->
@@ -151,9 +149,8 @@ class CharacterHandlerTest {
 
     @Test
     void getAllCharacters_ForceJsonResponseEvenWithoutAcceptHeader() {
-        Character testChar = createTestCharacter("1");
-        when(characterService.getAllCharacters())
-                .thenReturn(Flux.just(testChar));
+        when(characterService.getAllCharactersJson())
+                .thenReturn(Mono.just("[]".getBytes(StandardCharsets.UTF_8)));
 
         // Simula una petición sin cabecera Accept
         ServerRequest requestSinHeader = ServerRequest.create(
@@ -171,6 +168,41 @@ class CharacterHandlerTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getAllCharacters_VistaResumida_DevuelveResumenSinPiezas() {
+        byte[] resumen = "[{\"id\":\"1\"}]".getBytes(StandardCharsets.UTF_8);
+        mockQueryParams("view", "summary");
+        when(characterService.getAllCharacterSummariesJson()).thenReturn(Mono.just(resumen));
+
+        StepVerifier.create(characterHandler.getAllCharacters(request))
+                .assertNext(res -> {
+                    assertEquals(HttpStatus.OK, res.statusCode());
+                    assertSame(resumen, ((EntityResponse<?>) res).entity());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllCharacters_AcceptNdjson_EnviaPersonajesEnStreaming() {
+        when(characterService.getAllCharacters())
+                .thenReturn(Flux.just(createTestCharacter("1"), createTestCharacter("2")));
+        aceptar(MediaType.APPLICATION_NDJSON);
+
+        StepVerifier.create(characterHandler.getAllCharacters(request))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.statusCode());
+                    assertEquals(MediaType.APPLICATION_NDJSON, response.headers().getContentType());
+
+                    @SuppressWarnings("unchecked")
+                    Flux<CharacterResponse> body = (Flux<CharacterResponse>) ((EntityResponse<?>) response).entity();
+                    StepVerifier.create(body)
+                            .expectNextMatches(c -> "1".equals(c.id()) && !c.unlocked())
+                            .expectNextMatches(c -> "2".equals(c.id()))
+                            .verifyComplete();
+                })
+                .verifyComplete();
+    }
+
     @Test
     void getCharacterId_ReturnsUnlockedCharacters() {
 
@@ -202,6 +234,43 @@ class CharacterHandlerTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getCharacterId_AcceptEventStream_EnviaPersonajesEnStreaming() {
+        Authentication auth = new UsernamePasswordAuthenticationToken("player1", "");
+        when(request.principal())
+                .thenAnswer(inv -> Mono.just(auth));
+        aceptar(MediaType.TEXT_EVENT_STREAM);
+
+        when(characterService.getUnlockedCharacters("player1"))
+                .thenReturn(Flux.just(createTestCharacter("1")));
+
+        StepVerifier.create(characterHandler.getCharacterId(request))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.statusCode());
+                    assertEquals(MediaType.TEXT_EVENT_STREAM, response.headers().getContentType());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getCharacterId_VistaResumida_DevuelveResumenDesbloqueados() {
+        Authentication auth = new UsernamePasswordAuthenticationToken("player1", "");
+        when(request.principal())
+                .thenAnswer(inv -> Mono.just(auth));
+        mockQueryParams("view", "summary");
+
+        CharacterSummary resumen = CharacterSummary.from(createTestCharacter("1"));
+        when(characterService.getUnlockedCharacterSummaries("player1"))
+                .thenReturn(Flux.just(resumen));
+
+        StepVerifier.create(characterHandler.getCharacterId(request))
+                .assertNext(res -> {
+                    assertEquals(HttpStatus.OK, res.statusCode());
+                    assertEquals(List.of(resumen), ((EntityResponse<?>) res).entity());
+                })
+                .verifyComplete();
+    }
+
     @Test
     void getCharacterId_UsuarioNoAutenticado_NoHaceNada() {
         when(request.principal())
@@ -660,11 +729,8 @@ class CharacterHandlerTest {
         when(request.bodyToFlux(PieceAssignmentDTO.class))
                 .thenReturn(Flux.just(dto1, dto2));
 
-        Piece piezaEncontrada = new Piece();
-        piezaEncontrada.setId("pieza1");
-
-        when(pieceRepository.findByIdIn(List.of("pieza1", "piezaInexistente")))
-                .thenReturn(Flux.just(piezaEncontrada));
+        when(characterService.assignPowers(characterId, List.of(dto1, dto2)))
+                .thenReturn(Mono.error(new IllegalArgumentException("Piezas inexistentes en la base de datos: piezaInexistente")));
 
         StepVerifier.create(characterHandler.assignPiecesWithPowers(request))
                 .assertNext(response -> {
@@ -672,7 +738,7 @@ class CharacterHandlerTest {
 
                     Object body = ((EntityResponse<?>) response).entity();
                     assertInstanceOf(String.class, body);
-                    assertEquals("Una o más piezas no existen en la base de datos", body);
+                    assertEquals("Piezas inexistentes en la base de datos: piezaInexistente", body);
                 })
                 .verifyComplete();
     }
@@ -689,13 +755,6 @@ class CharacterHandlerTest {
         dto2.setPieceId("pieza2");
         dto2.setPower(Power.CONCENTRACION_ZEN);
 
-        // Piezas encontradas
-        Piece pieza1 = new Piece();
-        pieza1.setId("pieza1");
-
-        Piece pieza2 = new Piece();
-        pieza2.setId("pieza2");
-
         // Personaje actualizado
         Character personajeActualizado = new Character();
         personajeActualizado.setId(characterId);
@@ -705,9 +764,7 @@ class CharacterHandlerTest {
                 .thenReturn(characterId);
         when(request.bodyToFlux(PieceAssignmentDTO.class))
                 .thenReturn(Flux.just(dto1, dto2));
-        when(pieceRepository.findByIdIn(List.of("pieza1", "pieza2")))
-                .thenReturn(Flux.just(pieza1, pieza2));
-        when(characterService.assignPiecesWithPowers(characterId, List.of(pieza1, pieza2)))
+        when(characterService.assignPowers(characterId, List.of(dto1, dto2)))
                 .thenReturn(Mono.just(personajeActualizado));
 
         StepVerifier.create(characterHandler.assignPiecesWithPowers(request))
@@ -732,16 +789,11 @@ class CharacterHandlerTest {
         dto.setPieceId("pieza1");
         dto.setPower(Power.CORTE_TSUNAMI);
 
-        Piece pieza = new Piece();
-        pieza.setId("pieza1");
-
         when(request.pathVariable("id"))
                 .thenReturn(characterId);
         when(request.bodyToFlux(PieceAssignmentDTO.class))
                 .thenReturn(Flux.just(dto));
-        when(pieceRepository.findByIdIn(List.of("pieza1")))
-                .thenReturn(Flux.just(pieza));
-        when(characterService.assignPiecesWithPowers(characterId, List.of(pieza)))
+        when(characterService.assignPowers(characterId, List.of(dto)))
                 .thenReturn(Mono.error(new RuntimeException("Fallo interno")));
 
         StepVerifier.create(characterHandler.assignPiecesWithPowers(request))
@@ -4,8 +4,12 @@ import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.Bu
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.ModelNotFoundException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.UserNotFoundException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.AccessDeniedException;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterGalleryStats;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryEvent;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryPage;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service.GalleryService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -14,6 +18,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.reactivestreams.Publisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.reactive.function.server.EntityResponse;
@@ -27,6 +32,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +47,19 @@ class GalleryHandlerTest {
     @InjectMocks
     private GalleryHandler galleryHandler;
 
+    @Mock
+    private ServerRequest.Headers headers;
+
+    @BeforeEach
+    void aceptarJsonPorDefecto() {
+        lenient().when(request.headers()).thenReturn(headers);
+        lenient().when(headers.accept()).thenReturn(List.of());
+    }
+
+    private void aceptar(MediaType tipo) {
+        when(headers.accept()).thenReturn(List.of(tipo));
+    }
+
     @Test
     void getPublicGallery_ReturnsOkWithModels() {
         SharedModel model1 = new SharedModel();
@@ -49,82 +68,101 @@ class GalleryHandlerTest {
         SharedModel model2 = new SharedModel();
         model2.setId("model2");
 
-        when(galleryService.getPublicGallery())
-                .thenReturn(Flux.just(model1, model2));
+        when(request.queryParam("limit")).thenReturn(Optional.empty());
+        when(request.queryParam("cursor")).thenReturn(Optional.empty());
+        when(galleryService.getPublicGallery(null, 20))
+                .thenReturn(Mono.just(new GalleryPage(List.of(model1, model2), null)));
 
         StepVerifier.create(galleryHandler.getPublicGallery(request))
                 .assertNext(response -> {
                     assertEquals(HttpStatus.OK, response.statusCode());
                     assertInstanceOf(EntityResponse.class, response);
-
-                    Object body = ((EntityResponse<?>) response).entity();
-                    assertInstanceOf(Publisher.class, body);
+                    assertFalse(response.headers().containsKey("X-Next-Cursor"));
 
                     @SuppressWarnings("unchecked")
-                    Flux<SharedModel> flux = (Flux<SharedModel>) body;
-
-                    StepVerifier.create(flux)
-                            .expectNextMatches(m -> "model1".equals(m.getId()))
-                            .expectNextMatches(m -> "model2".equals(m.getId()))
-                            .verifyComplete();
+                    List<SharedModel> body = (List<SharedModel>) ((EntityResponse<?>) response).entity();
+                    assertEquals(List.of("model1", "model2"), body.stream().map(SharedModel::getId).toList());
                 })
                 .verifyComplete();
     }
 
     @Test
-    void getPublicGallery_EmptyGallery_ReturnsOkWithEmptyFlux() {
-        when(galleryService.getPublicGallery())
-                .thenReturn(Flux.empty());
+    void getPublicGallery_EmptyGallery_ReturnsOkWithEmptyList() {
+        when(request.queryParam("limit")).thenReturn(Optional.empty());
+        when(request.queryParam("cursor")).thenReturn(Optional.empty());
+        when(galleryService.getPublicGallery(null, 20))
+                .thenReturn(Mono.just(new GalleryPage(List.of(), null)));
 
         StepVerifier.create(galleryHandler.getPublicGallery(request))
                 .assertNext(response -> {
                     assertEquals(HttpStatus.OK, response.statusCode());
-                    assertInstanceOf(EntityResponse.class, response);
-
-                    Object body = ((EntityResponse<?>) response).entity();
-                    assertInstanceOf(Publisher.class, body);
-
-                    @SuppressWarnings("unchecked")
-                    Flux<SharedModel> flux = (Flux<SharedModel>) body;
-
-                    StepVerifier.create(flux)
-                            .verifyComplete(); // Confirma que está vacío
+                    assertEquals(List.of(), ((EntityResponse<?>) response).entity());
                 })
                 .verifyComplete();
     }
 
     @Test
-    void getPublicGallery_ServiceError_PropagatesErrorFromFlux() {
-        when(galleryService.getPublicGallery())
-                .thenReturn(Flux.error(new RuntimeException("Error interno de la galería")));
+    void getPublicGallery_ConSiguientePagina_AnadeCabeceraCursor() {
+        SharedModel model = new SharedModel();
+        model.setId("model1");
+
+        when(request.queryParam("limit")).thenReturn(Optional.of("1"));
+        when(request.queryParam("cursor")).thenReturn(Optional.of("abc"));
+        when(galleryService.getPublicGallery("abc", 1))
+                .thenReturn(Mono.just(new GalleryPage(List.of(model), "siguiente")));
 
         StepVerifier.create(galleryHandler.getPublicGallery(request))
                 .assertNext(response -> {
                     assertEquals(HttpStatus.OK, response.statusCode());
-                    assertInstanceOf(EntityResponse.class, response);
+                    assertEquals("siguiente", response.headers().getFirst("X-Next-Cursor"));
+                })
+                .verifyComplete();
+    }
 
-                    Object body = ((EntityResponse<?>) response).entity();
-                    assertInstanceOf(Publisher.class, body);
+    @Test
+    void getPublicGallery_LimiteNoNumerico_ReturnsBadRequest() {
+        when(request.queryParam("limit")).thenReturn(Optional.of("diez"));
 
-                    @SuppressWarnings("unchecked")
-                    Flux<SharedModel> flux = (Flux<SharedModel>) body;
+        StepVerifier.create(galleryHandler.getPublicGallery(request))
+                .assertNext(response -> assertEquals(HttpStatus.BAD_REQUEST, response.statusCode()))
+                .verifyComplete();
+    }
 
-                    StepVerifier.create(flux)
-                            .expectErrorMatches(error ->
-                                    error instanceof RuntimeException &&
-                                            error.getMessage().contains("Error interno de la galería"))
-                            .verify();
-                })
+    @Test
+    void getPublicGallery_CursorInvalido_ReturnsBadRequest() {
+        when(request.queryParam("limit")).thenReturn(Optional.empty());
+        when(request.queryParam("cursor")).thenReturn(Optional.of("###"));
+        when(galleryService.getPublicGallery("###", 20))
+                .thenReturn(Mono.error(new IllegalArgumentException("Cursor de galería inválido")));
+
+        StepVerifier.create(galleryHandler.getPublicGallery(request))
+                .assertNext(response -> assertEquals(HttpStatus.BAD_REQUEST, response.statusCode()))
                 .verifyComplete();
     }
 
+    @Test
+    void getPublicGallery_ServiceError_PropagatesError() {
+        when(request.queryParam("limit")).thenReturn(Optional.empty());
+        when(request.queryParam("cursor")).thenReturn(Optional.empty());
+        when(galleryService.getPublicGallery(null, 20))
+                .thenReturn(Mono.error(new RuntimeException("Error interno de la galería")));
+
+        StepVerifier.create(galleryHandler.getPublicGallery(request))
+                .expectErrorMatches(error ->
+                        error instanceof RuntimeException &&
+                                error.getMessage().contains("Error interno de la galería"))
+                .verify();
+    }
+
     @Test
     void getPublicGallery_ReturnsResponseWithJsonContentType() {
         SharedModel model = new SharedModel();
         model.setId("model1");
 
-        when(galleryService.getPublicGallery())
-                .thenReturn(Flux.just(model));
+        when(request.queryParam("limit")).thenReturn(Optional.empty());
+        when(request.queryParam("cursor")).thenReturn(Optional.empty());
+        when(galleryService.getPublicGallery(null, 20))
+                .thenReturn(Mono.just(new GalleryPage(List.of(model), null)));
 
         StepVerifier.create(galleryHandler.getPublicGallery(request))
                 .assertNext(response -> {
@@ -364,6 +402,68 @@ class GalleryHandlerTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getSharedUsersByCharacter_AcceptEventStream_EnviaUsuariosEnStreaming() {
+        String characterId = "char123";
+
+        when(request.pathVariable("characterId"))
+                .thenReturn(characterId);
+        aceptar(MediaType.TEXT_EVENT_STREAM);
+
+        when(galleryService.getSharedUsersByCharacter(characterId))
+                .thenReturn(Flux.just("player1", "player2"));
+
+        StepVerifier.create(galleryHandler.getSharedUsersByCharacter(request))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.statusCode());
+                    assertEquals(MediaType.TEXT_EVENT_STREAM, response.headers().getContentType());
+
+                    Object body = ((EntityResponse<?>) response).entity();
+                    assertInstanceOf(Publisher.class, body);
+
+                    @SuppressWarnings("unchecked")
+                    Flux<String> flux = (Flux<String>) body;
+
+                    StepVerifier.create(flux)
+                            .expectNext("player1", "player2")
+                            .verifyComplete();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void streamGallery_EnviaEventosComoServerSentEvents() {
+        SharedModel model = new SharedModel();
+        model.setId("model1");
+
+        when(galleryService.streamEvents())
+                .thenReturn(Flux.just(GalleryEvent.shared(model), GalleryEvent.deleted("model2")));
+
+        StepVerifier.create(galleryHandler.streamGallery(request))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.statusCode());
+                    assertEquals(MediaType.TEXT_EVENT_STREAM, response.headers().getContentType());
+
+                    @SuppressWarnings("unchecked")
+                    Flux<ServerSentEvent<GalleryEvent>> flux =
+                            (Flux<ServerSentEvent<GalleryEvent>>) ((EntityResponse<?>) response).entity();
+
+                    // El latido mantiene la conexión abierta: se cancela tras los dos eventos
+                    StepVerifier.create(flux)
+                            .assertNext(sse -> {
+                                assertEquals("shared", sse.event());
+                                assertEquals("model1", sse.data().sharedModelId());
+                            })
+                            .assertNext(sse -> {
+                                assertEquals("deleted", sse.event());
+                                assertEquals("model2", sse.data().sharedModelId());
+                            })
+                            .thenCancel()
+                            .verify();
+                })
+                .verifyComplete();
+    }
+
     @Test
     void getSharedUsersByCharacter_ServiceError_ReturnsInternalServerError() {
         String characterId = "char123";
@@ -385,6 +485,32 @@ class GalleryHandlerTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getCharacterStats_ReturnsOkWithList() {
+        List<CharacterGalleryStats> stats = List.of(
+                new CharacterGalleryStats("char1", "Nombre", 4, 2, 90));
+
+        when(galleryService.getCharacterStats())
+                .thenReturn(Flux.fromIterable(stats));
+
+        StepVerifier.create(galleryHandler.getCharacterStats(request))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.statusCode());
+                    assertEquals(stats, ((EntityResponse<?>) response).entity());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getCharacterStats_ServiceError_ReturnsInternalServerError() {
+        when(galleryService.getCharacterStats())
+                .thenReturn(Flux.error(new RuntimeException("Mongo caído")));
+
+        StepVerifier.create(galleryHandler.getCharacterStats(request))
+                .assertNext(response -> assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.statusCode()))
+                .verifyComplete();
+    }
+
     @Test
     void highlightModel_Success_ReturnsOkWithSharedModel() {
         String sharedModelId = "shared123";
@@ -0,0 +1,69 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.UserNotFoundException;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service.BuildService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.reactive.function.server.EntityResponse;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+
+@ExtendWith(MockitoExtension.class)
+class PowerHandlerTest {
+    @Mock
+    private BuildService buildService;
+
+    @Mock
+    private ServerRequest request;
+
+    @InjectMocks
+    private PowerHandler powerHandler;
+
+    @Test
+    void getMyPowerMastery_UsuarioAutenticado_RetornaMaestria() {
+
+        String playerId = "player123";
+        Authentication auth = new UsernamePasswordAuthenticationToken(playerId, "");
+
+        when(request.principal())
+                .thenAnswer(inv -> Mono.just(auth));
+
+        when(buildService.getPowerMastery(playerId))
+                .thenReturn(Mono.just(Map.of(Power.AMMO_RUSH, 66)));
+
+        StepVerifier.create(powerHandler.getMyPowerMastery(request))
+                .assertNext(res -> {
+                    assertEquals(HttpStatus.OK, res.statusCode());
+                    Object body = ((EntityResponse<?>) res).entity();
+                    assertEquals(Map.of(Power.AMMO_RUSH, 66), body);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getMyPowerMastery_UsuarioNoAutenticado_LanzaUserNotFoundException() {
+
+        when(request.principal())
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(powerHandler.getMyPowerMastery(request))
+                .expectErrorMatches(error ->
+                        error instanceof UserNotFoundException &&
+                                error.getMessage().contains("Autenticación requerida"))
+                .verify();
+    }
+}
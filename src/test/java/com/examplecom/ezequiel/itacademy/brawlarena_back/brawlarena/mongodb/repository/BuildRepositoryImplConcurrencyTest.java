@@ -0,0 +1,100 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Prueba contra un Mongo real: el filtro {_id, valid:false} del findAndModify es lo que se comprueba,
+// no un doble de Mockito. Sin Docker disponible la clase se omite
+@Testcontainers(disabledWithoutDocker = true)
+class BuildRepositoryImplConcurrencyTest {
+
+    private static final int PETICIONES = 32;
+
+    @Container
+    private static final MongoDBContainer mongo = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+
+    private MongoClient client;
+    private ReactiveMongoTemplate mongoTemplate;
+    private BuildRepositoryImpl buildRepository;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new ReactiveMongoTemplate(client, "brawl_test");
+        buildRepository = new BuildRepositoryImpl(mongoTemplate);
+        mongoTemplate.dropCollection(Build.class).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    // Helper
+    private Build intento(String buildId, int score) {
+        Build build = new Build();
+        build.setId(buildId);
+        build.setScore(score);
+        build.setDuration(30);
+        build.setErrors(0);
+        build.setPiecesPlaced(List.of("pieza1"));
+        return build;
+    }
+
+    @Test
+    void completePending_peticionesConcurrentes_soloUnaValidaElBuild() {
+        Build pendiente = new Build();
+        pendiente.setId("build123");
+        pendiente.setPlayerId("player123");
+        pendiente.setCharacterId("char123");
+        pendiente.setValid(false);
+        pendiente.setCreatedAt(Instant.now());
+        mongoTemplate.insert(pendiente).block();
+
+        // Cada petición lleva su propia puntuación para saber cuál ha quedado guardada
+        List<Build> ganadores = Flux.range(0, PETICIONES)
+                .flatMap(i -> buildRepository.completePending(intento("build123", i))
+                        .subscribeOn(Schedulers.parallel()), PETICIONES)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertThat(ganadores).hasSize(1);
+        assertThat(ganadores.get(0).isValid()).isTrue();
+
+        Build guardado = mongoTemplate.findById("build123", Build.class).block();
+        assertThat(guardado.isValid()).isTrue();
+        assertThat(guardado.getScore()).isEqualTo(ganadores.get(0).getScore());
+    }
+
+    @Test
+    void completePending_buildYaValidado_noDevuelveNada() {
+        Build validado = new Build();
+        validado.setId("build123");
+        validado.setPlayerId("player123");
+        validado.setCharacterId("char123");
+        validado.setValid(true);
+        validado.setScore(50);
+        validado.setCreatedAt(Instant.now());
+        mongoTemplate.insert(validado).block();
+
+        assertThat(buildRepository.completePending(intento("build123", 99)).blockOptional()).isEmpty();
+        assertThat(mongoTemplate.findById("build123", Build.class).block().getScore()).isEqualTo(50);
+    }
+}
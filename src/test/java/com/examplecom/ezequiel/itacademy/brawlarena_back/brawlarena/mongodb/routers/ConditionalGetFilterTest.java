@@ -0,0 +1,158 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.routers;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.VersionStamp;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalGetFilterTest {
+
+    private final AtomicReference<VersionStamp> version =
+            new AtomicReference<>(new VersionStamp(3, Instant.parse("2024-03-01T10:00:00Z")));
+
+    private final AtomicInteger llamadas = new AtomicInteger();
+
+    private final HandlerFunction<ServerResponse> handler = request -> {
+        llamadas.incrementAndGet();
+        return ServerResponse.ok().bodyValue("catalogo");
+    };
+
+    private final ConditionalGetFilter filter =
+            ConditionalGetFilter.of("characters", version::get, CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic());
+
+    // Helper
+    private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> builder) {
+        return MockServerWebExchange.from(builder);
+    }
+
+    // Helper
+    private ServerRequest request(MockServerWebExchange exchange) {
+        return ServerRequest.create(exchange, Collections.emptyList());
+    }
+
+    @Test
+    void sinValidadores_ejecutaHandlerYAnadeEtagYCacheControl() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/characters/all"));
+
+        StepVerifier.create(filter.filter(request(exchange), handler))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.statusCode()))
+                .verifyComplete();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertNotNull(headers.getETag());
+        assertTrue(headers.getETag().endsWith("-3\""));
+        assertEquals("max-age=300, public", headers.getCacheControl());
+        assertEquals(1, llamadas.get());
+    }
+
+    @Test
+    void ifNoneMatchConVersionActual_responde304SinLlamarAlHandler() {
+        MockServerWebExchange primera = exchange(MockServerHttpRequest.get("/characters/all"));
+        filter.filter(request(primera), handler).block();
+        String etag = primera.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange segunda = exchange(MockServerHttpRequest.get("/characters/all")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        StepVerifier.create(filter.filter(request(segunda), handler))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.NOT_MODIFIED, response.statusCode());
+                    assertEquals(etag, response.headers().getETag());
+                    assertEquals("max-age=300, public", response.headers().getCacheControl());
+                })
+                .verifyComplete();
+
+        assertEquals(1, llamadas.get());
+    }
+
+    @Test
+    void ifNoneMatchConVersionAntigua_devuelveCuerpoNuevo() {
+        MockServerWebExchange primera = exchange(MockServerHttpRequest.get("/characters/all"));
+        filter.filter(request(primera), handler).block();
+        String etagAntiguo = primera.getResponse().getHeaders().getETag();
+
+        // Una escritura en el catálogo incrementa la versión
+        version.updateAndGet(VersionStamp::next);
+
+        MockServerWebExchange segunda = exchange(MockServerHttpRequest.get("/characters/all")
+                .header(HttpHeaders.IF_NONE_MATCH, etagAntiguo));
+
+        StepVerifier.create(filter.filter(request(segunda), handler))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.statusCode()))
+                .verifyComplete();
+
+        assertNotEquals(etagAntiguo, segunda.getResponse().getHeaders().getETag());
+        assertEquals(2, llamadas.get());
+    }
+
+    @Test
+    void etagDeJson_noValidaOtrasRepresentaciones() {
+        MediaType ndjson = MediaType.APPLICATION_NDJSON;
+
+        MockServerWebExchange json = exchange(MockServerHttpRequest.get("/characters/all"));
+        filter.filter(request(json), handler).block();
+        String etagJson = json.getResponse().getHeaders().getETag();
+
+        // Misma versión, pero NDJSON y ?view=summary son cuerpos distintos
+        MockServerWebExchange streaming = exchange(MockServerHttpRequest.get("/characters/all")
+                .accept(ndjson)
+                .header(HttpHeaders.IF_NONE_MATCH, etagJson));
+        StepVerifier.create(filter.filter(request(streaming), handler))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.statusCode()))
+                .verifyComplete();
+
+        MockServerWebExchange resumen = exchange(MockServerHttpRequest.get("/characters/all?view=summary")
+                .header(HttpHeaders.IF_NONE_MATCH, etagJson));
+        StepVerifier.create(filter.filter(request(resumen), handler))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.statusCode()))
+                .verifyComplete();
+
+        assertNotEquals(etagJson, streaming.getResponse().getHeaders().getETag());
+        assertNotEquals(etagJson, resumen.getResponse().getHeaders().getETag());
+        assertNotEquals(streaming.getResponse().getHeaders().getETag(), resumen.getResponse().getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT), json.getResponse().getHeaders().getVary());
+        assertEquals(3, llamadas.get());
+    }
+
+    @Test
+    void politicaPrivada_seAplicaEnRutasAutenticadas() {
+        ConditionalGetFilter privado = ConditionalGetFilter.of("character", version::get,
+                CacheControl.maxAge(Duration.ofMinutes(5)).cachePrivate());
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/characters/c1"));
+
+        privado.filter(request(exchange), handler).block();
+
+        assertEquals("max-age=300, private", exchange.getResponse().getHeaders().getCacheControl());
+    }
+
+    @Test
+    void respuestaDeError_noLlevaValidadoresNiSeCachea() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/characters/desconocido"));
+        HandlerFunction<ServerResponse> noEncontrado = request -> ServerResponse.notFound().build();
+
+        StepVerifier.create(filter.filter(request(exchange), noEncontrado))
+                .assertNext(response -> assertEquals(HttpStatus.NOT_FOUND, response.statusCode()))
+                .verifyComplete();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertNull(headers.getETag());
+        assertEquals("no-store", headers.getCacheControl());
+    }
+}
@@ -1,33 +1,58 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service;
 
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.common.constant.logic.ScoreCalculator;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.common.constant.validator.BuildValidator;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.config.PiecesCacheConfig;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.*;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.ValidationPlanCache;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildHistoryCursor;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.BuildValidationResult;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.PlayerProgress;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.BuildRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.PlayerProgressRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.UserCharacter;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserCharacterRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.mongodb.internal.connection.tlschannel.util.Util.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 
@@ -43,9 +68,22 @@ class BuildServiceImplTest {
     @Mock
     private CharacterRepository characterRepository;
 
-    @InjectMocks
+    @Mock
+    private UserCharacterRepository userCharacterRepository;
+
+    @Mock
+    private PlayerProgressRepository playerProgressRepository;
+
     private BuildServiceImpl buildService;
 
+    @BeforeEach
+    void setUp() {
+        ValidationPlanCache planCache = new ValidationPlanCache(characterRepository, new PiecesCacheConfig());
+        buildService = new BuildServiceImpl(userRepository, userCharacterRepository, buildRepository, characterRepository, playerProgressRepository, new ScoreCalculator(), planCache);
+        // Por defecto el jugador ya tiene documento de progreso sembrado
+        lenient().when(playerProgressRepository.existsById(anyString())).thenReturn(Mono.just(true));
+    }
+
     // Helper
     private Character createTestCharacter(String id) {
         Character character = new Character();
@@ -54,12 +92,30 @@ class BuildServiceImplTest {
         character.setDescription("Desc");
         character.setDifficulty("Medium");
         character.setPieces(new ArrayList<>());
-        character.setPowers(new ArrayList<>());
+        character.setPowers(PowerSet.empty());
         character.setImageUrl("image.png");
         character.setCost(0);
         return character;
     }
 
+    // Helper: simula las filas de user_characters del usuario
+    private void desbloquear(User user, String... characterIds) {
+        Set<String> ids = Set.of(characterIds);
+        lenient().when(userCharacterRepository.existsByUserIdAndCharacterId(eq(user.getId()), anyString()))
+                .thenAnswer(inv -> Mono.just(ids.contains(inv.getArgument(1, String.class))));
+        lenient().when(userCharacterRepository.findByUserId(user.getId()))
+                .thenReturn(Flux.fromIterable(ids).map(id -> new UserCharacter(null, user.getId(), id)));
+    }
+
+    // Helper: simula el findAndModify condicional (valid=false → true)
+    private void simularCompletePending() {
+        when(buildRepository.completePending(any(Build.class))).thenAnswer(inv -> {
+            Build build = inv.getArgument(0);
+            build.setValid(true);
+            return Mono.just(build);
+        });
+    }
+
     // Helper
     private Build createTestBuild(String playerId, String characterId, boolean isValid) {
         Build build = new Build();
@@ -75,16 +131,17 @@ class BuildServiceImplTest {
 
         User mockUser = User.builder()
                 .nickname("player1")
-                .characterIds("[\"char1\"]")
+                .id(1L)
                 .build();
+        desbloquear(mockUser, "char1");
 
         when(userRepository.findByNickname("player1")).thenReturn(Mono.just(mockUser));
 
         Character character = createTestCharacter("char1");
         when(characterRepository.findById("char1")).thenReturn(Mono.just(character));
 
-        when(buildRepository.findAll()).thenReturn(Flux.empty());
-        when(buildRepository.save(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(buildRepository.existsByPlayerIdAndCharacterIdAndValidFalse("player1", "char1")).thenReturn(Mono.just(false));
+        when(buildRepository.insert(any(Build.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
 
         StepVerifier.create(buildService.startBuild("player1", "char1"))
                 .expectNextMatches(build ->
@@ -98,16 +155,16 @@ class BuildServiceImplTest {
     @Test
     void startBuild_conBuildExistenteNoValidado_lanzaExcepcion() {
         Character character = createTestCharacter("char1");
-        Build existingBuild = createTestBuild("player1", "char1", false);
 
         User user = User.builder()
                 .nickname("player1")
-                .characterIds("[\"char1\"]")
+                .id(1L)
                 .build();
+        desbloquear(user, "char1");
 
         when(userRepository.findByNickname("player1")).thenReturn(Mono.just(user));
         when(characterRepository.findById("char1")).thenReturn(Mono.just(character));
-        when(buildRepository.findAll()).thenReturn(Flux.just(existingBuild));
+        when(buildRepository.existsByPlayerIdAndCharacterIdAndValidFalse("player1", "char1")).thenReturn(Mono.just(true));
 
         StepVerifier.create(buildService.startBuild("player1", "char1"))
                 .expectErrorMatches(ex ->
@@ -141,8 +198,9 @@ class BuildServiceImplTest {
 
         User mockUser = User.builder()
                 .nickname(playerId)
-                .characterIds("[\"charInexistente\"]")
+                .id(1L)
                 .build();
+        desbloquear(mockUser, "charInexistente");
 
         when(userRepository.findByNickname(playerId))
                 .thenReturn(Mono.just(mockUser));
@@ -164,8 +222,9 @@ class BuildServiceImplTest {
 
         User mockUser = User.builder()
                 .nickname(playerId)
-                .characterIds("[\"otroPersonaje\"]")
+                .id(1L)
                 .build();
+        desbloquear(mockUser, "otroPersonaje");
 
         Character mockCharacter = new Character();
         mockCharacter.setId(characterId);
@@ -208,8 +267,9 @@ class BuildServiceImplTest {
 
         User mockUser = User.builder()
                 .nickname(playerId)
-                .characterIds("[\"char1\"]")
+                .id(1L)
                 .build();
+        desbloquear(mockUser, "char1");
 
         when(userRepository.findByNickname(playerId))
                 .thenReturn(Mono.just(mockUser));
@@ -231,8 +291,9 @@ class BuildServiceImplTest {
 
         User mockUser = User.builder()
                 .nickname(playerId)
-                .characterIds("[\"char1\"]")
+                .id(1L)
                 .build();
+        desbloquear(mockUser, "char1");
 
         Character mockCharacter = new Character();
         mockCharacter.setId(characterId);
@@ -243,8 +304,8 @@ class BuildServiceImplTest {
         when(characterRepository.findById(characterId))
                 .thenReturn(Mono.just(mockCharacter));
 
-        when(buildRepository.findAll())
-                .thenReturn(Flux.error(new RuntimeException("Error al consultar builds")));
+        when(buildRepository.existsByPlayerIdAndCharacterIdAndValidFalse(playerId, characterId))
+                .thenReturn(Mono.error(new RuntimeException("Error al consultar builds")));
 
         StepVerifier.create(buildService.startBuild(playerId, characterId))
                 .expectErrorMatches(error ->
@@ -260,8 +321,9 @@ class BuildServiceImplTest {
 
         User mockUser = User.builder()
                 .nickname(playerId)
-                .characterIds("[\"char1\"]")
+                .id(1L)
                 .build();
+        desbloquear(mockUser, "char1");
 
         Character mockCharacter = new Character();
         mockCharacter.setId(characterId);
@@ -272,10 +334,10 @@ class BuildServiceImplTest {
         when(characterRepository.findById(characterId))
                 .thenReturn(Mono.just(mockCharacter));
 
-        when(buildRepository.findAll())
-                .thenReturn(Flux.empty());
+        when(buildRepository.existsByPlayerIdAndCharacterIdAndValidFalse(playerId, characterId))
+                .thenReturn(Mono.just(false));
 
-        when(buildRepository.save(any(Build.class)))
+        when(buildRepository.insert(any(Build.class)))
                 .thenReturn(Mono.error(new RuntimeException("Error al guardar build")));
 
         StepVerifier.create(buildService.startBuild(playerId, characterId))
@@ -285,6 +347,31 @@ class BuildServiceImplTest {
                 .verify();
     }
 
+    @Test
+    void startBuild_insercionConcurrenteRechazadaPorIndice_lanzaBuildAlreadyExistsException() {
+        String playerId = "player1";
+        String characterId = "char1";
+
+        User mockUser = User.builder()
+                .nickname(playerId)
+                .id(1L)
+                .build();
+        desbloquear(mockUser, "char1");
+
+        when(userRepository.findByNickname(playerId)).thenReturn(Mono.just(mockUser));
+        when(characterRepository.findById(characterId)).thenReturn(Mono.just(createTestCharacter(characterId)));
+        when(buildRepository.existsByPlayerIdAndCharacterIdAndValidFalse(playerId, characterId))
+                .thenReturn(Mono.just(false));
+        when(buildRepository.insert(any(Build.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier.create(buildService.startBuild(playerId, characterId))
+                .expectErrorMatches(ex ->
+                        ex instanceof BuildAlreadyExistsException &&
+                                ex.getMessage().equals("Ya tienes un build activo para este personaje"))
+                .verify();
+    }
+
     @Test
     void validateBuildData_conPiezasNull_lanzaExcepcion() {
         Build build = new Build();
@@ -319,7 +406,8 @@ class BuildServiceImplTest {
 
         User mockUser = new User();
         mockUser.setNickname("player123");
-        mockUser.setCharacterIds("[\"char123\"]");
+        mockUser.setId(1L);
+        desbloquear(mockUser, "char123");
 
         Build existingBuild = new Build();
         existingBuild.setId("build123");
@@ -336,11 +424,13 @@ class BuildServiceImplTest {
         when(buildRepository.findByPlayerIdAndCharacterIdAndValidFalse("player123", "char123"))
                 .thenReturn(Flux.just(existingBuild)); // ✅ NUEVO MOCK CORRECTO
 
-        when(buildRepository.countByPlayerIdAndCharacterIdAndValidTrue("player123", "char123"))
-                .thenReturn(Mono.just(0L));
+        when(playerProgressRepository.addCompletedCharacter(eq("player123"), eq("char123"), anyMap()))
+                .thenReturn(Mono.just(new PlayerProgress("player123", Set.of(), Map.of())));
+
+        simularCompletePending();
 
-        when(buildRepository.save(any(Build.class)))
-                .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(buildRepository.updateScore(eq("build123"), anyInt()))
+                .thenReturn(Mono.empty());
 
         StepVerifier.create(buildService.validateBuild("player123", mockBuild))
                 .assertNext(result -> {
@@ -350,6 +440,237 @@ class BuildServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    void validateBuild_PersonajeYaCompletado_NoSumaBonusDePrimeraVez() {
+        Piece piece = new Piece();
+        piece.setId("pieza1");
+        piece.setLevel(1);
+
+        Character mockCharacter = createTestCharacter("char123");
+        mockCharacter.setPieces(List.of(piece));
+
+        User mockUser = new User();
+        mockUser.setNickname("player123");
+        mockUser.setId(1L);
+        desbloquear(mockUser, "char123");
+
+        Build buildData = new Build();
+        buildData.setCharacterId("char123");
+        buildData.setPiecesPlaced(List.of("pieza1"));
+        buildData.setDuration(120);
+
+        when(userRepository.findByNickname("player123")).thenReturn(Mono.just(mockUser));
+        when(characterRepository.findById("char123")).thenReturn(Mono.just(mockCharacter));
+        when(buildRepository.findByPlayerIdAndCharacterIdAndValidFalse("player123", "char123"))
+                .thenReturn(Flux.just(createTestBuild("player123", "char123", false)));
+        when(playerProgressRepository.addCompletedCharacter(eq("player123"), eq("char123"), anyMap()))
+                .thenReturn(Mono.just(new PlayerProgress("player123", Set.of("char123"), Map.of())));
+        simularCompletePending();
+
+        int esperado = ScoreCalculator.finalScore(ScoreCalculator.pieceScore(piece), 0, 120, false);
+
+        StepVerifier.create(buildService.validateBuild("player123", buildData))
+                .assertNext(result -> assertThat(result.getScore()).isEqualTo(esperado))
+                .verifyComplete();
+
+        verify(buildRepository, never()).findByPlayerIdAndValidTrueOrderByCreatedAtDesc(anyString());
+    }
+
+    @Test
+    void validateBuild_SinDocumentoDeProgreso_SiembraAntesDeValidarYAplicaBonus() {
+        Piece piece = new Piece();
+        piece.setId("pieza1");
+        piece.setLevel(1);
+
+        Character mockCharacter = createTestCharacter("char123");
+        mockCharacter.setPieces(List.of(piece));
+
+        User mockUser = new User();
+        mockUser.setNickname("player123");
+        mockUser.setId(1L);
+        desbloquear(mockUser, "char123");
+
+        Build buildData = new Build();
+        buildData.setCharacterId("char123");
+        buildData.setPiecesPlaced(List.of("pieza1"));
+        buildData.setDuration(120);
+
+        Build pendiente = createTestBuild("player123", "char123", false);
+        pendiente.setId("build123");
+
+        Build anterior = createTestBuild("player123", "char9", true);
+        anterior.setId("build9");
+
+        when(userRepository.findByNickname("player123")).thenReturn(Mono.just(mockUser));
+        when(characterRepository.findById("char123")).thenReturn(Mono.just(mockCharacter));
+        when(buildRepository.findByPlayerIdAndCharacterIdAndValidFalse("player123", "char123"))
+                .thenReturn(Flux.just(pendiente));
+        when(playerProgressRepository.existsById("player123")).thenReturn(Mono.just(false));
+        when(buildRepository.findByPlayerIdAndValidTrueOrderByCreatedAtDesc("player123"))
+                .thenReturn(Flux.just(anterior));
+        when(playerProgressRepository.seedCompletedCharacters("player123", Set.of("char9")))
+                .thenReturn(Mono.empty());
+        // El documento ya sembrado devuelve su estado anterior al $addToSet
+        when(playerProgressRepository.addCompletedCharacter(eq("player123"), eq("char123"), anyMap()))
+                .thenReturn(Mono.just(new PlayerProgress("player123", Set.of("char9"), Map.of())));
+        when(buildRepository.updateScore(eq("build123"), anyInt()))
+                .thenReturn(Mono.empty());
+        simularCompletePending();
+
+        int esperado = ScoreCalculator.finalScore(ScoreCalculator.pieceScore(piece), 0, 120, true);
+
+        StepVerifier.create(buildService.validateBuild("player123", buildData))
+                .assertNext(result -> assertThat(result.getScore()).isEqualTo(esperado))
+                .verifyComplete();
+
+        // La semilla se aplica antes de marcar el build como validado y de decidir la primera vez
+        InOrder orden = inOrder(playerProgressRepository, buildRepository);
+        orden.verify(playerProgressRepository).seedCompletedCharacters("player123", Set.of("char9"));
+        orden.verify(buildRepository).completePending(any(Build.class));
+        orden.verify(playerProgressRepository).addCompletedCharacter(eq("player123"), eq("char123"), anyMap());
+        verify(buildRepository).updateScore("build123", esperado);
+    }
+
+    @Test
+    void validateBuild_SinDocumentoDeProgreso_PersonajeCompletadoAntes_NoSumaBonus() {
+        Piece piece = new Piece();
+        piece.setId("pieza1");
+        piece.setLevel(1);
+
+        Character mockCharacter = createTestCharacter("char123");
+        mockCharacter.setPieces(List.of(piece));
+
+        User mockUser = new User();
+        mockUser.setNickname("player123");
+        mockUser.setId(1L);
+        desbloquear(mockUser, "char123");
+
+        Build buildData = new Build();
+        buildData.setCharacterId("char123");
+        buildData.setPiecesPlaced(List.of("pieza1"));
+        buildData.setDuration(120);
+
+        Build pendiente = createTestBuild("player123", "char123", false);
+        pendiente.setId("build123");
+
+        Build anteriorMismoPersonaje = createTestBuild("player123", "char123", true);
+        anteriorMismoPersonaje.setId("build100");
+
+        when(userRepository.findByNickname("player123")).thenReturn(Mono.just(mockUser));
+        when(characterRepository.findById("char123")).thenReturn(Mono.just(mockCharacter));
+        when(buildRepository.findByPlayerIdAndCharacterIdAndValidFalse("player123", "char123"))
+                .thenReturn(Flux.just(pendiente));
+        when(playerProgressRepository.existsById("player123")).thenReturn(Mono.just(false));
+        when(buildRepository.findByPlayerIdAndValidTrueOrderByCreatedAtDesc("player123"))
+                .thenReturn(Flux.just(anteriorMismoPersonaje));
+        when(playerProgressRepository.seedCompletedCharacters("player123", Set.of("char123")))
+                .thenReturn(Mono.empty());
+        when(playerProgressRepository.addCompletedCharacter(eq("player123"), eq("char123"), anyMap()))
+                .thenReturn(Mono.just(new PlayerProgress("player123", Set.of("char123"), Map.of())));
+        simularCompletePending();
+
+        int esperado = ScoreCalculator.finalScore(ScoreCalculator.pieceScore(piece), 0, 120, false);
+
+        StepVerifier.create(buildService.validateBuild("player123", buildData))
+                .assertNext(result -> assertThat(result.getScore()).isEqualTo(esperado))
+                .verifyComplete();
+
+        verify(buildRepository, never()).updateScore(anyString(), anyInt());
+    }
+
+    @Test
+    void validateBuild_BuildYaValidadoPorOtraPeticion_LanzaBuildAlreadyValidatedException() {
+        Piece piece = new Piece();
+        piece.setId("pieza1");
+        piece.setLevel(1);
+
+        Character mockCharacter = createTestCharacter("char123");
+        mockCharacter.setPieces(List.of(piece));
+
+        User mockUser = new User();
+        mockUser.setNickname("player123");
+        mockUser.setId(1L);
+        desbloquear(mockUser, "char123");
+
+        Build buildData = new Build();
+        buildData.setCharacterId("char123");
+        buildData.setPiecesPlaced(List.of("pieza1"));
+        buildData.setDuration(30);
+
+        Build pendiente = createTestBuild("player123", "char123", false);
+        pendiente.setId("build123");
+
+        when(userRepository.findByNickname("player123")).thenReturn(Mono.just(mockUser));
+        when(characterRepository.findById("char123")).thenReturn(Mono.just(mockCharacter));
+        when(buildRepository.findByPlayerIdAndCharacterIdAndValidFalse("player123", "char123"))
+                .thenReturn(Flux.just(pendiente));
+        // El findAndModify con filtro valid=false no encuentra nada: otra petición ganó la validación
+        when(buildRepository.completePending(any(Build.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(buildService.validateBuild("player123", buildData))
+                .expectErrorMatches(ex -> ex instanceof BuildAlreadyValidatedException &&
+                        ex.getMessage().equals("Este build ya ha sido validado"))
+                .verify();
+
+        // La petición perdedora no registra progreso ni bonificación
+        verify(playerProgressRepository, never()).addCompletedCharacter(anyString(), anyString(), anyMap());
+        verify(buildRepository, never()).updateScore(anyString(), anyInt());
+    }
+
+    @Test
+    void validateBuild_PiezaConPoder_AcumulaMaestriaEnElProgreso() {
+        Piece piece = new Piece();
+        piece.setId("pieza1");
+        piece.setLevel(1);
+        piece.setPower(Power.AMMO_RUSH);
+
+        Character mockCharacter = createTestCharacter("char123");
+        mockCharacter.setPieces(List.of(piece));
+
+        User mockUser = new User();
+        mockUser.setNickname("player123");
+        mockUser.setId(1L);
+        desbloquear(mockUser, "char123");
+
+        Build buildData = new Build();
+        buildData.setCharacterId("char123");
+        buildData.setPiecesPlaced(List.of("pieza1"));
+        buildData.setDuration(120);
+
+        when(userRepository.findByNickname("player123")).thenReturn(Mono.just(mockUser));
+        when(characterRepository.findById("char123")).thenReturn(Mono.just(mockCharacter));
+        when(buildRepository.findByPlayerIdAndCharacterIdAndValidFalse("player123", "char123"))
+                .thenReturn(Flux.just(createTestBuild("player123", "char123", false)));
+        when(playerProgressRepository.addCompletedCharacter(eq("player123"), eq("char123"), anyMap()))
+                .thenReturn(Mono.just(new PlayerProgress("player123", Set.of("char123"), Map.of())));
+        simularCompletePending();
+
+        StepVerifier.create(buildService.validateBuild("player123", buildData))
+                .assertNext(result -> assertThat(result.getPowerProgress()).isEqualTo(Map.of(Power.AMMO_RUSH, 33)))
+                .verifyComplete();
+
+        verify(playerProgressRepository).addCompletedCharacter("player123", "char123", Map.of(Power.AMMO_RUSH, 33));
+    }
+
+    @Test
+    void getPowerMastery_ConProgreso_DevuelveMaestriaPersistida() {
+        when(playerProgressRepository.findById("player123"))
+                .thenReturn(Mono.just(new PlayerProgress("player123", Set.of("char1"), Map.of(Power.AMMO_RUSH, 66))));
+
+        StepVerifier.create(buildService.getPowerMastery("player123"))
+                .expectNext(Map.of(Power.AMMO_RUSH, 66))
+                .verifyComplete();
+    }
+
+    @Test
+    void getPowerMastery_SinProgreso_DevuelveMapaVacio() {
+        when(playerProgressRepository.findById("player123")).thenReturn(Mono.empty());
+
+        StepVerifier.create(buildService.getPowerMastery("player123"))
+                .expectNext(Map.of())
+                .verifyComplete();
+    }
+
     @Test
     void validateBuild_BuildNotFound_ReturnsError() {
         Build mockBuild = new Build();
@@ -367,7 +688,8 @@ class BuildServiceImplTest {
 
         User mockUser = new User();
         mockUser.setNickname("player123");
-        mockUser.setCharacterIds("[\"char123\"]");
+        mockUser.setId(1L);
+        desbloquear(mockUser, "char123");
 
         when(userRepository.findByNickname("player123")).thenReturn(Mono.just(mockUser));
         when(characterRepository.findById("char123")).thenReturn(Mono.just(mockCharacter));
@@ -390,8 +712,12 @@ class BuildServiceImplTest {
         mockBuild.setPiecesPlaced(List.of("pieza1"));
         mockBuild.setDuration(100);
 
+        User mockUser = new User();
+        mockUser.setId(1L);
+        desbloquear(mockUser, "char123");
+
         when(userRepository.findByNickname("player123"))
-                .thenReturn(Mono.just(new User()));
+                .thenReturn(Mono.just(mockUser));
 
         when(characterRepository.findById("char123"))
                 .thenReturn(Mono.error(new RuntimeException("Error inesperado en la base de datos")));
@@ -413,7 +739,8 @@ class BuildServiceImplTest {
 
         User mockUser = new User();
         mockUser.setNickname("player123");
-        mockUser.setCharacterIds("[\"char123\"]");
+        mockUser.setId(1L);
+        desbloquear(mockUser, "char123");
 
         when(userRepository.findByNickname("player123"))
                 .thenReturn(Mono.just(mockUser));
@@ -447,7 +774,8 @@ class BuildServiceImplTest {
 
         User mockUser = new User();
         mockUser.setNickname("player123");
-        mockUser.setCharacterIds("[\"otroPersonaje\"]");
+        mockUser.setId(1L);
+        desbloquear(mockUser, "otroPersonaje");
 
         when(userRepository.findByNickname("player123")).thenReturn(Mono.just(mockUser));
         when(characterRepository.findById("char123")).thenReturn(Mono.just(mockCharacter));
@@ -475,7 +803,8 @@ class BuildServiceImplTest {
 
         User mockUser = new User();
         mockUser.setNickname("player123");
-        mockUser.setCharacterIds("[\"char123\"]");
+        mockUser.setId(1L);
+        desbloquear(mockUser, "char123");
 
         when(userRepository.findByNickname("player123")).thenReturn(Mono.just(mockUser));
         when(characterRepository.findById("char123")).thenReturn(Mono.just(mockCharacter));
@@ -492,66 +821,213 @@ class BuildServiceImplTest {
     }
 
     @Test
-    void getBuildHistory_HistorialConBuilds_ReturnsFluxOrdenado() {
-        String playerId = "player123";
+    void validateBuilds_loteConVariosPersonajes_resuelveUsuarioYPersonajesUnaVez() {
+        Piece piece = new Piece();
+        piece.setId("pieza1");
+        piece.setLevel(1);
+
+        Character char1 = createTestCharacter("char1");
+        char1.setPieces(List.of(piece));
+
+        User mockUser = new User();
+        mockUser.setNickname("player123");
+        mockUser.setId(1L);
+        desbloquear(mockUser, "char1", "char2");
+
+        Build pendiente = createTestBuild("player123", "char1", false);
 
         Build build1 = new Build();
-        build1.setId("b1");
-        build1.setValid(true);
-        build1.setCreatedAt(Instant.parse("2024-01-01T10:00:00Z"));
+        build1.setCharacterId("char1");
+        build1.setPiecesPlaced(List.of("pieza1"));
+        build1.setDuration(30);
 
         Build build2 = new Build();
+        build2.setCharacterId("char1");
+        build2.setPiecesPlaced(List.of("pieza1"));
+        build2.setDuration(30);
+
+        Build build3 = new Build();
+        build3.setCharacterId("char2");
+        build3.setPiecesPlaced(List.of("pieza1"));
+        build3.setDuration(30);
+
+        when(userRepository.findByNickname("player123")).thenReturn(Mono.just(mockUser));
+        when(characterRepository.findById("char1")).thenReturn(Mono.just(char1));
+        when(characterRepository.findById("char2")).thenReturn(Mono.empty());
+        when(buildRepository.findByPlayerIdAndCharacterIdAndValidFalse("player123", "char1"))
+                .thenReturn(Flux.just(pendiente));
+        when(playerProgressRepository.addCompletedCharacter(eq("player123"), eq("char1"), anyMap()))
+                .thenReturn(Mono.just(new PlayerProgress("player123", Set.of(), Map.of())));
+        simularCompletePending();
+        when(buildRepository.updateScore(any(), anyInt()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(buildService.validateBuilds("player123", Flux.just(build1, build2, build3))
+                        .flatMapMany(resultados -> resultados)
+                        .collectList())
+                .assertNext(resultados -> {
+                    assertThat(resultados.size()).isEqualTo(3);
+                    assertThat(resultados.stream().filter(BuildValidationResult::success).count()).isEqualTo(2L);
+                    assertThat(resultados.stream()
+                            .filter(r -> r.index() == 2)
+                            .findFirst().orElseThrow()
+                            .error()).isEqualTo("Personaje no encontrado");
+                })
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findByNickname("player123");
+        verify(characterRepository, times(1)).findById("char1");
+    }
+
+    @Test
+    void validateBuilds_personajeNoDesbloqueado_devuelveResultadoFallidoSinConsultarPersonaje() {
+        User mockUser = new User();
+        mockUser.setNickname("player123");
+        mockUser.setId(1L);
+        desbloquear(mockUser, "otroPersonaje");
+
+        Build build = new Build();
+        build.setCharacterId("char1");
+        build.setPiecesPlaced(List.of("pieza1"));
+        build.setDuration(30);
+
+        when(userRepository.findByNickname("player123")).thenReturn(Mono.just(mockUser));
+
+        StepVerifier.create(buildService.validateBuilds("player123", Flux.just(build))
+                        .flatMapMany(resultados -> resultados))
+                .assertNext(result -> {
+                    assertThat(result.success()).isFalse();
+                    assertThat(result.error()).contains("no has desbloqueado");
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(characterRepository);
+    }
+
+    @Test
+    void validateBuilds_usuarioNoExiste_lanzaUserNotFoundException() {
+        when(userRepository.findByNickname("player123")).thenReturn(Mono.empty());
+
+        // El error llega antes de que exista el stream de resultados
+        StepVerifier.create(buildService.validateBuilds("player123", Flux.just(new Build())))
+                .expectError(UserNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getBuildHistory_PrimeraPagina_DevuelveResumenesYCursorSiguiente() {
+        String playerId = "player123";
+
+        Build build1 = createTestBuild(playerId, "char1", true);
+        build1.setId("b1");
+        build1.setCreatedAt(Instant.parse("2024-03-01T10:00:00Z"));
+
+        Build build2 = createTestBuild(playerId, "char1", true);
         build2.setId("b2");
-        build2.setValid(true);
         build2.setCreatedAt(Instant.parse("2024-02-01T10:00:00Z"));
 
-        when(buildRepository.findByPlayerIdAndValidTrueOrderByCreatedAtDesc(playerId))
-                .thenReturn(Flux.just(build2, build1));
-
-        StepVerifier.create(buildService.getBuildHistory(playerId))
-                .expectNext(build2)
-                .expectNext(build1)
+        Build build3 = createTestBuild(playerId, "char2", true);
+        build3.setId("b3");
+        build3.setCreatedAt(Instant.parse("2024-01-01T10:00:00Z"));
+
+        // Se piden limit + 1 elementos para detectar la página siguiente
+        when(buildRepository.findHistory(playerId, null, 3))
+                .thenReturn(Flux.just(build1, build2, build3));
+
+        StepVerifier.create(buildService.getBuildHistory(playerId, null, 2))
+                .assertNext(pagina -> {
+                    assertThat(pagina.builds().size()).isEqualTo(2);
+                    assertThat(pagina.builds().get(0).id()).isEqualTo("b1");
+                    assertThat(pagina.builds().get(1).id()).isEqualTo("b2");
+                    assertThat(BuildHistoryCursor.decode(pagina.nextCursor()))
+                            .isEqualTo(new BuildHistoryCursor(build2.getCreatedAt(), "b2"));
+                })
                 .verifyComplete();
     }
 
     @Test
-    void getBuildHistory_HistorialVacio_ReturnsEmptyFlux() {
+    void getBuildHistory_ConCursor_ContinuaDesdeLaPosicionIndicada() {
         String playerId = "player123";
+        BuildHistoryCursor cursor = new BuildHistoryCursor(Instant.parse("2024-02-01T10:00:00Z"), "b2");
 
-        when(buildRepository.findByPlayerIdAndValidTrueOrderByCreatedAtDesc(playerId))
+        Build build3 = createTestBuild(playerId, "char2", true);
+        build3.setId("b3");
+        build3.setCreatedAt(Instant.parse("2024-01-01T10:00:00Z"));
+
+        when(buildRepository.findHistory(playerId, cursor, 3))
+                .thenReturn(Flux.just(build3));
+
+        StepVerifier.create(buildService.getBuildHistory(playerId, cursor.encode(), 2))
+                .assertNext(pagina -> {
+                    assertThat(pagina.builds().size()).isEqualTo(1);
+                    assertThat(pagina.builds().get(0).id()).isEqualTo("b3");
+                    assertThat(pagina.nextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getBuildHistory_LimiteExcesivo_SeAcotaAlMaximo() {
+        when(buildRepository.findHistory("player123", null, 101))
                 .thenReturn(Flux.empty());
 
-        StepVerifier.create(buildService.getBuildHistory(playerId))
+        StepVerifier.create(buildService.getBuildHistory("player123", null, 10_000))
+                .assertNext(pagina -> assertThat(pagina.builds().isEmpty()).isTrue())
                 .verifyComplete();
     }
 
     @Test
-    void getBuildHistory_ErrorEnBaseDeDatos_PropagaError() {
+    void getBuildHistory_CursorInvalido_LanzaIllegalArgumentException() {
+        StepVerifier.create(buildService.getBuildHistory("player123", "no-es-un-cursor", 20))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(buildRepository);
+    }
 
+    @Test
+    void streamBuildHistory_SinCursor_EmiteTodoElHistorialSinLimite() {
         String playerId = "player123";
 
-        when(buildRepository.findByPlayerIdAndValidTrueOrderByCreatedAtDesc(playerId))
-                .thenReturn(Flux.error(new RuntimeException("Error en la base de datos")));
+        Build build1 = createTestBuild(playerId, "char1", true);
+        build1.setId("b1");
+        build1.setCreatedAt(Instant.parse("2024-03-01T10:00:00Z"));
 
-        StepVerifier.create(buildService.getBuildHistory(playerId))
-                .expectErrorMatches(error ->
-                        error instanceof RuntimeException &&
-                                error.getMessage().contains("Error en la base de datos"))
+        Build build2 = createTestBuild(playerId, "char2", true);
+        build2.setId("b2");
+        build2.setCreatedAt(Instant.parse("2024-02-01T10:00:00Z"));
+
+        when(buildRepository.findHistory(playerId, null, 0))
+                .thenReturn(Flux.just(build1, build2));
+
+        StepVerifier.create(buildService.streamBuildHistory(playerId, null))
+                .expectNextMatches(resumen -> "b1".equals(resumen.id()))
+                .expectNextMatches(resumen -> "b2".equals(resumen.id()))
+                .verifyComplete();
+    }
+
+    @Test
+    void streamBuildHistory_CursorInvalido_LanzaIllegalArgumentException() {
+        StepVerifier.create(buildService.streamBuildHistory("player123", "no-es-un-cursor"))
+                .expectError(IllegalArgumentException.class)
                 .verify();
+
+        verifyNoInteractions(buildRepository);
     }
 
     @Test
-    void getBuildHistory_FiltraBuildsInvalidos_RetornaSoloValidos() {
+    void getBuildHistory_ErrorEnBaseDeDatos_PropagaError() {
 
-        Build valido = createTestBuild("player1", "char1", true);
-        Build invalido = createTestBuild("player1", "char1", false);
+        String playerId = "player123";
 
-        when(buildRepository.findByPlayerIdAndValidTrueOrderByCreatedAtDesc("player1"))
-                .thenReturn(Flux.just(valido));
+        when(buildRepository.findHistory(playerId, null, 21))
+                .thenReturn(Flux.error(new RuntimeException("Error en la base de datos")));
 
-        StepVerifier.create(buildService.getBuildHistory("player1"))
-                .expectNext(valido)
-                .verifyComplete();
+        StepVerifier.create(buildService.getBuildHistory(playerId, null, 20))
+                .expectErrorMatches(error ->
+                        error instanceof RuntimeException &&
+                                error.getMessage().contains("Error en la base de datos"))
+                .verify();
     }
 
     @Test
@@ -0,0 +1,224 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.ValidationPlanCache;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.PieceRepository;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogServiceImplTest {
+
+    @Mock
+    private CharacterRepository characterRepository;
+
+    @Mock
+    private PieceRepository pieceRepository;
+
+    @Mock
+    private CharacterCatalog characterCatalog;
+
+    @Mock
+    private ValidationPlanCache planesCache;
+
+    @Mock
+    private GalleryService galleryService;
+
+    @InjectMocks
+    private CatalogServiceImpl catalogService;
+
+    // Helper
+    private Character createCharacter(String id, String... pieceIds) {
+        List<Piece> piezas = new ArrayList<>();
+        for (String pieceId : pieceIds) {
+            Piece piece = new Piece();
+            piece.setId(pieceId);
+            piezas.add(piece);
+        }
+        return new Character(id, "Nombre-" + id, "Descripción", "Medium",
+                piezas, PowerSet.empty(), "image.png", 10, "game.png");
+    }
+
+    // Helper: los repositorios devuelven tantos documentos escritos como reciben
+    private void escrituraCorrecta() {
+        when(pieceRepository.replaceAll(anyList(), anyBoolean()))
+                .thenAnswer(inv -> Mono.just(inv.<List<?>>getArgument(0).size()));
+        when(characterRepository.replaceAll(anyList(), anyBoolean()))
+                .thenAnswer(inv -> Mono.just(inv.<List<?>>getArgument(0).size()));
+        when(galleryService.refreshCharacterData(anyList()))
+                .thenReturn(Mono.just(0L));
+    }
+
+    @Test
+    void importCatalog_escribePiezasYPersonajesEInvalidaUnaSolaVez() {
+        escrituraCorrecta();
+
+        Flux<Character> catalogo = Flux.just(
+                createCharacter("c1", "p1", "p2"),
+                createCharacter("c2", "p2", "p3"));
+
+        StepVerifier.create(catalogService.importCatalog(catalogo, true))
+                .assertNext(resultado -> {
+                    assertThat(resultado.characters()).isEqualTo(2);
+                    // p2 aparece en los dos personajes pero se escribe una vez
+                    assertThat(resultado.pieces()).isEqualTo(3);
+                    assertThat(resultado.errors()).isEmpty();
+                })
+                .verifyComplete();
+
+        verify(pieceRepository, times(1)).replaceAll(anyList(), eq(true));
+        verify(characterRepository, times(1)).replaceAll(anyList(), eq(true));
+        verify(galleryService, times(1)).refreshCharacterData(anyList());
+        verify(characterCatalog, times(1)).invalidate();
+        verify(planesCache, times(1)).invalidateAll();
+    }
+
+    @Test
+    void importCatalog_catalogoGrande_seEscribeEnLotes() {
+        escrituraCorrecta();
+
+        Flux<Character> catalogo = Flux.fromStream(IntStream.range(0, 1200)
+                .mapToObj(i -> createCharacter("c" + i)));
+
+        StepVerifier.create(catalogService.importCatalog(catalogo, false))
+                .assertNext(resultado -> assertThat(resultado.characters()).isEqualTo(1200))
+                .verifyComplete();
+
+        verify(characterRepository, times(3)).replaceAll(anyList(), eq(false));
+        verify(galleryService, times(3)).refreshCharacterData(anyList());
+        verify(characterCatalog, times(1)).invalidate();
+    }
+
+    @Test
+    void importCatalog_ordenadoConLineaInvalida_abortaIndicandoLaLinea() {
+        Character sinNombre = createCharacter("c2");
+        sinNombre.setName(" ");
+
+        StepVerifier.create(catalogService.importCatalog(Flux.just(createCharacter("c1"), sinNombre), true))
+                .expectErrorMatches(error ->
+                        error instanceof IllegalArgumentException &&
+                                error.getMessage().startsWith("Línea 2:"))
+                .verify();
+
+        verify(characterRepository, never()).replaceAll(anyList(), anyBoolean());
+        verify(characterCatalog, times(1)).invalidate();
+        verify(planesCache, times(1)).invalidateAll();
+    }
+
+    @Test
+    void importCatalog_desordenado_omiteLineasInvalidasYLasInforma() {
+        escrituraCorrecta();
+
+        Character costeNegativo = createCharacter("c2");
+        costeNegativo.setCost(-5);
+
+        Flux<Character> catalogo = Flux.just(createCharacter("c1"), costeNegativo, createCharacter("c1"));
+
+        StepVerifier.create(catalogService.importCatalog(catalogo, false))
+                .assertNext(resultado -> {
+                    assertThat(resultado.characters()).isEqualTo(1);
+                    assertThat(resultado.errors()).hasSize(2);
+                    assertThat(resultado.errors().get(0)).startsWith("Línea 2:");
+                    assertThat(resultado.errors().get(1)).contains("repetido");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void importCatalog_desordenadoConFalloEnMongo_anotaElLoteYContinua() {
+        when(pieceRepository.replaceAll(anyList(), anyBoolean()))
+                .thenReturn(Mono.error(new RuntimeException("Mongo caído")));
+
+        StepVerifier.create(catalogService.importCatalog(Flux.just(createCharacter("c1", "p1")), false))
+                .assertNext(resultado -> {
+                    assertThat(resultado.characters()).isZero();
+                    assertThat(resultado.errors()).containsExactly("Lote 1: Mongo caído");
+                })
+                .verifyComplete();
+
+        verify(characterCatalog, times(1)).invalidate();
+    }
+
+    @Test
+    void importCatalog_desordenadoConFalloParcialDelBulk_cuentaLoEscritoYAnotaSoloLosFallidos() {
+        when(pieceRepository.replaceAll(anyList(), anyBoolean()))
+                .thenAnswer(inv -> Mono.just(inv.<List<?>>getArgument(0).size()));
+        when(galleryService.refreshCharacterData(anyList()))
+                .thenReturn(Mono.just(0L));
+
+        // De tres personajes Mongo guarda dos (uno actualizado y otro insertado) y rechaza el del índice 1
+        BulkWriteResult parcial = BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(new BulkWriteUpsert(2, new BsonString("c3"))), List.of());
+        MongoBulkWriteException bulk = new MongoBulkWriteException(parcial,
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)),
+                null, new ServerAddress(), Set.of());
+        when(characterRepository.replaceAll(anyList(), eq(false)))
+                .thenReturn(Mono.error(new DuplicateKeyException(bulk.getMessage(), bulk)));
+
+        Flux<Character> catalogo = Flux.just(createCharacter("c1"), createCharacter("c2"), createCharacter("c3"));
+
+        StepVerifier.create(catalogService.importCatalog(catalogo, false))
+                .assertNext(resultado -> {
+                    assertThat(resultado.characters()).isEqualTo(2);
+                    assertThat(resultado.errors()).containsExactly("Lote 1: personaje c2: duplicate key");
+                })
+                .verifyComplete();
+
+        // Lo escrito sí cambió: la galería se refresca igualmente
+        verify(galleryService, times(1)).refreshCharacterData(anyList());
+    }
+
+    @Test
+    void importCatalog_falloAlRefrescarGaleria_noInvalidaLaImportacionPeroSeInforma() {
+        escrituraCorrecta();
+        when(galleryService.refreshCharacterData(anyList()))
+                .thenReturn(Mono.error(new RuntimeException("Mongo caído")));
+
+        StepVerifier.create(catalogService.importCatalog(Flux.just(createCharacter("c1")), true))
+                .assertNext(resultado -> {
+                    assertThat(resultado.characters()).isEqualTo(1);
+                    assertThat(resultado.errors()).containsExactly("Lote 1: galería no actualizada: Mongo caído");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void exportCatalog_leeDirectamenteDeMongo() {
+        Character c1 = createCharacter("c1");
+        when(characterRepository.findAll())
+                .thenReturn(Flux.just(c1));
+
+        StepVerifier.create(catalogService.exportCatalog())
+                .expectNext(c1)
+                .verifyComplete();
+
+        verifyNoInteractions(characterCatalog);
+    }
+}
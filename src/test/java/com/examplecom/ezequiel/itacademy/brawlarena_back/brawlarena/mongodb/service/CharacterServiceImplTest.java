@@ -1,30 +1,43 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service;
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.CharacterNotFoundException;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.InsufficientTokensException;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterUpdateRequest;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.PieceAssignmentDTO;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.BuildRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.PieceRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.UserCharacter;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserCharacterRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,7 +56,13 @@ class CharacterServiceImplTest {
     private PieceRepository pieceRepository;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private UserCharacterRepository userCharacterRepository;
+
+    @Mock
+    private CharacterCatalog characterCatalog;
+
+    @Mock
+    private GalleryService galleryService;
 
     @InjectMocks
     private CharacterServiceImpl characterService;
@@ -57,7 +76,7 @@ class CharacterServiceImplTest {
                 "Descripción",
                 "Medium",
                 new ArrayList<>(),
-                new ArrayList<>(),
+                PowerSet.empty(),
                 "image.png",
                 0,
                 "test-game.png"
@@ -65,26 +84,38 @@ class CharacterServiceImplTest {
 
     }
 
+    // Helper
+    private CharacterCatalog.Snapshot snapshot(Character... characters) {
+        Map<String, Character> byId = new HashMap<>();
+        for (Character character : characters) {
+            byId.put(character.getId(), character);
+        }
+        return new CharacterCatalog.Snapshot(0, List.of(characters), byId, List.of(),
+                "[]".getBytes(StandardCharsets.UTF_8), "[]".getBytes(StandardCharsets.UTF_8));
+    }
+
     @Test
     void getAllCharacters_ReturnsFluxOfCharacters() {
 
         Character char1 = createTestCharacter("1");
         Character char2 = createTestCharacter("2");
 
-        when(characterRepository.findAll())
-                .thenReturn(Flux.just(char1, char2));
+        when(characterCatalog.snapshot())
+                .thenReturn(Mono.just(snapshot(char1, char2)));
 
         StepVerifier.create(characterService.getAllCharacters())
                 .expectNext(char1)
                 .expectNext(char2)
                 .verifyComplete();
+
+        verifyNoInteractions(characterRepository);
     }
 
     @Test
     void getAllCharacters_ReturnsEmptyFluxWhenNoCharacters() {
 
-        when(characterRepository.findAll())
-                .thenReturn(Flux.empty());
+        when(characterCatalog.snapshot())
+                .thenReturn(Mono.just(snapshot()));
 
         StepVerifier.create(characterService.getAllCharacters())
                 .expectNextCount(0)
@@ -95,8 +126,8 @@ class CharacterServiceImplTest {
     void getAllCharacters_PropagatesRepositoryError() {
 
         RuntimeException simulatedError = new RuntimeException("Error en MongoDB");
-        when(characterRepository.findAll())
-                .thenReturn(Flux.error(simulatedError));
+        when(characterCatalog.snapshot())
+                .thenReturn(Mono.error(simulatedError));
 
         StepVerifier.create(characterService.getAllCharacters())
                 .expectErrorMatches(ex -> {
@@ -107,55 +138,152 @@ class CharacterServiceImplTest {
                 .verify();
     }
 
+    @Test
+    void getAllCharactersJson_DevuelveBytesPreserializadosDelCatalogo() {
+        CharacterCatalog.Snapshot catalogo = snapshot(createTestCharacter("1"));
+        when(characterCatalog.snapshot())
+                .thenReturn(Mono.just(catalogo));
+
+        StepVerifier.create(characterService.getAllCharactersJson())
+                .assertNext(json -> assertThat(json).isSameAs(catalogo.json()))
+                .verifyComplete();
+    }
+
     @Test
     void getUnlockedCharacters_ReturnsFilteredCharacters() {
         String playerId = "player1";
         User mockUser = new User();
+        mockUser.setId(1L);
         mockUser.setNickname(playerId);
-        mockUser.setCharacterIds("[1,3]");
 
         Character char1 = createTestCharacter("1"); // desbloqueado
         Character char2 = createTestCharacter("2"); // bloqueado
         Character char3 = createTestCharacter("3"); // desbloqueado
 
         when(userRepository.findByNickname(playerId)).thenReturn(Mono.just(mockUser));
-        when(characterRepository.findAll()).thenReturn(Flux.just(char1, char2, char3));
+        when(userCharacterRepository.findByUserId(1L)).thenReturn(Flux.just(
+                new UserCharacter(1L, 1L, "1"),
+                new UserCharacter(2L, 1L, "3")));
+        when(characterCatalog.current()).thenReturn(Optional.of(snapshot(char1, char2, char3)));
 
         StepVerifier.create(characterService.getUnlockedCharacters(playerId))
                 .expectNextMatches(c -> c.getId().equals("1"))
                 .expectNextMatches(c -> c.getId().equals("3"))
                 .expectComplete()
                 .verify();
+
+        // Resuelto desde el catálogo en memoria, sin consultar Mongo
+        verifyNoInteractions(characterRepository);
+    }
+
+    @Test
+    void getUnlockedCharacters_SinCatalogoCargado_ConsultaSoloLosIdsDesbloqueados() {
+        User mockUser = new User();
+        mockUser.setId(1L);
+        mockUser.setNickname("player1");
+
+        Character char1 = createTestCharacter("1");
+        Character char3 = createTestCharacter("3");
+
+        when(userRepository.findByNickname("player1")).thenReturn(Mono.just(mockUser));
+        when(userCharacterRepository.findByUserId(1L)).thenReturn(Flux.just(
+                new UserCharacter(1L, 1L, "1"),
+                new UserCharacter(2L, 1L, "3")));
+        when(characterCatalog.current()).thenReturn(Optional.empty());
+        when(characterRepository.findAllById(Set.of("1", "3"))).thenReturn(Flux.just(char1, char3));
+
+        StepVerifier.create(characterService.getUnlockedCharacters("player1"))
+                .expectNext(char1, char3)
+                .verifyComplete();
+
+        verify(characterRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllCharacterSummariesJson_DevuelveResumenPreserializadoDelCatalogo() {
+        CharacterCatalog.Snapshot catalogo = snapshot(createTestCharacter("1"));
+        when(characterCatalog.snapshot())
+                .thenReturn(Mono.just(catalogo));
+
+        StepVerifier.create(characterService.getAllCharacterSummariesJson())
+                .assertNext(json -> assertThat(json).isSameAs(catalogo.summaryJson()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getUnlockedCharacterSummaries_SinCatalogoCargado_UsaProyeccionSinPiezas() {
+        User mockUser = new User();
+        mockUser.setId(1L);
+        mockUser.setNickname("player1");
+
+        Character proyectado = createTestCharacter("1");
+        proyectado.setPieces(null);
+
+        when(userRepository.findByNickname("player1")).thenReturn(Mono.just(mockUser));
+        when(userCharacterRepository.findByUserId(1L)).thenReturn(Flux.just(new UserCharacter(1L, 1L, "1")));
+        when(characterCatalog.current()).thenReturn(Optional.empty());
+        when(characterRepository.findSummariesByIdIn(Set.of("1"))).thenReturn(Flux.just(proyectado));
+
+        StepVerifier.create(characterService.getUnlockedCharacterSummaries("player1"))
+                .assertNext(resumen -> {
+                    assertThat(resumen.id()).isEqualTo("1");
+                    assertThat(resumen.name()).isEqualTo("Test-1");
+                })
+                .verifyComplete();
+
+        verify(characterRepository, never()).findAllById(ArgumentMatchers.<Iterable<String>>any());
+    }
+
+    @Test
+    void getUnlockedCharacterSummaries_ConCatalogoCargado_NoConsultaMongo() {
+        User mockUser = new User();
+        mockUser.setId(1L);
+        mockUser.setNickname("player1");
+
+        when(userRepository.findByNickname("player1")).thenReturn(Mono.just(mockUser));
+        when(userCharacterRepository.findByUserId(1L)).thenReturn(Flux.just(new UserCharacter(1L, 1L, "2")));
+        when(characterCatalog.current()).thenReturn(Optional.of(snapshot(createTestCharacter("1"), createTestCharacter("2"))));
+
+        StepVerifier.create(characterService.getUnlockedCharacterSummaries("player1"))
+                .assertNext(resumen -> assertThat(resumen.id()).isEqualTo("2"))
+                .verifyComplete();
+
+        verifyNoInteractions(characterRepository);
     }
 
     @Test
     void getUnlockedCharacters_ReturnsEmptyWhenNoMatches() {
 
         User mockUser = new User();
+        mockUser.setId(1L);
         mockUser.setNickname("player1");
-        mockUser.setCharacterIds("[]");
 
         when(userRepository.findByNickname("player1"))
                 .thenReturn(Mono.just(mockUser));
-
-        when(characterRepository.findAll())
+        when(userCharacterRepository.findByUserId(1L))
                 .thenReturn(Flux.empty());
 
         StepVerifier.create(characterService.getUnlockedCharacters("player1"))
                 .verifyComplete();
+
+        // Sin personajes desbloqueados no hace falta consultar el catálogo
+        verifyNoInteractions(characterRepository);
     }
 
     @Test
     void getUnlockedCharacters_PropagatesErrors() {
 
         User mockUser = new User();
+        mockUser.setId(1L);
         mockUser.setNickname("player1");
-        mockUser.setCharacterIds("[]");
 
         when(userRepository.findByNickname("player1"))
                 .thenReturn(Mono.just(mockUser));
+        when(userCharacterRepository.findByUserId(1L))
+                .thenReturn(Flux.just(new UserCharacter(1L, 1L, "1")));
+        when(characterCatalog.current()).thenReturn(Optional.empty());
 
-        when(characterRepository.findAll())
+        when(characterRepository.findAllById(Set.of("1")))
                 .thenReturn(Flux.error(new RuntimeException("DB Error")));
 
         StepVerifier.create(characterService.getUnlockedCharacters("player1"))
@@ -169,17 +297,18 @@ class CharacterServiceImplTest {
         BuildService buildService = mock(BuildService.class);
 
         Character lockedChar = createTestCharacter("char1");
-        Character savedChar = createTestCharacter("char1");
+        lockedChar.setCost(50);
 
         User testUser = User.builder()
+                .id(1L)
                 .nickname("player1")
                 .tokens(100)
-                .characterIds("[]")
                 .build();
 
         when(characterRepository.findById("char1")).thenReturn(Mono.just(lockedChar));
         when(userRepository.findByNickname("player1")).thenReturn(Mono.just(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(Mono.just(testUser));
+        when(userCharacterRepository.insertIfAbsent(1L, "char1")).thenReturn(Mono.just(1));
+        when(userRepository.debitTokens(1L, 50)).thenReturn(Mono.just(1));
 
         CharacterServiceImpl characterService = new CharacterServiceImpl(
                 characterRepository,
@@ -187,33 +316,86 @@ class CharacterServiceImplTest {
                 buildRepository,
                 buildService,
                 pieceRepository,
-                objectMapper
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
         );
 
         StepVerifier.create(characterService.unlockCharacter("player1", "char1"))
                 .expectNext(true)
                 .verifyComplete();
+
+        // El saldo se descuenta en SQL, nunca reescribiendo el usuario leído
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
     void unlockCharacter_AlreadyUnlocked_ReturnsFalse() {
 
         Character unlockedChar = createTestCharacter("char1");
+        unlockedChar.setCost(50);
         User testUser = User.builder()
+                .id(1L)
                 .nickname("player1")
                 .tokens(100)
-                .characterIds("[\"char1\"]")
                 .build();
 
         when(characterRepository.findById("char1"))
                 .thenReturn(Mono.just(unlockedChar));
         when(userRepository.findByNickname("player1"))
                 .thenReturn(Mono.just(testUser));
+        when(userCharacterRepository.insertIfAbsent(1L, "char1"))
+                .thenReturn(Mono.just(0));
 
         // Ejecuta y verifica
         StepVerifier.create(characterService.unlockCharacter("player1", "char1"))
                 .expectNext(false)
                 .verifyComplete();
+
+        verify(userRepository, never()).debitTokens(anyLong(), anyInt());
+    }
+
+    @Test
+    void unlockCharacter_SaldoInsuficiente_LanzaInsufficientTokensException() {
+
+        Character caro = createTestCharacter("char1");
+        caro.setCost(500);
+        User testUser = User.builder()
+                .id(1L)
+                .nickname("player1")
+                .tokens(100)
+                .build();
+
+        when(characterRepository.findById("char1")).thenReturn(Mono.just(caro));
+        when(userRepository.findByNickname("player1")).thenReturn(Mono.just(testUser));
+        when(userCharacterRepository.insertIfAbsent(1L, "char1")).thenReturn(Mono.just(1));
+        when(userRepository.debitTokens(1L, 500)).thenReturn(Mono.just(0));
+
+        StepVerifier.create(characterService.unlockCharacter("player1", "char1"))
+                .expectErrorMatches(ex -> ex instanceof InsufficientTokensException &&
+                        ex.getMessage().equals("No tienes tokens suficientes"))
+                .verify();
+    }
+
+    @Test
+    void unlockCharacter_PersonajeGratuito_NoDescuentaTokens() {
+
+        Character gratis = createTestCharacter("char1");
+        User testUser = User.builder()
+                .id(1L)
+                .nickname("player1")
+                .tokens(0)
+                .build();
+
+        when(characterRepository.findById("char1")).thenReturn(Mono.just(gratis));
+        when(userRepository.findByNickname("player1")).thenReturn(Mono.just(testUser));
+        when(userCharacterRepository.insertIfAbsent(1L, "char1")).thenReturn(Mono.just(1));
+
+        StepVerifier.create(characterService.unlockCharacter("player1", "char1"))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(userRepository, never()).debitTokens(anyLong(), anyInt());
     }
 
     @Test
@@ -291,14 +473,14 @@ class CharacterServiceImplTest {
         personajeExistente.setDescription("ViejaDesc");
         personajeExistente.setDifficulty("Fácil");
         personajeExistente.setImageUrl("vieja.png");
-        personajeExistente.setPowers(new ArrayList<>());
+        personajeExistente.setPowers(PowerSet.empty());
 
         CharacterUpdateRequest request = new CharacterUpdateRequest();
         request.setName("NuevoNombre");
         request.setDescription("NuevaDesc");
         request.setDifficulty("Difícil");
         request.setImageUrl("nueva.png");
-        request.setPowers(List.of(Power.POSTURA_IMPARABLE));
+        request.setPowers(PowerSet.of(Power.POSTURA_IMPARABLE));
         request.setPieces(null);
 
         when(characterRepository.findById(characterId))
@@ -307,6 +489,9 @@ class CharacterServiceImplTest {
         when(characterRepository.save(any(Character.class)))
                 .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
+        when(galleryService.refreshCharacterData(anyList()))
+                .thenReturn(Mono.just(2L));
+
         BuildService buildService = mock(BuildService.class);
 
         CharacterServiceImpl service = new CharacterServiceImpl(
@@ -315,7 +500,9 @@ class CharacterServiceImplTest {
                 buildRepository,
                 buildService,
                 pieceRepository,
-                objectMapper
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
         );
 
         StepVerifier.create(service.updateCharacter(characterId, request))
@@ -324,10 +511,37 @@ class CharacterServiceImplTest {
                                 actualizado.getDescription().equals("NuevaDesc") &&
                                 actualizado.getDifficulty().equals("Difícil") &&
                                 actualizado.getImageUrl().equals("nueva.png") &&
-                                actualizado.getPowers().equals(List.of(Power.POSTURA_IMPARABLE)) &&
+                                actualizado.getPowers().equals(PowerSet.of(Power.POSTURA_IMPARABLE)) &&
                                 actualizado.getPieces() == null)
 
                 .verifyComplete();
+
+        verify(characterCatalog).invalidate();
+        // La copia de la ficha en la galería recibe el nombre nuevo
+        verify(galleryService).refreshCharacterData(argThat(personajes ->
+                personajes.size() == 1 && "NuevoNombre".equals(personajes.get(0).getName())));
+    }
+
+    @Test
+    void updateCharacter_falloAlRefrescarGaleria_devuelvePersonajeActualizado() {
+        Character personajeExistente = new Character();
+        personajeExistente.setId("char1");
+
+        CharacterUpdateRequest request = new CharacterUpdateRequest();
+        request.setName("NuevoNombre");
+
+        when(characterRepository.findById("char1"))
+                .thenReturn(Mono.just(personajeExistente));
+        when(characterRepository.save(any(Character.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(galleryService.refreshCharacterData(anyList()))
+                .thenReturn(Mono.error(new RuntimeException("Mongo caído")));
+
+        StepVerifier.create(characterService.updateCharacter("char1", request))
+                .expectNextMatches(actualizado -> actualizado.getName().equals("NuevoNombre"))
+                .verifyComplete();
+
+        verify(characterCatalog).invalidate();
     }
 
     @Test
@@ -336,14 +550,14 @@ class CharacterServiceImplTest {
 
         Character personajeExistente = new Character();
         personajeExistente.setId(characterId);
-        personajeExistente.setPowers(new ArrayList<>());
+        personajeExistente.setPowers(PowerSet.empty());
 
         CharacterUpdateRequest request = new CharacterUpdateRequest();
         request.setName("NuevoNombre");
         request.setDescription("NuevaDesc");
         request.setDifficulty("Difícil");
         request.setImageUrl("nueva.png");
-        request.setPowers(List.of(Power.POSTURA_IMPARABLE));
+        request.setPowers(PowerSet.of(Power.POSTURA_IMPARABLE));
 
         Piece pieza = new Piece();
         pieza.setId("p1");
@@ -355,6 +569,9 @@ class CharacterServiceImplTest {
         when(characterRepository.save(any(Character.class)))
                 .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
+        when(galleryService.refreshCharacterData(anyList()))
+                .thenReturn(Mono.just(2L));
+
         BuildService buildService = mock(BuildService.class);
 
         CharacterServiceImpl service = new CharacterServiceImpl(
@@ -363,7 +580,9 @@ class CharacterServiceImplTest {
                 buildRepository,
                 buildService,
                 pieceRepository,
-                objectMapper
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
         );
 
         StepVerifier.create(service.updateCharacter(characterId, request))
@@ -372,7 +591,7 @@ class CharacterServiceImplTest {
                                 actualizado.getDescription().equals("NuevaDesc") &&
                                 actualizado.getDifficulty().equals("Difícil") &&
                                 actualizado.getImageUrl().equals("nueva.png") &&
-                                actualizado.getPowers().equals(List.of(Power.POSTURA_IMPARABLE)) &&
+                                actualizado.getPowers().equals(PowerSet.of(Power.POSTURA_IMPARABLE)) &&
                                 actualizado.getPieces().equals(List.of(pieza)))
                 .verifyComplete();
 
@@ -388,7 +607,7 @@ class CharacterServiceImplTest {
         request.setDescription("Desc");
         request.setDifficulty("Media");
         request.setImageUrl("img.png");
-        request.setPowers(List.of(Power.POSTURA_IMPARABLE));
+        request.setPowers(PowerSet.of(Power.POSTURA_IMPARABLE));
         request.setPieces(null);
 
         when(characterRepository.findById(characterId))
@@ -402,7 +621,9 @@ class CharacterServiceImplTest {
                 buildRepository,
                 buildService,
                 pieceRepository,
-                objectMapper
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
         );
 
         StepVerifier.create(service.updateCharacter(characterId, request))
@@ -424,7 +645,9 @@ class CharacterServiceImplTest {
                 buildRepository,
                 buildService,
                 pieceRepository,
-                objectMapper
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
         );
 
         assertThrows(NullPointerException.class,
@@ -437,14 +660,14 @@ class CharacterServiceImplTest {
 
         Character personajeExistente = new Character();
         personajeExistente.setId(characterId);
-        personajeExistente.setPowers(new ArrayList<>());
+        personajeExistente.setPowers(PowerSet.empty());
 
         CharacterUpdateRequest request = new CharacterUpdateRequest();
         request.setName("NombreActualizado");
         request.setDescription("DescActualizada");
         request.setDifficulty("Alta");
         request.setImageUrl("nueva.png");
-        request.setPowers(List.of(Power.POSTURA_IMPARABLE));
+        request.setPowers(PowerSet.of(Power.POSTURA_IMPARABLE));
         request.setPieces(null);
 
         when(characterRepository.findById(characterId))
@@ -453,6 +676,9 @@ class CharacterServiceImplTest {
         when(characterRepository.save(any(Character.class)))
                 .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
+        when(galleryService.refreshCharacterData(anyList()))
+                .thenReturn(Mono.just(0L));
+
         BuildService buildService = mock(BuildService.class);
 
         CharacterServiceImpl service = new CharacterServiceImpl(
@@ -461,7 +687,9 @@ class CharacterServiceImplTest {
                 buildRepository,
                 buildService,
                 pieceRepository,
-                objectMapper
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
         );
 
         StepVerifier.create(service.updateCharacter(characterId, request))
@@ -470,7 +698,7 @@ class CharacterServiceImplTest {
                                 actualizado.getDescription().equals("DescActualizada") &&
                                 actualizado.getDifficulty().equals("Alta") &&
                                 actualizado.getImageUrl().equals("nueva.png") &&
-                                actualizado.getPowers().equals(List.of(Power.POSTURA_IMPARABLE)) &&
+                                actualizado.getPowers().equals(PowerSet.of(Power.POSTURA_IMPARABLE)) &&
                                 actualizado.getPieces() == null)
                 .verifyComplete();
 
@@ -486,7 +714,7 @@ class CharacterServiceImplTest {
         request.setDescription("Desc");
         request.setDifficulty("Media");
         request.setImageUrl("img.png");
-        request.setPowers(List.of(Power.POSTURA_IMPARABLE));
+        request.setPowers(PowerSet.of(Power.POSTURA_IMPARABLE));
         request.setPieces(null);
 
         when(characterRepository.findById(characterId))
@@ -500,7 +728,9 @@ class CharacterServiceImplTest {
                 buildRepository,
                 buildService,
                 pieceRepository,
-                objectMapper
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
         );
 
         StepVerifier.create(service.updateCharacter(characterId, request))
@@ -516,14 +746,14 @@ class CharacterServiceImplTest {
 
         Character personajeExistente = new Character();
         personajeExistente.setId(characterId);
-        personajeExistente.setPowers(new ArrayList<>());
+        personajeExistente.setPowers(PowerSet.empty());
 
         CharacterUpdateRequest request = new CharacterUpdateRequest();
         request.setName("Nombre");
         request.setDescription("Desc");
         request.setDifficulty("Alta");
         request.setImageUrl("img.png");
-        request.setPowers(List.of(Power.POSTURA_IMPARABLE));
+        request.setPowers(PowerSet.of(Power.POSTURA_IMPARABLE));
         request.setPieces(null);
 
         when(characterRepository.findById(characterId))
@@ -540,7 +770,9 @@ class CharacterServiceImplTest {
                 buildRepository,
                 buildService,
                 pieceRepository,
-                objectMapper
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
         );
 
         StepVerifier.create(service.updateCharacter(characterId, request))
@@ -548,6 +780,9 @@ class CharacterServiceImplTest {
                         error instanceof RuntimeException &&
                                 error.getMessage().equals("Error al guardar"))
                 .verify();
+
+        // Si el guardado falla el catálogo en memoria sigue siendo válido
+        verify(characterCatalog, never()).invalidate();
     }
 
     @Test
@@ -556,14 +791,14 @@ class CharacterServiceImplTest {
 
         Character personajeExistente = new Character();
         personajeExistente.setId(characterId);
-        personajeExistente.setPowers(new ArrayList<>());
+        personajeExistente.setPowers(PowerSet.empty());
 
         CharacterUpdateRequest requestConPiezas = new CharacterUpdateRequest();
         requestConPiezas.setName("Nombre");
         requestConPiezas.setDescription("Desc");
         requestConPiezas.setDifficulty("Media");
         requestConPiezas.setImageUrl("img.png");
-        requestConPiezas.setPowers(List.of(Power.POSTURA_IMPARABLE));
+        requestConPiezas.setPowers(PowerSet.of(Power.POSTURA_IMPARABLE));
 
         Piece pieza = new Piece();
         pieza.setId("pieza1");
@@ -574,7 +809,7 @@ class CharacterServiceImplTest {
         requestSinPiezas.setDescription("Desc");
         requestSinPiezas.setDifficulty("Media");
         requestSinPiezas.setImageUrl("img.png");
-        requestSinPiezas.setPowers(List.of(Power.POSTURA_IMPARABLE));
+        requestSinPiezas.setPowers(PowerSet.of(Power.POSTURA_IMPARABLE));
         requestSinPiezas.setPieces(null);
 
         when(characterRepository.findById(characterId))
@@ -583,6 +818,9 @@ class CharacterServiceImplTest {
         when(characterRepository.save(any(Character.class)))
                 .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
+        when(galleryService.refreshCharacterData(anyList()))
+                .thenReturn(Mono.just(0L));
+
         BuildService buildService = mock(BuildService.class);
 
         CharacterServiceImpl service = new CharacterServiceImpl(
@@ -591,7 +829,9 @@ class CharacterServiceImplTest {
                 buildRepository,
                 buildService,
                 pieceRepository,
-                objectMapper
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
         );
 
         StepVerifier.create(service.updateCharacter(characterId, requestConPiezas))
@@ -668,6 +908,8 @@ class CharacterServiceImplTest {
                         actualizado.getId().equals(characterId) &&
                                 actualizado.getPieces().equals(List.of(pieza1, pieza2)))
                 .verifyComplete();
+
+        verify(characterCatalog).invalidate();
     }
 
     @Test
@@ -828,7 +1070,9 @@ class CharacterServiceImplTest {
                 buildRepository,
                 buildService,
                 pieceRepository,
-                objectMapper
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
         );
 
         StepVerifier.create(service.assignPiecesWithPowers(characterId, piezas))
@@ -836,6 +1080,8 @@ class CharacterServiceImplTest {
                         updated.getId().equals(characterId) &&
                                 updated.getPieces().equals(piezas))
                 .verifyComplete();
+
+        verify(characterCatalog).invalidate();
     }
 
     @Test
@@ -864,7 +1110,9 @@ class CharacterServiceImplTest {
                 buildRepository,
                 buildService,
                 pieceRepository,
-                objectMapper
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
         );
 
         StepVerifier.create(service.assignPiecesWithPowers(characterId, piezas))
@@ -899,7 +1147,9 @@ class CharacterServiceImplTest {
                 buildRepository,
                 buildService,
                 pieceRepository,
-                objectMapper
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
         );
 
         StepVerifier.create(service.assignPiecesWithPowers(characterId, piezas))
@@ -909,4 +1159,105 @@ class CharacterServiceImplTest {
         verify(buildService).clearPiecesCache(characterId);
     }
 
-}
\ No newline at end of file
+    // Helper
+    private PieceAssignmentDTO asignacion(String pieceId, Power power) {
+        PieceAssignmentDTO dto = new PieceAssignmentDTO();
+        dto.setPieceId(pieceId);
+        dto.setPower(power);
+        return dto;
+    }
+
+    // Helper
+    private Piece pieza(String id) {
+        Piece piece = new Piece();
+        piece.setId(id);
+        return piece;
+    }
+
+    @Test
+    void assignPowers_asignaCadaPoderASuPiezaConUnaSolaConsulta() {
+        String characterId = "char1";
+        Character mockCharacter = new Character();
+        mockCharacter.setId(characterId);
+
+        // Mongo devuelve las piezas en otro orden que el de la petición
+        when(pieceRepository.findByIdIn(List.of("p1", "p2", "p3")))
+                .thenReturn(Flux.just(pieza("p3"), pieza("p1"), pieza("p2")));
+        when(characterRepository.findById(characterId))
+                .thenReturn(Mono.just(mockCharacter));
+        when(characterRepository.save(any(Character.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        CharacterServiceImpl service = new CharacterServiceImpl(
+                characterRepository,
+                userRepository,
+                buildRepository,
+                mock(BuildService.class),
+                pieceRepository,
+                userCharacterRepository,
+                characterCatalog,
+                galleryService
+        );
+
+        List<PieceAssignmentDTO> asignaciones = List.of(
+                asignacion("p1", Power.AIR_JUMP),
+                asignacion("p2", Power.COMBO_KICKS),
+                asignacion("p3", Power.CORTE_TSUNAMI));
+
+        StepVerifier.create(service.assignPowers(characterId, asignaciones))
+                .assertNext(updated -> {
+                    assertThat(updated.getPieces().stream().map(Piece::getId).toList())
+                            .isEqualTo(List.of("p1", "p2", "p3"));
+                    assertThat(updated.getPieces().stream().map(Piece::getPower).toList())
+                            .isEqualTo(List.of(Power.AIR_JUMP, Power.COMBO_KICKS, Power.CORTE_TSUNAMI));
+                })
+                .verifyComplete();
+
+        verify(pieceRepository, times(1)).findByIdIn(any());
+        verify(characterRepository, times(1)).save(any(Character.class));
+        verify(characterCatalog).invalidate();
+    }
+
+    @Test
+    void assignPowers_piezasInexistentes_informaDeLosIdsQueFaltan() {
+        when(pieceRepository.findByIdIn(List.of("p1", "p2", "p3")))
+                .thenReturn(Flux.just(pieza("p2")));
+
+        List<PieceAssignmentDTO> asignaciones = List.of(
+                asignacion("p1", Power.AIR_JUMP),
+                asignacion("p2", Power.COMBO_KICKS),
+                asignacion("p3", Power.CORTE_TSUNAMI));
+
+        StepVerifier.create(characterService.assignPowers("char1", asignaciones))
+                .expectErrorMatches(error ->
+                        error instanceof IllegalArgumentException &&
+                                error.getMessage().equals("Piezas inexistentes en la base de datos: p1, p3"))
+                .verify();
+
+        verifyNoInteractions(characterRepository);
+    }
+
+    @Test
+    void assignPowers_piezaRepetida_lanzaIllegalArgumentExceptionSinConsultarMongo() {
+        List<PieceAssignmentDTO> asignaciones = List.of(
+                asignacion("p1", Power.AIR_JUMP),
+                asignacion("p1", Power.COMBO_KICKS));
+
+        StepVerifier.create(characterService.assignPowers("char1", asignaciones))
+                .expectErrorMatches(error ->
+                        error instanceof IllegalArgumentException &&
+                                error.getMessage().contains("p1"))
+                .verify();
+
+        verifyNoInteractions(pieceRepository, characterRepository);
+    }
+
+    @Test
+    void assignPowers_listaVacia_lanzaIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> characterService.assignPowers("char1", List.of()).block());
+
+        verifyNoInteractions(pieceRepository);
+    }
+
+}
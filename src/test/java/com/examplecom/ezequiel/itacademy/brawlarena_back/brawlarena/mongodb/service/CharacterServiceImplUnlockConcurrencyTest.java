@@ -0,0 +1,174 @@
+package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service;
+
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.InsufficientTokensException;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.BuildRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.PieceRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+// Prueba contra un MySQL real: comprueba el UPDATE condicional de debitTokens, el INSERT IGNORE sobre
+// la clave única de user_characters y el rollback de la transacción. Sin Docker disponible la clase se omite
+@DataR2dbcTest
+@Import(CharacterServiceImpl.class)
+@Testcontainers(disabledWithoutDocker = true)
+class CharacterServiceImplUnlockConcurrencyTest {
+
+    private static final int PETICIONES = 64;
+    private static final int COSTE = 50;
+
+    @Container
+    private static final GenericContainer<?> mysql = new GenericContainer<>(DockerImageName.parse("mysql:8.0"))
+            .withEnv("MYSQL_ROOT_PASSWORD", "test")
+            .withEnv("MYSQL_DATABASE", "brawl_test")
+            .withExposedPorts(3306)
+            .waitingFor(Wait.forLogMessage(".*ready for connections.*port: 3306.*", 1));
+
+    @DynamicPropertySource
+    static void r2dbc(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:mysql://" + mysql.getHost() + ":" + mysql.getMappedPort(3306) + "/brawl_test");
+        registry.add("spring.r2dbc.username", () -> "root");
+        registry.add("spring.r2dbc.password", () -> "test");
+    }
+
+    @Autowired
+    private CharacterService characterService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    // El catálogo vive en Mongo; aquí solo importa el coste de cada personaje
+    @MockBean
+    private CharacterRepository characterRepository;
+
+    @MockBean
+    private BuildRepository buildRepository;
+
+    @MockBean
+    private BuildService buildService;
+
+    @MockBean
+    private PieceRepository pieceRepository;
+
+    @MockBean
+    private CharacterCatalog characterCatalog;
+
+    @MockBean
+    private GalleryService galleryService;
+
+    @BeforeEach
+    void setUp() {
+        // user_characters la crea schema.sql al arrancar; users es anterior y no está en el script
+        databaseClient.sql("""
+                        CREATE TABLE IF NOT EXISTS users (
+                            id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                            nickname VARCHAR(20) NOT NULL UNIQUE,
+                            password VARCHAR(255) NOT NULL,
+                            tokens INT NOT NULL,
+                            role VARCHAR(20)
+                        )""")
+                .then()
+                .then(databaseClient.sql("DELETE FROM user_characters").then())
+                .then(databaseClient.sql("DELETE FROM users").then())
+                .block();
+
+        when(characterRepository.findById(anyString())).thenAnswer(inv -> {
+            Character character = new Character();
+            character.setId(inv.getArgument(0));
+            character.setName("Test-" + inv.getArgument(0));
+            character.setCost(COSTE);
+            return Mono.just(character);
+        });
+    }
+
+    // Helper
+    private User crearCuenta(int tokens) {
+        return userRepository.save(User.builder()
+                        .nickname("player1")
+                        .password("password123")
+                        .tokens(tokens)
+                        .role("USER")
+                        .build())
+                .block();
+    }
+
+    // Helper
+    private long filasDesbloqueadas(Long userId) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM user_characters WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("total", Long.class))
+                .one()
+                .block();
+    }
+
+    @Test
+    void unlockCharacter_DesbloqueosConcurrentesDeUnaCuenta_NuncaGastaMasDelSaldo() {
+        int saldoInicial = 500;
+        User cuenta = crearCuenta(saldoInicial);
+
+        List<String> resultados = Flux.range(0, PETICIONES)
+                .flatMap(i -> characterService.unlockCharacter("player1", "char" + i)
+                        .subscribeOn(Schedulers.parallel())
+                        .map(desbloqueado -> "desbloqueado")
+                        .onErrorResume(InsufficientTokensException.class, e -> Mono.just("sin saldo")), PETICIONES)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+
+        int desbloqueables = saldoInicial / COSTE;
+        assertThat(Collections.frequency(resultados, "desbloqueado")).isEqualTo(desbloqueables);
+        assertThat(Collections.frequency(resultados, "sin saldo")).isEqualTo(PETICIONES - desbloqueables);
+
+        // El saldo nunca queda negativo y los INSERT de los desbloqueos sin saldo se revierten
+        assertThat(userRepository.findById(cuenta.getId()).block().getTokens()).isZero();
+        assertThat(filasDesbloqueadas(cuenta.getId())).isEqualTo(desbloqueables);
+    }
+
+    @Test
+    void unlockCharacter_MismoPersonajeEnParalelo_SoloSeCobraUnaVez() {
+        int saldoInicial = 1000;
+        User cuenta = crearCuenta(saldoInicial);
+
+        List<Boolean> resultados = Flux.range(0, PETICIONES)
+                .flatMap(i -> characterService.unlockCharacter("player1", "char1")
+                        .subscribeOn(Schedulers.parallel()), PETICIONES)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+
+        assertThat(Collections.frequency(resultados, true)).isEqualTo(1);
+        assertThat(Collections.frequency(resultados, false)).isEqualTo(PETICIONES - 1);
+
+        // Una sola fila por la clave única (user_id, character_id) y un único cobro
+        assertThat(userRepository.findById(cuenta.getId()).block().getTokens()).isEqualTo(saldoInicial - COSTE);
+        assertThat(filasDesbloqueadas(cuenta.getId())).isEqualTo(1);
+    }
+}
@@ -1,14 +1,29 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.service;
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.*;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.common.constant.logic.ValidationPlan;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.GalleryFeed;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.GalleryVersion;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.HighlightedModelCache;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.ValidationPlanCache;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.CharacterGalleryStats;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryCursor;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.dto.GalleryEvent;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.FeaturedModel;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Piece;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.Power;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.BuildRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.FeaturedModelRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.SharedModelRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -18,12 +33,20 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
@@ -46,6 +69,29 @@ class GalleryServiceImplTest {
     @Mock
     private SharedModelRepository sharedModelRepository;
 
+    @Mock
+    private GalleryVersion galleryVersion;
+
+    @Mock
+    private CharacterCatalog characterCatalog;
+
+    @Mock
+    private ValidationPlanCache planesCache;
+
+    @Mock
+    private FeaturedModelRepository featuredModelRepository;
+
+    @Mock
+    private HighlightedModelCache highlightedModelCache;
+
+    @Mock
+    private GalleryFeed galleryFeed;
+
+    @BeforeEach
+    void sinDestacadoPorDefecto() {
+        lenient().when(highlightedModelCache.highlighted()).thenReturn(Mono.just(Optional.empty()));
+    }
+
 
     // Helper
     private Character createTestCharacter(String id) {
@@ -55,12 +101,36 @@ class GalleryServiceImplTest {
         character.setDescription("Desc");
         character.setDifficulty("Medium");
         character.setPieces(new ArrayList<>());
-        character.setPowers(new ArrayList<>());
+        character.setPowers(PowerSet.empty());
         character.setImageUrl("image.png");
         character.setCost(0);
         return character;
     }
 
+    // Helper
+    private Piece createPiece(String id, Power power) {
+        Piece piece = new Piece();
+        piece.setId(id);
+        piece.setPower(power);
+        return piece;
+    }
+
+    // Helper: el plan de validación se compila a partir del personaje recibido
+    private void planesReales() {
+        when(planesCache.get(any(Character.class)))
+                .thenAnswer(inv -> Mono.just(ValidationPlan.compile(inv.getArgument(0))));
+    }
+
+    // Helper
+    private CharacterCatalog.Snapshot snapshot(Character... characters) {
+        Map<String, Character> byId = new HashMap<>();
+        for (Character character : characters) {
+            byId.put(character.getId(), character);
+        }
+        return new CharacterCatalog.Snapshot(0, List.of(characters), byId, List.of(),
+                "[]".getBytes(StandardCharsets.UTF_8), "[]".getBytes(StandardCharsets.UTF_8));
+    }
+
     @Test
     void shareModel_conPlayerIdOVacioOLNull_lanzaIllegalArgumentException() {
         String validCharacterId = "char1";
@@ -142,6 +212,9 @@ class GalleryServiceImplTest {
 
         User mockUser = User.builder().nickname(playerId).build();
         Character mockCharacter = createTestCharacter(characterId);
+        mockCharacter.setPieces(List.of(
+                createPiece("p1", Power.AMMO_RUSH),
+                createPiece("p2", Power.COMBO_KICKS)));
 
         Build validBuild = new Build();
         validBuild.setPlayerId(playerId);
@@ -149,12 +222,14 @@ class GalleryServiceImplTest {
         validBuild.setValid(true);
         validBuild.setScore(85);
         validBuild.setCreatedAt(Instant.now());
+        // Solo p1 es correcta: el modelo compartido refleja los poderes que el build activó
+        validBuild.setPiecesPlaced(List.of("p1", "pX"));
 
         SharedModel expectedModel = new SharedModel();
         expectedModel.setPlayerId(playerId);
         expectedModel.setCharacterId(characterId);
         expectedModel.setScore(85);
-        expectedModel.setPowers(List.of());
+        expectedModel.setPowers(PowerSet.empty());
         expectedModel.setSharedAt(Instant.now());
 
         when(userRepository.findByNickname(playerId))
@@ -166,6 +241,8 @@ class GalleryServiceImplTest {
         when(buildRepository.findByPlayerIdAndCharacterIdAndValidTrue(playerId, characterId))
                 .thenReturn(Flux.just(validBuild));
 
+        planesReales();
+
         when(sharedModelRepository.save(any(SharedModel.class)))
                 .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
@@ -174,10 +251,17 @@ class GalleryServiceImplTest {
                         shared.getPlayerId().equals(playerId) &&
                                 shared.getCharacterId().equals(characterId) &&
                                 shared.getScore() == 85 &&
-                                shared.getPowers().isEmpty() &&
+                                shared.getPowers().equals(PowerSet.of(Power.AMMO_RUSH)) &&
+                                shared.getCharacterName().equals("Test-char1") &&
+                                shared.getCharacterImageUrl().equals("image.png") &&
+                                shared.getCharacterDifficulty().equals("Medium") &&
                                 shared.getSharedAt() != null
                 )
                 .verifyComplete();
+
+        verify(galleryVersion).bump();
+        verify(galleryFeed).publish(argThat(evento ->
+                evento.type() == GalleryEvent.Type.SHARED && evento.model().getCharacterId().equals(characterId)));
     }
 
     @Test
@@ -204,6 +288,8 @@ class GalleryServiceImplTest {
         when(buildRepository.findByPlayerIdAndCharacterIdAndValidTrue(playerId, characterId))
                 .thenReturn(Flux.just(validBuild));
 
+        planesReales();
+
         when(sharedModelRepository.save(any(SharedModel.class)))
                 .thenReturn(Mono.error(new RuntimeException("Error al guardar modelo")));
 
@@ -245,6 +331,8 @@ class GalleryServiceImplTest {
         when(buildRepository.findByPlayerIdAndCharacterIdAndValidTrue(playerId, characterId))
                 .thenReturn(Flux.just(buildAntiguo, buildReciente));
 
+        planesReales();
+
         when(sharedModelRepository.save(any(SharedModel.class)))
                 .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
@@ -257,76 +345,112 @@ class GalleryServiceImplTest {
                 .verifyComplete();
     }
 
+    // Helper
+    private SharedModel createSharedModel(String id, String sharedAt) {
+        SharedModel model = new SharedModel();
+        model.setId(id);
+        model.setPlayerId("player-" + id);
+        model.setCharacterId("char-" + id);
+        model.setSharedAt(Instant.parse(sharedAt));
+        return model;
+    }
+
     @Test
-    void getPublicGallery_conModelosCompartidos_retornaFluxOrdenado() {
-        SharedModel modelo1 = new SharedModel();
-        modelo1.setPlayerId("player1");
-        modelo1.setCharacterId("char1");
-        modelo1.setSharedAt(Instant.parse("2024-01-01T10:00:00Z"));
+    void getPublicGallery_primeraPagina_pideUnoDeMasYDevuelveCursor() {
+        SharedModel reciente = createSharedModel("m3", "2024-03-01T10:00:00Z");
+        SharedModel intermedio = createSharedModel("m2", "2024-02-01T10:00:00Z");
+        SharedModel antiguo = createSharedModel("m1", "2024-01-01T10:00:00Z");
+
+        when(sharedModelRepository.findPage(null, 3))
+                .thenReturn(Flux.just(reciente, intermedio, antiguo));
+
+        StepVerifier.create(galleryService.getPublicGallery(null, 2))
+                .assertNext(pagina -> {
+                    assertEquals(List.of(reciente, intermedio), pagina.models());
+                    assertEquals(GalleryCursor.after(intermedio), GalleryCursor.decode(pagina.nextCursor()));
+                })
+                .verifyComplete();
+    }
 
-        SharedModel modelo2 = new SharedModel();
-        modelo2.setPlayerId("player2");
-        modelo2.setCharacterId("char2");
-        modelo2.setSharedAt(Instant.parse("2024-03-01T10:00:00Z"));
+    @Test
+    void getPublicGallery_marcaElDestacadoDesdeElPunteroEnMemoria() {
+        SharedModel destacado = createSharedModel("m2", "2024-02-01T10:00:00Z");
+        SharedModel normal = createSharedModel("m1", "2024-01-01T10:00:00Z");
+
+        when(highlightedModelCache.highlighted()).thenReturn(Mono.just(Optional.of(destacado)));
+        when(sharedModelRepository.findPage(null, 21))
+                .thenReturn(Flux.just(createSharedModel("m2", "2024-02-01T10:00:00Z"), normal));
+
+        StepVerifier.create(galleryService.getPublicGallery(null, 20))
+                .assertNext(pagina -> {
+                    assertTrue(pagina.models().get(0).isHighlighted());
+                    assertFalse(pagina.models().get(1).isHighlighted());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getPublicGallery_ultimaPagina_sinCursorSiguiente() {
+        SharedModel antiguo = createSharedModel("m1", "2024-01-01T10:00:00Z");
+        GalleryCursor desde = new GalleryCursor(Instant.parse("2024-02-01T10:00:00Z"), "m2");
+
+        when(sharedModelRepository.findPage(desde, 3))
+                .thenReturn(Flux.just(antiguo));
+
+        StepVerifier.create(galleryService.getPublicGallery(desde.encode(), 2))
+                .assertNext(pagina -> {
+                    assertEquals(List.of(antiguo), pagina.models());
+                    assertNull(pagina.nextCursor());
+                })
+                .verifyComplete();
+    }
 
-        when(sharedModelRepository.findAll())
-                .thenReturn(Flux.just(modelo1, modelo2));
+    @Test
+    void getPublicGallery_sinModelosCompartidos_retornaPaginaVacia() {
+        when(sharedModelRepository.findPage(null, 21))
+                .thenReturn(Flux.empty());
 
-        StepVerifier.create(galleryService.getPublicGallery())
-                .expectNext(modelo2) // más reciente
-                .expectNext(modelo1)
+        StepVerifier.create(galleryService.getPublicGallery(null, 20))
+                .assertNext(pagina -> {
+                    assertTrue(pagina.models().isEmpty());
+                    assertNull(pagina.nextCursor());
+                })
                 .verifyComplete();
     }
 
     @Test
-    void getPublicGallery_sinModelosCompartidos_retornaFluxVacio() {
-        when(sharedModelRepository.findAll())
+    void getPublicGallery_limiteFueraDeRango_seAcota() {
+        when(sharedModelRepository.findPage(null, 101))
                 .thenReturn(Flux.empty());
 
-        StepVerifier.create(galleryService.getPublicGallery())
-                .expectNextCount(0)
+        StepVerifier.create(galleryService.getPublicGallery(null, 5000))
+                .expectNextCount(1)
                 .verifyComplete();
+
+        verify(sharedModelRepository).findPage(null, 101);
+    }
+
+    @Test
+    void getPublicGallery_cursorInvalido_lanzaIllegalArgumentException() {
+        StepVerifier.create(galleryService.getPublicGallery("no-es-un-cursor", 20))
+                .expectErrorMatches(ex ->
+                        ex instanceof IllegalArgumentException &&
+                                ex.getMessage().equals("Cursor de galería inválido"))
+                .verify();
     }
 
     @Test
     void getPublicGallery_errorEnBaseDeDatos_propagaExcepcion() {
-        when(sharedModelRepository.findAll())
+        when(sharedModelRepository.findPage(null, 21))
                 .thenReturn(Flux.error(new RuntimeException("Error en la base de datos")));
 
-        StepVerifier.create(galleryService.getPublicGallery())
+        StepVerifier.create(galleryService.getPublicGallery(null, 20))
                 .expectErrorMatches(ex ->
                         ex instanceof RuntimeException &&
                                 ex.getMessage().equals("Error en la base de datos"))
                 .verify();
     }
 
-    @Test
-    void getPublicGallery_verificaOrdenPorFecha_descendente() {
-        SharedModel modeloAntiguo = new SharedModel();
-        modeloAntiguo.setPlayerId("playerA");
-        modeloAntiguo.setCharacterId("charA");
-        modeloAntiguo.setSharedAt(Instant.parse("2023-05-01T10:00:00Z"));
-
-        SharedModel modeloReciente = new SharedModel();
-        modeloReciente.setPlayerId("playerB");
-        modeloReciente.setCharacterId("charB");
-        modeloReciente.setSharedAt(Instant.parse("2024-02-01T10:00:00Z"));
-
-        SharedModel modeloIntermedio = new SharedModel();
-        modeloIntermedio.setPlayerId("playerC");
-        modeloIntermedio.setCharacterId("charC");
-        modeloIntermedio.setSharedAt(Instant.parse("2023-12-01T10:00:00Z"));
-
-        when(sharedModelRepository.findAll())
-                .thenReturn(Flux.just(modeloAntiguo, modeloReciente, modeloIntermedio));
-
-        StepVerifier.create(galleryService.getPublicGallery())
-                .expectNext(modeloReciente)
-                .expectNext(modeloIntermedio)
-                .expectNext(modeloAntiguo)
-                .verifyComplete();
-    }
-
     @Test
     void getHighlightedModel_conModeloDestacado_retornaSharedModel() {
         SharedModel destacado = new SharedModel();
@@ -335,8 +459,8 @@ class GalleryServiceImplTest {
         destacado.setHighlighted(true);
         destacado.setSharedAt(Instant.now());
 
-        when(sharedModelRepository.findByHighlightedTrue())
-                .thenReturn(Flux.just(destacado));
+        when(highlightedModelCache.highlighted())
+                .thenReturn(Mono.just(Optional.of(destacado)));
 
         StepVerifier.create(galleryService.getHighlightedModel())
                 .expectNextMatches(model ->
@@ -345,13 +469,13 @@ class GalleryServiceImplTest {
                                 model.isHighlighted()
                 )
                 .verifyComplete();
+
+        // Se sirve desde memoria, sin consultar la colección de modelos
+        verifyNoInteractions(sharedModelRepository, featuredModelRepository);
     }
 
     @Test
     void getHighlightedModel_sinModeloDestacado_lanzaExcepcion() {
-        when(sharedModelRepository.findByHighlightedTrue())
-                .thenReturn(Flux.empty());
-
         StepVerifier.create(galleryService.getHighlightedModel())
                 .expectErrorMatches(ex ->
                         ex instanceof HighlightedModelNotFoundException &&
@@ -361,8 +485,8 @@ class GalleryServiceImplTest {
 
     @Test
     void getHighlightedModel_errorEnBaseDeDatos_propagaExcepcion() {
-        when(sharedModelRepository.findByHighlightedTrue())
-                .thenReturn(Flux.error(new RuntimeException("Error en MongoDB")));
+        when(highlightedModelCache.highlighted())
+                .thenReturn(Mono.error(new RuntimeException("Error en MongoDB")));
 
         StepVerifier.create(galleryService.getHighlightedModel())
                 .expectErrorMatches(ex ->
@@ -371,28 +495,6 @@ class GalleryServiceImplTest {
                 .verify();
     }
 
-    @Test
-    void getHighlightedModel_multiplesDestacados_retornaSoloPrimero() {
-        SharedModel destacado1 = new SharedModel();
-        destacado1.setPlayerId("player1");
-        destacado1.setCharacterId("char1");
-        destacado1.setHighlighted(true);
-        destacado1.setSharedAt(Instant.parse("2024-03-01T10:00:00Z"));
-
-        SharedModel destacado2 = new SharedModel();
-        destacado2.setPlayerId("player2");
-        destacado2.setCharacterId("char2");
-        destacado2.setHighlighted(true);
-        destacado2.setSharedAt(Instant.parse("2024-04-01T10:00:00Z"));
-
-        when(sharedModelRepository.findByHighlightedTrue())
-                .thenReturn(Flux.just(destacado1, destacado2));
-
-        StepVerifier.create(galleryService.getHighlightedModel())
-                .expectNext(destacado1)
-                .verifyComplete();
-    }
-
     @Test
     void getSharedUsersByCharacter_conCharacterIdVacioOLNull_lanzaIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class,
@@ -406,20 +508,8 @@ class GalleryServiceImplTest {
     void getSharedUsersByCharacter_conModelosCompartidos_retornaPlayerIdsUnicos() {
         String characterId = "char1";
 
-        SharedModel modelo1 = new SharedModel();
-        modelo1.setPlayerId("player1");
-        modelo1.setCharacterId(characterId);
-
-        SharedModel modelo2 = new SharedModel();
-        modelo2.setPlayerId("player2");
-        modelo2.setCharacterId(characterId);
-
-        SharedModel modelo3 = new SharedModel();
-        modelo3.setPlayerId("player1"); // repetido
-        modelo3.setCharacterId(characterId);
-
-        when(sharedModelRepository.findByCharacterId(characterId))
-                .thenReturn(Flux.just(modelo1, modelo2, modelo3));
+        when(sharedModelRepository.findDistinctPlayerIds(characterId))
+                .thenReturn(Flux.just("player1", "player2"));
 
         StepVerifier.create(galleryService.getSharedUsersByCharacter(characterId).sort())
                 .expectNext("player1", "player2")
@@ -430,7 +520,7 @@ class GalleryServiceImplTest {
     void getSharedUsersByCharacter_sinModelosCompartidos_retornaFluxVacio() {
         String characterId = "char1";
 
-        when(sharedModelRepository.findByCharacterId(characterId))
+        when(sharedModelRepository.findDistinctPlayerIds(characterId))
                 .thenReturn(Flux.empty());
 
         StepVerifier.create(galleryService.getSharedUsersByCharacter(characterId))
@@ -439,34 +529,24 @@ class GalleryServiceImplTest {
     }
 
     @Test
-    void getSharedUsersByCharacter_conModelosDuplicados_seFiltranCorrectamente() {
+    void getSharedUsersByCharacter_deduplicaEnMongoSinLeerDocumentos() {
         String characterId = "char1";
 
-        SharedModel modelo1 = new SharedModel();
-        modelo1.setPlayerId("player1");
-        modelo1.setCharacterId(characterId);
-
-        SharedModel modelo2 = new SharedModel();
-        modelo2.setPlayerId("player2");
-        modelo2.setCharacterId(characterId);
-
-        SharedModel modelo3 = new SharedModel();
-        modelo3.setPlayerId("player1"); // duplicado
-        modelo3.setCharacterId(characterId);
+        when(sharedModelRepository.findDistinctPlayerIds(characterId))
+                .thenReturn(Flux.just("player1", "player2"));
 
-        when(sharedModelRepository.findByCharacterId(characterId))
-                .thenReturn(Flux.just(modelo1, modelo2, modelo3));
-
-        StepVerifier.create(galleryService.getSharedUsersByCharacter(characterId).sort())
-                .expectNext("player1", "player2") // solo player1 y player2, sin duplicados
+        StepVerifier.create(galleryService.getSharedUsersByCharacter(characterId))
+                .expectNextCount(2)
                 .verifyComplete();
+
+        verify(sharedModelRepository, never()).findByCharacterId(any());
     }
 
     @Test
     void getSharedUsersByCharacter_errorEnBaseDeDatos_propagaExcepcion() {
         String characterId = "char1";
 
-        when(sharedModelRepository.findByCharacterId(characterId))
+        when(sharedModelRepository.findDistinctPlayerIds(characterId))
                 .thenReturn(Flux.error(new RuntimeException("Error en la base de datos")));
 
         StepVerifier.create(galleryService.getSharedUsersByCharacter(characterId))
@@ -476,6 +556,31 @@ class GalleryServiceImplTest {
                 .verify();
     }
 
+    @Test
+    void getCharacterStats_devuelveElResultadoDeLaAgregacion() {
+        CharacterGalleryStats stats1 = new CharacterGalleryStats("char1", "Test-char1", 5, 3, 95);
+        CharacterGalleryStats stats2 = new CharacterGalleryStats("char2", "Test-char2", 1, 1, 40);
+
+        when(sharedModelRepository.characterStats())
+                .thenReturn(Flux.just(stats1, stats2));
+
+        StepVerifier.create(galleryService.getCharacterStats())
+                .expectNext(stats1, stats2)
+                .verifyComplete();
+
+        verify(sharedModelRepository, never()).findAll();
+    }
+
+    @Test
+    void getCharacterStats_errorEnBaseDeDatos_propagaExcepcion() {
+        when(sharedModelRepository.characterStats())
+                .thenReturn(Flux.error(new RuntimeException("Error en la agregación")));
+
+        StepVerifier.create(galleryService.getCharacterStats())
+                .expectErrorMessage("Error en la agregación")
+                .verify();
+    }
+
     @Test
     void highlightModel_conSharedModelIdVacioOLNull_lanzaIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class,
@@ -500,89 +605,45 @@ class GalleryServiceImplTest {
     }
 
     @Test
-    void highlightModel_modeloExiste_markAsHighlighted_yDesmarcaOtros() {
+    void highlightModel_modeloExiste_mueveElPunteroYActualizaLaMemoria() {
         String sharedModelId = "model1";
+        Instant featuredAt = Instant.parse("2024-05-01T10:00:00Z");
 
         SharedModel modeloExistente = new SharedModel();
         modeloExistente.setId(sharedModelId);
-        modeloExistente.setHighlighted(false);
-
-        SharedModel modeloDestacado = new SharedModel();
-        modeloDestacado.setId("model2");
-        modeloDestacado.setHighlighted(true);
 
         when(sharedModelRepository.findById(sharedModelId))
                 .thenReturn(Mono.just(modeloExistente));
 
-        when(sharedModelRepository.findByHighlightedTrue())
-                .thenReturn(Flux.just(modeloDestacado));
-
-        when(sharedModelRepository.save(any(SharedModel.class)))
-                .thenReturn(Mono.just(modeloExistente));
+        when(featuredModelRepository.pointTo(sharedModelId))
+                .thenReturn(Mono.just(new FeaturedModel(FeaturedModel.ID, sharedModelId, featuredAt)));
 
         StepVerifier.create(galleryService.highlightModel(sharedModelId))
                 .expectNextMatches(updatedModel ->
                         updatedModel.isHighlighted() &&
-                                updatedModel.getId().equals(sharedModelId) // modelo marcado correctamente
+                                updatedModel.getId().equals(sharedModelId)
                 )
                 .verifyComplete();
 
-        verify(sharedModelRepository, times(1)).save(modeloDestacado); // se desmarca el modelo anterior
-    }
-
-    @Test
-    void highlightModel_errorAlDesmarcarModelosDestacados_propagaExcepcion() {
-        String sharedModelId = "model1";
-
-        SharedModel modeloExistente = new SharedModel();
-        modeloExistente.setId(sharedModelId);
-        modeloExistente.setHighlighted(false);
-
-        SharedModel modeloDestacado = new SharedModel();
-        modeloDestacado.setId("model2");
-        modeloDestacado.setHighlighted(true);
-
-        when(sharedModelRepository.findById(sharedModelId))
-                .thenReturn(Mono.just(modeloExistente));
-
-        when(sharedModelRepository.findByHighlightedTrue())
-                .thenReturn(Flux.just(modeloDestacado));
-
-        when(sharedModelRepository.save(any(SharedModel.class)))
-                .thenReturn(Mono.just(modeloExistente));
-
-        when(sharedModelRepository.save(modeloDestacado))
-                .thenReturn(Mono.error(new RuntimeException("Error al desmarcar modelo")));
-
-        StepVerifier.create(galleryService.highlightModel(sharedModelId))
-                .expectErrorMatches(ex ->
-                        ex instanceof RuntimeException &&
-                                ex.getMessage().equals("Error al desmarcar modelo"))
-                .verify();
+        // Un solo upsert del puntero: ni se recorren ni se reescriben los destacados anteriores
+        verify(sharedModelRepository, never()).save(any(SharedModel.class));
+        verify(highlightedModelCache).highlight(modeloExistente, featuredAt);
+        verify(galleryVersion).bump();
+        verify(galleryFeed).publish(argThat(evento ->
+                evento.type() == GalleryEvent.Type.HIGHLIGHTED && evento.sharedModelId().equals(sharedModelId)));
     }
 
     @Test
-    void highlightModel_errorAlGuardarModeloDestacado_propagaExcepcion() {
+    void highlightModel_errorAlMoverPuntero_propagaExcepcionSinTocarLaMemoria() {
         String sharedModelId = "model1";
 
         SharedModel modeloExistente = new SharedModel();
         modeloExistente.setId(sharedModelId);
-        modeloExistente.setHighlighted(false);
-
-        SharedModel modeloDestacado = new SharedModel();
-        modeloDestacado.setId("model2");
-        modeloDestacado.setHighlighted(true);
 
         when(sharedModelRepository.findById(sharedModelId))
                 .thenReturn(Mono.just(modeloExistente));
 
-        when(sharedModelRepository.findByHighlightedTrue())
-                .thenReturn(Flux.just(modeloDestacado));
-
-        when(sharedModelRepository.save(any(SharedModel.class)))
-                .thenReturn(Mono.just(modeloExistente));
-
-        when(sharedModelRepository.save(modeloDestacado))
+        when(featuredModelRepository.pointTo(sharedModelId))
                 .thenReturn(Mono.error(new RuntimeException("Error al guardar modelo destacado")));
 
         StepVerifier.create(galleryService.highlightModel(sharedModelId))
@@ -590,6 +651,10 @@ class GalleryServiceImplTest {
                         ex instanceof RuntimeException &&
                                 ex.getMessage().equals("Error al guardar modelo destacado"))
                 .verify();
+
+        verify(highlightedModelCache, never()).highlight(any(), any());
+        verify(galleryVersion, never()).bump();
+        verifyNoInteractions(galleryFeed);
     }
 
     @Test
@@ -680,8 +745,37 @@ class GalleryServiceImplTest {
         when(sharedModelRepository.delete(modelo))
                 .thenReturn(Mono.empty());
 
+        when(featuredModelRepository.clearIfPointingTo(sharedModelId))
+                .thenReturn(Mono.just(false));
+
         StepVerifier.create(galleryService.deleteSharedModel(sharedModelId, requesterId, role))
                 .verifyComplete();
+
+        verify(galleryVersion).bump();
+        verify(highlightedModelCache, never()).clear();
+        verify(galleryFeed).publish(argThat(evento ->
+                evento.type() == GalleryEvent.Type.DELETED && evento.sharedModelId().equals(sharedModelId)));
+    }
+
+    @Test
+    void deleteSharedModel_modeloDestacado_quitaElPunteroYLaCopiaEnMemoria() {
+        SharedModel modelo = new SharedModel();
+        modelo.setId("model1");
+
+        when(sharedModelRepository.findById("model1"))
+                .thenReturn(Mono.just(modelo));
+
+        when(sharedModelRepository.delete(modelo))
+                .thenReturn(Mono.empty());
+
+        when(featuredModelRepository.clearIfPointingTo("model1"))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(galleryService.deleteSharedModel("model1", "adminUser", "ROLE_ADMIN"))
+                .verifyComplete();
+
+        verify(highlightedModelCache).clear();
+        verify(galleryVersion).bump();
     }
 
     @Test
@@ -705,6 +799,107 @@ class GalleryServiceImplTest {
                         ex instanceof RuntimeException &&
                                 ex.getMessage().equals("Error al eliminar modelo"))
                 .verify();
+
+        verifyNoInteractions(galleryFeed);
+    }
+
+    @Test
+    void backfillCharacterData_rellenaFichaYPoderesDelBuildAnteriorAlCompartir() {
+        Character personaje = createTestCharacter("char1");
+        personaje.setPieces(List.of(
+                createPiece("p1", Power.AMMO_RUSH),
+                createPiece("p2", Power.COMBO_KICKS)));
+
+        SharedModel antiguo = new SharedModel();
+        antiguo.setId("m1");
+        antiguo.setPlayerId("player1");
+        antiguo.setCharacterId("char1");
+        antiguo.setSharedAt(Instant.parse("2024-02-01T10:00:00Z"));
+
+        Build compartido = new Build();
+        compartido.setCreatedAt(Instant.parse("2024-01-15T10:00:00Z"));
+        compartido.setPiecesPlaced(List.of("p2"));
+
+        // Build validado después de compartir: no es el que aparece en la galería
+        Build posterior = new Build();
+        posterior.setCreatedAt(Instant.parse("2024-03-01T10:00:00Z"));
+        posterior.setPiecesPlaced(List.of("p1", "p2"));
+
+        when(characterCatalog.snapshot()).thenReturn(Mono.just(snapshot(personaje)));
+        when(sharedModelRepository.findWithoutCharacterData()).thenReturn(Flux.just(antiguo));
+        when(buildRepository.findByPlayerIdAndCharacterIdAndValidTrue("player1", "char1"))
+                .thenReturn(Flux.just(posterior, compartido));
+        planesReales();
+        when(sharedModelRepository.fillCharacterData("m1", personaje, PowerSet.of(Power.COMBO_KICKS)))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(galleryService.backfillCharacterData())
+                .expectNext(1L)
+                .verifyComplete();
+
+        verify(galleryVersion).bump();
+    }
+
+    @Test
+    void backfillCharacterData_personajeInexistente_seOmite() {
+        SharedModel huerfano = new SharedModel();
+        huerfano.setId("m1");
+        huerfano.setCharacterId("borrado");
+
+        when(characterCatalog.snapshot()).thenReturn(Mono.just(snapshot()));
+        when(sharedModelRepository.findWithoutCharacterData()).thenReturn(Flux.just(huerfano));
+
+        StepVerifier.create(galleryService.backfillCharacterData())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(galleryVersion, times(0)).bump();
+    }
+
+    @Test
+    void backfillCharacterData_sinBuildValido_guardaFichaSinPoderes() {
+        Character personaje = createTestCharacter("char1");
+
+        SharedModel antiguo = new SharedModel();
+        antiguo.setId("m1");
+        antiguo.setPlayerId("player1");
+        antiguo.setCharacterId("char1");
+
+        when(characterCatalog.snapshot()).thenReturn(Mono.just(snapshot(personaje)));
+        when(sharedModelRepository.findWithoutCharacterData()).thenReturn(Flux.just(antiguo));
+        when(buildRepository.findByPlayerIdAndCharacterIdAndValidTrue("player1", "char1"))
+                .thenReturn(Flux.empty());
+        when(sharedModelRepository.fillCharacterData("m1", personaje, PowerSet.empty()))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(galleryService.backfillCharacterData())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void refreshCharacterData_conModelosActualizados_invalidaGaleria() {
+        List<Character> personajes = List.of(createTestCharacter("char1"));
+        when(sharedModelRepository.refreshCharacterData(personajes)).thenReturn(Mono.just(3L));
+
+        StepVerifier.create(galleryService.refreshCharacterData(personajes))
+                .expectNext(3L)
+                .verifyComplete();
+
+        verify(highlightedModelCache).invalidate();
+        verify(galleryVersion).bump();
+    }
+
+    @Test
+    void refreshCharacterData_sinCambios_noInvalidaGaleria() {
+        List<Character> personajes = List.of(createTestCharacter("char1"));
+        when(sharedModelRepository.refreshCharacterData(personajes)).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(galleryService.refreshCharacterData(personajes))
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(galleryVersion, times(0)).bump();
     }
 
-}
\ No newline at end of file
+}
@@ -2,11 +2,10 @@ package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.handl
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.common.constant.Role;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.NicknameAlreadyExistsException;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.CharacterCatalog;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.dto.LoginRequest;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.service.UserService;
-import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.security.JwtService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
@@ -14,6 +13,7 @@ import io.netty.handler.codec.Headers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -22,15 +22,16 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.reactive.function.server.EntityResponse;
 import org.springframework.web.reactive.function.server.ServerRequest;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,7 +47,7 @@ class AuthHandlerTest {
     private JwtService jwtService;
 
     @Mock
-    private CharacterRepository characterRepository;
+    private CharacterCatalog characterCatalog;
 
     @Mock
     private Headers headers;
@@ -54,44 +55,43 @@ class AuthHandlerTest {
     @Mock
     private ServerRequest request;
 
+    @Captor
+    private ArgumentCaptor<List<String>> idsCaptor;
+
     @InjectMocks
     private AuthHandler authHandler;
 
     @Test
     void registerUser_Success() {
-        User newUser = new User(null, "newUser", "password123", 100, "USER", "[]");
-
-        Character freeCharacter = new Character();
-        freeCharacter.setId("free1");
-        freeCharacter.setCost(0);
+        User newUser = new User(null, "newUser", "password123", 100, "USER");
 
         when(request.bodyToMono(User.class)).thenReturn(Mono.just(newUser));
-        when(characterRepository.findAll()).thenReturn(Flux.just(freeCharacter));
+        when(characterCatalog.freeCharacterIds()).thenReturn(Mono.just(List.of("free1")));
 
-        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        when(userService.save(userCaptor.capture())).thenAnswer(invocation -> Mono.just(userCaptor.getValue()));
+        User savedUser = new User(1L, "newUser", "password123", 50, "USER");
+        when(userService.register(eq(newUser), idsCaptor.capture())).thenReturn(Mono.just(savedUser));
 
         StepVerifier.create(authHandler.registerUser(request))
                 .expectNextMatches(response -> response.statusCode() == HttpStatus.CREATED)
                 .verifyComplete();
 
-        // Verificación explícita del campo characterIds
-        User captured = userCaptor.getValue();
+        // Usuario y personajes gratuitos se registran en una sola llamada transaccional
+        List<String> captured = idsCaptor.getValue();
         assertNotNull(captured);
-        assertEquals("[\"free1\"]", captured.getCharacterIds());
+        assertEquals(List.of("free1"), captured);
     }
 
     @Test
     void registerUser_ConflictWhenNicknameExists() {
-        User existingUser = new User(null, "existingUser", "password123", 100, "USER", "[]");
+        User existingUser = new User(null, "existingUser", "password123", 100, "USER");
 
         when(request.bodyToMono(User.class))
                 .thenReturn(Mono.just(existingUser));
 
-        when(characterRepository.findAll())
-                .thenReturn(Flux.empty());
+        when(characterCatalog.freeCharacterIds())
+                .thenReturn(Mono.just(List.of()));
 
-        when(userService.save(any(User.class)))
+        when(userService.register(any(User.class), eq(List.of())))
                 .thenReturn(Mono.error(new NicknameAlreadyExistsException("Nickname already exists")));
 
         StepVerifier.create(authHandler.registerUser(request))
@@ -99,11 +99,26 @@ class AuthHandlerTest {
                 .verifyComplete();
     }
 
+    @Test
+    void registerUser_FalloAlGuardarPersonajes_ReturnsInternalServerError() {
+        User newUser = new User(null, "newUser", "password123", 100, "USER");
+
+        when(request.bodyToMono(User.class)).thenReturn(Mono.just(newUser));
+        when(characterCatalog.freeCharacterIds()).thenReturn(Mono.just(List.of("free1")));
+        when(userService.register(newUser, List.of("free1")))
+                .thenReturn(Mono.error(new RuntimeException("Fallo en user_characters")));
+
+        // No es un conflicto de nickname: la transacción se revierte y el cliente puede reintentar
+        StepVerifier.create(authHandler.registerUser(request))
+                .expectNextMatches(serverResponse -> serverResponse.statusCode() == HttpStatus.INTERNAL_SERVER_ERROR)
+                .verifyComplete();
+    }
+
     @Test
     void loginUser_Success() {
 
         LoginRequest loginRequest = new LoginRequest("user1", "pass123");
-        User mockUser = new User(1L, "user1", "hashedPass", 100, "USER", "[]");
+        User mockUser = new User(1L, "user1", "hashedPass", 100, "USER");
 
         when(request.bodyToMono(LoginRequest.class)).thenReturn(Mono.just(loginRequest));
         when(userService.findByNickname("user1")).thenReturn(Mono.just(mockUser));
@@ -118,7 +133,7 @@ class AuthHandlerTest {
     @Test
     void loginUser_InvalidPassword() {
         LoginRequest loginRequest = new LoginRequest("user1", "wrongPass");
-        User mockUser = new User(1L, "user1", "hashedPass", 100, "USER", "[]");
+        User mockUser = new User(1L, "user1", "hashedPass", 100, "USER");
         when(request.bodyToMono(LoginRequest.class)).thenReturn(Mono.just(loginRequest));
         when(userService.findByNickname("user1")).thenReturn(Mono.just(mockUser));
         when(passwordEncoder.matches("wrongPass", "hashedPass")).thenReturn(false);
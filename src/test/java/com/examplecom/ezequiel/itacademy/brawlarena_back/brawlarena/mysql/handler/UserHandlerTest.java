@@ -3,8 +3,6 @@ package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.handl
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.handlers.GalleryHandler;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.service.UserService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -22,13 +20,15 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.test.StepVerifier;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.UserNotFoundException;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -60,8 +60,8 @@ class UserHandlerTest {
                 when(request.bodyToMono(User.class)).thenReturn(Mono.just((User) requestBody));
             } else if (requestBody instanceof Integer) {
                 when(request.bodyToMono(Integer.class)).thenReturn(Mono.just((Integer) requestBody));
-            } else if (requestBody instanceof Long) {
-                when(request.bodyToMono(Long.class)).thenReturn(Mono.just((Long) requestBody));
+            } else if (requestBody instanceof String) {
+                when(request.bodyToMono(String.class)).thenReturn(Mono.just((String) requestBody));
             }
         }
         return request;
@@ -70,7 +70,7 @@ class UserHandlerTest {
     @Test
     void getCurrentUser_Success() {
         String nickname = "testUser";
-        User mockUser = new User(1L, nickname, "pass", 100, "USER", "[]");
+        User mockUser = new User(1L, nickname, "pass", 100, "USER");
         ServerRequest request = createMockRequest(nickname, null);
 
         when(userService.findByNickname(nickname)).thenReturn(Mono.just(mockUser));
@@ -111,7 +111,7 @@ class UserHandlerTest {
 
         String nickname = "testUser";
         int newTokens = 150;
-        User updatedUser = new User(1L, nickname, "password123", newTokens, "USER", "[]");
+        User updatedUser = new User(1L, nickname, "password123", newTokens, "USER");
 
         ServerRequest request = createMockRequest(nickname, newTokens);
         when(userService.updateTokens(nickname, newTokens)).thenReturn(Mono.just(updatedUser));
@@ -145,7 +145,7 @@ class UserHandlerTest {
     @Test
     void getUserGallery_AuthenticatedUser_ReturnsOkWithIds() {
         String playerId = "player123";
-        List<Long> characterIds = List.of(1L, 2L);
+        List<String> characterIds = List.of("char1", "char2");
 
         Authentication auth = new UsernamePasswordAuthenticationToken(playerId, "");
 
@@ -163,11 +163,11 @@ class UserHandlerTest {
                     assertInstanceOf(List.class, body);
 
                     @SuppressWarnings("unchecked")
-                    List<Long> result = (List<Long>) body;
+                    List<String> result = (List<String>) body;
 
                     assertEquals(2, result.size());
-                    assertEquals(1L, result.get(0));
-                    assertEquals(2L, result.get(1));
+                    assertEquals("char1", result.get(0));
+                    assertEquals("char2", result.get(1));
                 })
                 .verifyComplete();
     }
@@ -211,17 +211,13 @@ class UserHandlerTest {
     }
 
     @Test
-    void addCharacterId_Success() throws JsonProcessingException {
+    void addCharacterId_Success() {
 
         String nickname = "testUser";
-        Long characterId = 123L;
-
-        String characterIdsJson = new ObjectMapper()
-                .writeValueAsString(new ArrayList<>(List.of(characterId)));
+        String characterId = "char123";
 
         User mockUser = User.builder()
                 .nickname(nickname)
-                .characterIds(characterIdsJson)
                 .build();
 
 
@@ -229,7 +225,7 @@ class UserHandlerTest {
 
         ServerRequest request = createMockRequest(nickname, characterId);
 
-        request.bodyToMono(Long.class).subscribe(b ->
+        request.bodyToMono(String.class).subscribe(b ->
                 System.out.println("[TEST] Body del request mockeado: " + b));
         request.principal().subscribe(p ->
                 System.out.println("[TEST] Principal mockeado: " + p));
@@ -249,7 +245,7 @@ class UserHandlerTest {
     void addCharacterId_UserNotFound() {
 
         String nickname = "usuarioInexistente";
-        Long characterId = 123L;
+        String characterId = "char123";
 
         ServerRequest request = createMockRequest(nickname, characterId);
         when(userService.addCharacterId(nickname, characterId))
@@ -262,4 +258,27 @@ class UserHandlerTest {
                 })
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void addCharacterId_CuerpoComoCadenaJson_GuardaElIdSinComillas() {
+        ServerRequest request = createMockRequest("testUser", " \"char123\" ");
+        when(userService.addCharacterId("testUser", "char123"))
+                .thenReturn(Mono.just(User.builder().nickname("testUser").build()));
+
+        StepVerifier.create(userHandler.addCharacterId(request))
+                .expectNextMatches(res -> res.statusCode() == HttpStatus.OK)
+                .verifyComplete();
+    }
+
+    @Test
+    void addCharacterId_CuerpoEnBlanco_DevuelveBadRequestSinTocarLaGaleria() {
+        ServerRequest request = Mockito.mock(ServerRequest.class);
+        when(request.bodyToMono(String.class)).thenReturn(Mono.just("  \"\" "));
+
+        StepVerifier.create(userHandler.addCharacterId(request))
+                .expectNextMatches(res -> res.statusCode() == HttpStatus.BAD_REQUEST)
+                .verifyComplete();
+
+        verify(userService, never()).addCharacterId(anyString(), anyString());
+    }
+}
@@ -3,6 +3,8 @@ package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.servi
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.NicknameAlreadyExistsException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.exception.UserNotFoundException;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.UserCharacter;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserCharacterRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,8 +12,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -23,6 +29,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCharacterRepository userCharacterRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
@@ -33,7 +42,7 @@ class UserServiceImplTest {
     void findById_WhenUserExists_ReturnsUser() {
         // Arrange
         Long userId = 1L;
-        User expectedUser = new User(userId, "testUser", "password", 100, "USER", "[]");
+        User expectedUser = new User(userId, "testUser", "password", 100, "USER");
         when(userRepository.findById(userId)).thenReturn(Mono.just(expectedUser));
 
         // Act & Assert
@@ -58,7 +67,7 @@ class UserServiceImplTest {
     void findByNickname_WhenUserExists_ReturnsUser() {
         // Arrange
         String nickname = "testUser";
-        User expectedUser = new User(1L, nickname, "password", 100, "USER", "[]");
+        User expectedUser = new User(1L, nickname, "password", 100, "USER");
         when(userRepository.findByNickname(nickname)).thenReturn(Mono.just(expectedUser));
 
         // Act & Assert
@@ -82,8 +91,8 @@ class UserServiceImplTest {
     @Test
     void save_WhenNewUser_ReturnsSavedUser() {
         // Arrange
-        User newUser = new User(null, "newUser", "rawPassword", 100, "USER", "[]");
-        User savedUser = new User(1L, "newUser", "encodedPassword", 100, "USER", "[]");
+        User newUser = new User(null, "newUser", "rawPassword", 100, "USER");
+        User savedUser = new User(1L, "newUser", "encodedPassword", 100, "USER");
 
         when(userRepository.findByNickname("newUser")).thenReturn(Mono.empty());
         when(passwordEncoder.encode("rawPassword")).thenReturn("encodedPassword");
@@ -101,8 +110,8 @@ class UserServiceImplTest {
     @Test
     void save_WhenNicknameExists_ThrowsException() {
         // Arrange
-        User existingUser = new User(1L, "existingUser", "encodedPassword", 100, "USER", "[]");
-        User newUser = new User(null, "existingUser", "rawPassword", 100, "USER", "[]");
+        User existingUser = new User(1L, "existingUser", "encodedPassword", 100, "USER");
+        User newUser = new User(null, "existingUser", "rawPassword", 100, "USER");
 
         when(userRepository.findByNickname("existingUser"))
                 .thenReturn(Mono.just(existingUser));
@@ -119,13 +128,47 @@ class UserServiceImplTest {
         verify(passwordEncoder, never()).encode(anyString());
     }
 
+    @Test
+    void register_GuardaUsuarioYPersonajesIniciales() {
+        User newUser = new User(null, "newUser", "rawPassword", 100, "USER");
+        User savedUser = new User(1L, "newUser", "encodedPassword", 50, "USER");
+
+        when(userRepository.findByNickname("newUser")).thenReturn(Mono.empty());
+        when(passwordEncoder.encode("rawPassword")).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(Mono.just(savedUser));
+        when(userCharacterRepository.insertIfAbsent(eq(1L), anyString())).thenReturn(Mono.just(1));
+
+        StepVerifier.create(userService.register(newUser, List.of("free1", "free2")))
+                .expectNext(savedUser)
+                .verifyComplete();
+
+        verify(userCharacterRepository).insertIfAbsent(1L, "free1");
+        verify(userCharacterRepository).insertIfAbsent(1L, "free2");
+    }
+
+    @Test
+    void register_FalloAlInsertarPersonajes_PropagaErrorParaRevertir() {
+        User newUser = new User(null, "newUser", "rawPassword", 100, "USER");
+        User savedUser = new User(1L, "newUser", "encodedPassword", 50, "USER");
+
+        when(userRepository.findByNickname("newUser")).thenReturn(Mono.empty());
+        when(passwordEncoder.encode("rawPassword")).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(Mono.just(savedUser));
+        when(userCharacterRepository.insertIfAbsent(1L, "free1"))
+                .thenReturn(Mono.error(new RuntimeException("Fallo en user_characters")));
+
+        StepVerifier.create(userService.register(newUser, List.of("free1")))
+                .expectErrorMessage("Fallo en user_characters")
+                .verify();
+    }
+
     @Test
     void updateTokens_WhenUserExists_ReturnsUpdatedUser() {
         // Arrange
         String nickname = "testUser";
         int newTokens = 200;
-        User originalUser = new User(1L, nickname, "password", 100, "USER", "[]");
-        User updatedUser = new User(1L, nickname, "password", newTokens, "USER", "[]");
+        User originalUser = new User(1L, nickname, "password", 100, "USER");
+        User updatedUser = new User(1L, nickname, "password", newTokens, "USER");
 
         when(userRepository.findByNickname(nickname)).thenReturn(Mono.just(originalUser));
         when(userRepository.save(any(User.class))).thenReturn(Mono.just(updatedUser));
@@ -150,4 +193,32 @@ class UserServiceImplTest {
                 .expectError(UserNotFoundException.class)
                 .verify();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCharacterIds_WhenUserExists_ReturnsIdsFromUserCharacters() {
+        // Arrange
+        User user = new User(1L, "testUser", "password", 100, "USER");
+        when(userRepository.findByNickname("testUser")).thenReturn(Mono.just(user));
+        when(userCharacterRepository.findByUserId(1L)).thenReturn(Flux.just(
+                new UserCharacter(1L, 1L, "char1"),
+                new UserCharacter(2L, 1L, "char2")));
+
+        // Act & Assert
+        StepVerifier.create(userService.getCharacterIds("testUser"))
+                .expectNext(List.of("char1", "char2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void addCharacterId_WhenAlreadyUnlocked_DoesNotFail() {
+        // Arrange
+        User user = new User(1L, "testUser", "password", 100, "USER");
+        when(userRepository.findByNickname("testUser")).thenReturn(Mono.just(user));
+        when(userCharacterRepository.insertIfAbsent(1L, "char1")).thenReturn(Mono.just(0));
+
+        // Act & Assert
+        StepVerifier.create(userService.addCharacterId("testUser", "char1"))
+                .expectNext(user)
+                .verifyComplete();
+    }
+}
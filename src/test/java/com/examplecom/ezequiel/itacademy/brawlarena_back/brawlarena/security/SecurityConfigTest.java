@@ -1,10 +1,14 @@
 package com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.security;
 
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.cache.HighlightedModelCache;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Build;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.FeaturedModel;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.SharedModel;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.entity.Character;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.enums.PowerSet;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.BuildRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.CharacterRepository;
+import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.FeaturedModelRepository;
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mongodb.repository.SharedModelRepository;
 
 import com.examplecom.ezequiel.itacademy.brawlarena_back.brawlarena.mysql.entity.User;
@@ -35,7 +39,7 @@ import static org.mockito.ArgumentMatchers.any;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Optional;
 
 
 @AutoConfigureWebTestClient
@@ -61,6 +65,13 @@ class SecurityConfigIntegrationTest {
     @MockBean
     private SharedModelRepository sharedModelRepository;
 
+    @MockBean
+    private FeaturedModelRepository featuredModelRepository;
+
+    // El destacado vive en memoria; se simula para no depender de la precarga al arrancar
+    @MockBean
+    private HighlightedModelCache highlightedModelCache;
+
     @BeforeAll
     static void setupTestEnv() {
         System.setProperty("test.env", "true");
@@ -74,6 +85,7 @@ class SecurityConfigIntegrationTest {
 
         when(jwtService.validateToken(anyString())).thenReturn(true);
         when(jwtService.getClaims(anyString())).thenReturn(claims);
+        when(highlightedModelCache.highlighted()).thenReturn(Mono.just(Optional.empty()));
     }
 
     @Test
@@ -129,7 +141,7 @@ class SecurityConfigIntegrationTest {
                 "Descripción",
                 "Medium",
                 new ArrayList<>(),
-                new ArrayList<>(),
+                PowerSet.empty(),
                 "image.png",
                 0,
                 "test-game.png"
@@ -146,7 +158,7 @@ class SecurityConfigIntegrationTest {
         sharedModel.setPlayerId("player1");
         sharedModel.setCharacterId("char1");
         sharedModel.setScore(90);
-        sharedModel.setPowers(List.of());
+        sharedModel.setPowers(PowerSet.empty());
         sharedModel.setSharedAt(Instant.now());
 
         // Mocks de repositorios
@@ -205,8 +217,8 @@ class SecurityConfigIntegrationTest {
         destacado.setHighlighted(true);
 
         when(sharedModelRepository.findById("model123")).thenReturn(Mono.just(destacado));
-        when(sharedModelRepository.findByHighlightedTrue()).thenReturn(Flux.empty());
-        when(sharedModelRepository.save(any(SharedModel.class))).thenReturn(Mono.just(destacado));
+        when(featuredModelRepository.pointTo("model123"))
+                .thenReturn(Mono.just(new FeaturedModel(FeaturedModel.ID, "model123", Instant.now())));
 
         webTestClient.put()
                 .uri("/gallery/highlighted")
@@ -319,8 +331,8 @@ class SecurityConfigIntegrationTest {
         model.setHighlighted(false);
 
         when(sharedModelRepository.findById("model123")).thenReturn(Mono.just(model));
-        when(sharedModelRepository.findByHighlightedTrue()).thenReturn(Flux.empty());
-        when(sharedModelRepository.save(any(SharedModel.class))).thenReturn(Mono.just(model));
+        when(featuredModelRepository.pointTo("model123"))
+                .thenReturn(Mono.just(new FeaturedModel(FeaturedModel.ID, "model123", Instant.now())));
 
         webTestClient.put()
                 .uri("/gallery/highlighted")